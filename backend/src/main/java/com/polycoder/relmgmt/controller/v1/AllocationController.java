@@ -1,44 +1,75 @@
 package com.polycoder.relmgmt.controller.v1;
 
 import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.entity.SkillFunctionEnum;
+import com.polycoder.relmgmt.entity.SkillSubFunctionEnum;
 import com.polycoder.relmgmt.dto.AllocationConflictResponse;
 import com.polycoder.relmgmt.dto.AllocationDto;
+import com.polycoder.relmgmt.dto.AllocationRegenerationResponse;
+import com.polycoder.relmgmt.dto.WeeklyAllocationBatchUpdateRequest;
 import com.polycoder.relmgmt.dto.WeeklyAllocationMatrixResponse;
+import com.polycoder.relmgmt.dto.WeeklyAllocationUpdateResponse;
 import com.polycoder.relmgmt.dto.ResourceProfileResponse;
-import com.polycoder.relmgmt.repository.AllocationRepository;
+import com.polycoder.relmgmt.service.AllocationRegenerationService;
 import com.polycoder.relmgmt.service.AllocationService;
 import com.polycoder.relmgmt.service.WeeklyAllocationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/v1")
 @Tag(name = "Allocation Management", description = "APIs for resource allocations")
 public class AllocationController {
 
+    private static final int MAX_MATRIX_WEEKS = 156;
+    private static final int MAX_MATRIX_PAGE_SIZE = 500;
+
     private final AllocationService allocationService;
-    private final AllocationRepository allocationRepository;
     private final WeeklyAllocationService weeklyAllocationService;
+    private final AllocationRegenerationService allocationRegenerationService;
 
     public AllocationController(AllocationService allocationService, 
-                              AllocationRepository allocationRepository,
-                              WeeklyAllocationService weeklyAllocationService) {
+                              WeeklyAllocationService weeklyAllocationService,
+                              AllocationRegenerationService allocationRegenerationService) {
         this.allocationService = allocationService;
-        this.allocationRepository = allocationRepository;
         this.weeklyAllocationService = weeklyAllocationService;
+        this.allocationRegenerationService = allocationRegenerationService;
     }
 
     @PostMapping("/releases/{id}/allocate")
     @Operation(summary = "Generate allocation for a release")
     public ResponseEntity<Void> generate(@PathVariable("id") Long releaseId) {
-        allocationService.generateAllocation(releaseId);
+        allocationRegenerationService.runExclusive(releaseId, () -> allocationService.generateAllocation(releaseId));
         return ResponseEntity.accepted().build();
     }
 
+    @PostMapping("/allocations/regenerations")
+    @Operation(summary = "Regenerate allocations for all (or the given) releases on a bounded worker pool")
+    public ResponseEntity<AllocationRegenerationResponse> regenerateAll(
+            @RequestParam(value = "releaseIds", required = false) List<Long> releaseIds) {
+        try {
+            return ResponseEntity.accepted().body(allocationRegenerationService.startRegeneration(releaseIds));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+    }
+
+    @GetMapping("/allocations/regenerations/{jobId}")
+    @Operation(summary = "Get progress and per-release timings of an allocation regeneration")
+    public ResponseEntity<AllocationRegenerationResponse> getRegeneration(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(allocationRegenerationService.getRegeneration(jobId));
+    }
+
     @GetMapping("/releases/{id}/allocations")
     @Operation(summary = "Get allocations for a release")
     public ResponseEntity<List<AllocationDto>> getForRelease(@PathVariable("id") Long releaseId) {
@@ -58,26 +89,43 @@ public class AllocationController {
     }
 
     @GetMapping("/allocations/conflicts")
-    @Operation(summary = "Get allocation conflicts")
-    public ResponseEntity<List<AllocationConflictResponse>> getConflicts() {
-        return ResponseEntity.ok(allocationService.getAllocationConflicts());
+    @Operation(summary = "Get allocation conflicts, optionally within a date window and for selected resources")
+    public ResponseEntity<List<AllocationConflictResponse>> getConflicts(
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "resourceIds", required = false) List<Long> resourceIds) {
+        if (from != null && to != null && to.isBefore(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(allocationService.getAllocationConflicts(from, to, resourceIds));
     }
 
     @DeleteMapping("/releases/{id}/allocations")
     @Operation(summary = "Delete all allocations for a release")
     public ResponseEntity<Void> deleteAllocationsForRelease(@PathVariable("id") Long releaseId) {
-        List<Allocation> existing = allocationService.getAllocationsForRelease(releaseId);
-        if (!existing.isEmpty()) {
-            allocationRepository.deleteInBatch(existing);
-        }
+        allocationRegenerationService.runExclusive(releaseId, () -> allocationService.deleteAllocationsForRelease(releaseId));
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/allocations/weekly")
-    @Operation(summary = "Get weekly allocation matrix with time window")
+    @Operation(summary = "Get weekly allocation matrix with time window, optionally filtered and paged over resources")
     public ResponseEntity<WeeklyAllocationMatrixResponse> getWeeklyAllocations(
-            @RequestParam String currentWeekStart) {
-        WeeklyAllocationMatrixResponse matrix = weeklyAllocationService.getWeeklyAllocations(currentWeekStart);
+            @RequestParam String currentWeekStart,
+            @RequestParam(defaultValue = "4") int weeksBefore,
+            @RequestParam(defaultValue = "24") int weeksAfter,
+            @RequestParam(required = false) SkillFunctionEnum skillFunction,
+            @RequestParam(required = false) SkillSubFunctionEnum skillSubFunction,
+            @RequestParam(defaultValue = "false") boolean overAllocatedOnly,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        if (weeksBefore < 0 || weeksAfter < 0 || weeksBefore + 1 + weeksAfter > MAX_MATRIX_WEEKS
+                || (page != null && page < 0) || (size != null && (size < 1 || size > MAX_MATRIX_PAGE_SIZE))) {
+            return ResponseEntity.badRequest().build();
+        }
+        WeeklyAllocationMatrixResponse matrix = weeklyAllocationService.getWeeklyAllocations(currentWeekStart,
+            weeksBefore, weeksAfter, skillFunction, skillSubFunction, overAllocatedOnly, page, size);
         return ResponseEntity.ok(matrix);
     }
 
@@ -91,6 +139,13 @@ public class AllocationController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping("/allocations/weekly")
+    @Operation(summary = "Apply many weekly allocation edits in one transaction")
+    public ResponseEntity<List<WeeklyAllocationUpdateResponse>> updateWeeklyAllocations(
+            @Valid @RequestBody WeeklyAllocationBatchUpdateRequest request) {
+        return ResponseEntity.ok(weeklyAllocationService.updateWeeklyAllocations(request.getUpdates()));
+    }
+
     @GetMapping("/resources/{resourceId}/profile")
     @Operation(summary = "Get resource profile information")
     public ResponseEntity<ResourceProfileResponse> getResourceProfile(
@@ -3,6 +3,9 @@ package com.polycoder.relmgmt.controller.v1;
 import com.polycoder.relmgmt.dto.AllocationConflictResponse;
 import com.polycoder.relmgmt.service.ReportService;
 import com.polycoder.relmgmt.dto.CapacityForecastResponse;
+import com.polycoder.relmgmt.dto.ReportFormat;
+import com.polycoder.relmgmt.dto.ReportJobResponse;
+import com.polycoder.relmgmt.service.ReportJobService;
 import com.polycoder.relmgmt.dto.SkillCapacityForecastResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,16 +15,24 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/v1/reports")
@@ -29,9 +40,11 @@ import java.util.Map;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, ReportJobService reportJobService) {
         this.reportService = reportService;
+        this.reportJobService = reportJobService;
     }
 
     @GetMapping("/allocation-conflicts")
@@ -106,38 +119,134 @@ public class ReportController {
         return ResponseEntity.ok(reportService.generateSkillCapacityForecastReport(from, to, skillFunction, skillSubFunction));
     }
 
-    @GetMapping(value = "/export", produces = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-    @Operation(summary = "Export report to Excel",
-            parameters = @Parameter(name = "type", description = "Report type"),
+    @GetMapping(value = "/export", produces = {
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "text/csv", "application/x-ndjson"})
+    @Operation(summary = "Export report to Excel, CSV or NDJSON",
+            parameters = {
+                    @Parameter(name = "type", description = "Report type"),
+                    @Parameter(name = "format", description = "xlsx (default), csv or ndjson; overrides the Accept header")
+            },
             responses = @ApiResponse(responseCode = "200", description = "OK",
-                    content = @Content(mediaType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")))
-    public ResponseEntity<byte[]> export(
+                    content = {
+                            @Content(mediaType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+                            @Content(mediaType = "text/csv"),
+                            @Content(mediaType = "application/x-ndjson")
+                    }))
+    public ResponseEntity<StreamingResponseBody> export(
             @RequestParam("type") String type,
-            @RequestParam Map<String, String> params) {
+            @RequestParam Map<String, String> params,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (!isValidType(type)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return exportResponse(type, params, accept);
+    }
+
+    @GetMapping(value = "/{type}/export", produces = {
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "text/csv", "application/x-ndjson"})
+    @Operation(summary = "Export report to Excel, CSV or NDJSON (path variant)")
+    public ResponseEntity<StreamingResponseBody> exportPath(@RequestParam Map<String, String> params,
+                                                            @org.springframework.web.bind.annotation.PathVariable("type") String type,
+                                                            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         if (!isValidType(type)) {
             return ResponseEntity.badRequest().build();
         }
-        byte[] data = reportService.exportReport(type, params);
+        return exportResponse(type, params, accept);
+    }
+
+    /**
+     * The export is written straight to the response stream off the request thread, so large
+     * exports are never buffered in full. Type and filters are resolved on the request thread first,
+     * so invalid input gets a 400 instead of a truncated 200
+     */
+    private ResponseEntity<StreamingResponseBody> exportResponse(String type, Map<String, String> params, String accept) {
+        ReportFormat format = resolveFormat(params.get("format"), accept);
+        if (format == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, String> filters = new LinkedHashMap<>(params);
+        filters.remove("format");
+        ReportService.ExportWriter writer = reportService.prepareExport(type, filters, format);
+        StreamingResponseBody body = writer::writeTo;
         return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .header("Content-Disposition", "attachment; filename=report.xlsx")
-                .body(data);
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header("Content-Disposition", "attachment; filename=report." + format.getExtension())
+                .body(body);
     }
 
-    @GetMapping(value = "/{type}/export", produces = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-    @Operation(summary = "Export report to Excel (path variant)")
-    public ResponseEntity<byte[]> exportPath(@RequestParam Map<String, String> params,
-                                             @org.springframework.web.bind.annotation.PathVariable("type") String type) {
+    @PostMapping("/jobs")
+    @Operation(summary = "Submit an asynchronous report export",
+            parameters = {
+                    @Parameter(name = "type", description = "Report type"),
+                    @Parameter(name = "format", description = "xlsx (default), csv or ndjson")
+            },
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Accepted, or answered by an identical queued, running or cached job"),
+                    @ApiResponse(responseCode = "400", description = "Unknown type or format, or an invalid filter"),
+                    @ApiResponse(responseCode = "503", description = "Report job queue is full")
+            })
+    public ResponseEntity<ReportJobResponse> submitJob(
+            @RequestParam("type") String type,
+            @RequestParam Map<String, String> params) {
         if (!isValidType(type)) {
             return ResponseEntity.badRequest().build();
         }
-        byte[] data = reportService.exportReport(type, params);
+        ReportFormat format = resolveFormat(params.get("format"), null);
+        if (format == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Map<String, String> filters = new LinkedHashMap<>(params);
+        filters.remove("format");
+        // Parse the filters the same way /export does so bad input is a 400 here rather than a FAILED job later;
+        // the prepared writer is discarded and the job builds its own on the worker thread
+        reportService.prepareExport(type, filters, format);
+        try {
+            return ResponseEntity.accepted().body(reportJobService.submitJob(type, filters, format));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get the status of an asynchronous report export")
+    public ResponseEntity<ReportJobResponse> getJob(@PathVariable("jobId") String jobId) {
+        return ResponseEntity.ok(reportJobService.getJob(jobId));
+    }
+
+    @GetMapping("/jobs/{jobId}/download")
+    @Operation(summary = "Download the result of a completed report export",
+            responses = @ApiResponse(responseCode = "409", description = "Job has not completed"))
+    public ResponseEntity<byte[]> downloadJob(@PathVariable("jobId") String jobId) {
+        ReportJobResponse job = reportJobService.getJob(jobId);
+        if (!"COMPLETED".equals(job.getStatus())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        byte[] data = reportJobService.getJobResult(jobId);
         return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .header("Content-Disposition", "attachment; filename=report.xlsx")
+                .contentType(MediaType.parseMediaType(job.getFormat().getMediaType()))
+                .header("Content-Disposition", "attachment; filename=report." + job.getFormat().getExtension())
                 .body(data);
     }
 
+    /**
+     * An explicit format parameter wins; otherwise the first CSV or NDJSON media type in the Accept header,
+     * falling back to Excel
+     */
+    private ReportFormat resolveFormat(String format, String accept) {
+        if (format != null && !format.isBlank()) {
+            return ReportFormat.fromValue(format);
+        }
+        if (accept != null && !accept.isBlank()) {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                ReportFormat accepted = ReportFormat.fromMediaType(mediaType.getType() + "/" + mediaType.getSubtype());
+                if (accepted != null) {
+                    return accepted;
+                }
+            }
+        }
+        return ReportFormat.XLSX;
+    }
+
     private boolean isValidType(String type) {
         if (type == null) return false;
         String t = type.toUpperCase();
@@ -25,8 +25,10 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.HashMap;
 import java.time.LocalDateTime;
@@ -121,7 +123,7 @@ public class ResourceController {
     }
 
     @PostMapping("/import")
-    @Operation(summary = "Import resources", description = "Import resources from Excel file")
+    @Operation(summary = "Import resources", description = "Import resources from an Excel or CSV file")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Import completed",
             content = @Content(schema = @Schema(implementation = ResourceImportResponse.class))),
@@ -129,24 +131,33 @@ public class ResourceController {
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<ResourceImportResponse> importResources(
-            @Parameter(description = "Excel file containing resource data") 
+            @Parameter(description = "Excel (.xlsx/.xls) or CSV (.csv, UTF-8) file containing resource data") 
             @RequestParam("file") MultipartFile file) {
-        ResourceImportResponse importResponse = resourceService.importResourcesFromExcel(file);
+        ResourceImportResponse importResponse = isCsv(file)
+            ? resourceService.importResourcesFromCsv(file)
+            : resourceService.importResourcesFromExcel(file);
         return ResponseEntity.ok(importResponse);
     }
 
+    private boolean isCsv(MultipartFile file) {
+        String filename = file.getOriginalFilename();
+        return (filename != null && filename.toLowerCase(Locale.ROOT).endsWith(".csv"))
+            || "text/csv".equalsIgnoreCase(file.getContentType());
+    }
+
     @GetMapping("/export")
     @Operation(summary = "Export resources", description = "Export all resources to Excel file")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Excel file generated successfully"),
         @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<byte[]> exportResources() {
-        byte[] excelData = resourceService.exportResourcesToExcel();
+    public ResponseEntity<StreamingResponseBody> exportResources() {
+        // Written straight to the response off the request thread instead of buffering the workbook
+        StreamingResponseBody body = resourceService::exportResourcesToExcel;
         return ResponseEntity.ok()
             .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
             .header("Content-Disposition", "attachment; filename=resources.xlsx")
-            .body(excelData);
+            .body(body);
     }
 
     @GetMapping("/active")
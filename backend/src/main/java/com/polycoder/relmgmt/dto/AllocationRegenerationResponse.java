@@ -0,0 +1,94 @@
+package com.polycoder.relmgmt.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress and per-release timings of a portfolio-wide allocation regeneration
+ */
+public class AllocationRegenerationResponse {
+    private String jobId;
+    private String status; // RUNNING or COMPLETED
+    private int totalReleases;
+    private int completedReleases;
+    private int failedReleases;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long elapsedMs;
+    private List<ReleaseResult> results;
+    private List<Long> skippedReleaseIds; // already queued or running in another job
+
+    public AllocationRegenerationResponse() {}
+
+    public AllocationRegenerationResponse(String jobId, String status, int totalReleases, int completedReleases,
+                                          int failedReleases, Instant startedAt, Instant finishedAt,
+                                          long elapsedMs, List<ReleaseResult> results) {
+        this(jobId, status, totalReleases, completedReleases, failedReleases, startedAt, finishedAt, elapsedMs,
+            results, List.of());
+    }
+
+    public AllocationRegenerationResponse(String jobId, String status, int totalReleases, int completedReleases,
+                                          int failedReleases, Instant startedAt, Instant finishedAt,
+                                          long elapsedMs, List<ReleaseResult> results, List<Long> skippedReleaseIds) {
+        this.jobId = jobId;
+        this.status = status;
+        this.totalReleases = totalReleases;
+        this.completedReleases = completedReleases;
+        this.failedReleases = failedReleases;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.elapsedMs = elapsedMs;
+        this.results = results;
+        this.skippedReleaseIds = skippedReleaseIds;
+    }
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public int getTotalReleases() { return totalReleases; }
+    public void setTotalReleases(int totalReleases) { this.totalReleases = totalReleases; }
+    public int getCompletedReleases() { return completedReleases; }
+    public void setCompletedReleases(int completedReleases) { this.completedReleases = completedReleases; }
+    public int getFailedReleases() { return failedReleases; }
+    public void setFailedReleases(int failedReleases) { this.failedReleases = failedReleases; }
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+    public List<ReleaseResult> getResults() { return results; }
+    public void setResults(List<ReleaseResult> results) { this.results = results; }
+    public List<Long> getSkippedReleaseIds() { return skippedReleaseIds; }
+    public void setSkippedReleaseIds(List<Long> skippedReleaseIds) { this.skippedReleaseIds = skippedReleaseIds; }
+
+    public static class ReleaseResult {
+        private Long releaseId;
+        private String releaseName;
+        private boolean success;
+        private long durationMs;
+        private String error;
+
+        public ReleaseResult() {}
+
+        public ReleaseResult(Long releaseId, String releaseName, boolean success, long durationMs, String error) {
+            this.releaseId = releaseId;
+            this.releaseName = releaseName;
+            this.success = success;
+            this.durationMs = durationMs;
+            this.error = error;
+        }
+
+        public Long getReleaseId() { return releaseId; }
+        public void setReleaseId(Long releaseId) { this.releaseId = releaseId; }
+        public String getReleaseName() { return releaseName; }
+        public void setReleaseName(String releaseName) { this.releaseName = releaseName; }
+        public boolean isSuccess() { return success; }
+        public void setSuccess(boolean success) { this.success = success; }
+        public long getDurationMs() { return durationMs; }
+        public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
@@ -0,0 +1,56 @@
+package com.polycoder.relmgmt.dto;
+
+/**
+ * Output formats supported by report exports.
+ * XLSX is the default; CSV and NDJSON are flat, row-per-line formats for data pipelines.
+ */
+public enum ReportFormat {
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+    private final String extension;
+
+    ReportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolve a format name or file extension (case-insensitive)
+     * @return the matching format, or null if unknown
+     */
+    public static ReportFormat fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (ReportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value.trim()) || format.extension.equalsIgnoreCase(value.trim())) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolve a concrete media type such as {@code text/csv}
+     * @return the matching format, or null if the media type is not an export format
+     */
+    public static ReportFormat fromMediaType(String mediaType) {
+        for (ReportFormat format : values()) {
+            if (format.mediaType.equalsIgnoreCase(mediaType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
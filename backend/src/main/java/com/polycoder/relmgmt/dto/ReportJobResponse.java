@@ -0,0 +1,61 @@
+package com.polycoder.relmgmt.dto;
+
+import java.time.Instant;
+
+/**
+ * Status of an asynchronous report export job
+ */
+public class ReportJobResponse {
+    private String jobId;
+    private String type;
+    private ReportFormat format;
+    private String status; // QUEUED, RUNNING, COMPLETED or FAILED
+    private boolean deduplicated; // true if the submit was answered by an existing job
+    private Instant submittedAt;
+    private Instant finishedAt;
+    private Instant expiresAt;
+    private long elapsedMs;
+    private Long sizeBytes;
+    private String error;
+
+    public ReportJobResponse() {}
+
+    public ReportJobResponse(String jobId, String type, ReportFormat format, String status, boolean deduplicated,
+                             Instant submittedAt, Instant finishedAt, Instant expiresAt, long elapsedMs,
+                             Long sizeBytes, String error) {
+        this.jobId = jobId;
+        this.type = type;
+        this.format = format;
+        this.status = status;
+        this.deduplicated = deduplicated;
+        this.submittedAt = submittedAt;
+        this.finishedAt = finishedAt;
+        this.expiresAt = expiresAt;
+        this.elapsedMs = elapsedMs;
+        this.sizeBytes = sizeBytes;
+        this.error = error;
+    }
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public ReportFormat getFormat() { return format; }
+    public void setFormat(ReportFormat format) { this.format = format; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public boolean isDeduplicated() { return deduplicated; }
+    public void setDeduplicated(boolean deduplicated) { this.deduplicated = deduplicated; }
+    public Instant getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(Instant submittedAt) { this.submittedAt = submittedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+    public Long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(Long sizeBytes) { this.sizeBytes = sizeBytes; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
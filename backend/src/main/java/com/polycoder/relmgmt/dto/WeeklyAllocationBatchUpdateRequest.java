@@ -0,0 +1,32 @@
+package com.polycoder.relmgmt.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * DTO for applying many weekly allocation edits in one transaction
+ */
+public class WeeklyAllocationBatchUpdateRequest {
+
+    @NotEmpty(message = "At least one update is required")
+    @Size(max = 1000, message = "At most 1000 updates can be applied at once")
+    private List<@Valid WeeklyAllocationUpdateRequest> updates;
+
+    // Constructors
+    public WeeklyAllocationBatchUpdateRequest() {}
+
+    public WeeklyAllocationBatchUpdateRequest(List<WeeklyAllocationUpdateRequest> updates) {
+        this.updates = updates;
+    }
+
+    // Getters and setters
+    public List<WeeklyAllocationUpdateRequest> getUpdates() {
+        return updates;
+    }
+
+    public void setUpdates(List<WeeklyAllocationUpdateRequest> updates) {
+        this.updates = updates;
+    }
+}
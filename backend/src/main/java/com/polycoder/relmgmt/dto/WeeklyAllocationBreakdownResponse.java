@@ -0,0 +1,56 @@
+package com.polycoder.relmgmt.dto;
+
+import com.polycoder.relmgmt.entity.PhaseTypeEnum;
+
+/**
+ * DTO for the person-days of one release and phase within a week
+ */
+public class WeeklyAllocationBreakdownResponse {
+    private String releaseId;
+    private String releaseName;
+    private PhaseTypeEnum phase;
+    private Double personDays;
+
+    // Constructors
+    public WeeklyAllocationBreakdownResponse() {}
+
+    public WeeklyAllocationBreakdownResponse(String releaseId, String releaseName, PhaseTypeEnum phase, Double personDays) {
+        this.releaseId = releaseId;
+        this.releaseName = releaseName;
+        this.phase = phase;
+        this.personDays = personDays;
+    }
+
+    // Getters and setters
+    public String getReleaseId() {
+        return releaseId;
+    }
+
+    public void setReleaseId(String releaseId) {
+        this.releaseId = releaseId;
+    }
+
+    public String getReleaseName() {
+        return releaseName;
+    }
+
+    public void setReleaseName(String releaseName) {
+        this.releaseName = releaseName;
+    }
+
+    public PhaseTypeEnum getPhase() {
+        return phase;
+    }
+
+    public void setPhase(PhaseTypeEnum phase) {
+        this.phase = phase;
+    }
+
+    public Double getPersonDays() {
+        return personDays;
+    }
+
+    public void setPersonDays(Double personDays) {
+        this.personDays = personDays;
+    }
+}
@@ -9,6 +9,10 @@ public class WeeklyAllocationMatrixResponse {
     private List<ResourceAllocationResponse> resources;
     private String currentWeekStart;
     private TimeWindowResponse timeWindow;
+    private Integer page;
+    private Integer size;
+    private Long totalResources;
+    private Integer totalPages;
 
     // Constructors
     public WeeklyAllocationMatrixResponse() {}
@@ -45,4 +49,36 @@ public class WeeklyAllocationMatrixResponse {
     public void setTimeWindow(TimeWindowResponse timeWindow) {
         this.timeWindow = timeWindow;
     }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public Long getTotalResources() {
+        return totalResources;
+    }
+
+    public void setTotalResources(Long totalResources) {
+        this.totalResources = totalResources;
+    }
+
+    public Integer getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(Integer totalPages) {
+        this.totalPages = totalPages;
+    }
 }
@@ -1,6 +1,8 @@
 package com.polycoder.relmgmt.dto;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * DTO for weekly allocation data
@@ -10,6 +12,7 @@ public class WeeklyAllocationResponse {
     private Double personDays;
     private String projectName;
     private String projectId;
+    private List<WeeklyAllocationBreakdownResponse> breakdown = new ArrayList<>();
 
     // Constructors
     public WeeklyAllocationResponse() {}
@@ -53,4 +56,12 @@ public class WeeklyAllocationResponse {
     public void setProjectId(String projectId) {
         this.projectId = projectId;
     }
+
+    public List<WeeklyAllocationBreakdownResponse> getBreakdown() {
+        return breakdown;
+    }
+
+    public void setBreakdown(List<WeeklyAllocationBreakdownResponse> breakdown) {
+        this.breakdown = breakdown;
+    }
 }
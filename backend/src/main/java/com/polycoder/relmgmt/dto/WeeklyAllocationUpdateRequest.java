@@ -0,0 +1,67 @@
+package com.polycoder.relmgmt.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.LocalDate;
+
+/**
+ * DTO for setting a resource's total person-days in one week of the allocation matrix
+ */
+public class WeeklyAllocationUpdateRequest {
+
+    @NotNull(message = "Resource ID is required")
+    private Long resourceId;
+
+    @NotNull(message = "Week start is required")
+    private LocalDate weekStart;
+
+    @NotNull(message = "Person days is required")
+    @PositiveOrZero(message = "Person days must not be negative")
+    private Double personDays;
+
+    // Person-days the client last saw for the cell; the edit is rejected if the week has changed since
+    private Double expectedPersonDays;
+
+    // Constructors
+    public WeeklyAllocationUpdateRequest() {}
+
+    public WeeklyAllocationUpdateRequest(Long resourceId, LocalDate weekStart, Double personDays, Double expectedPersonDays) {
+        this.resourceId = resourceId;
+        this.weekStart = weekStart;
+        this.personDays = personDays;
+        this.expectedPersonDays = expectedPersonDays;
+    }
+
+    // Getters and setters
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(Long resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    public void setWeekStart(LocalDate weekStart) {
+        this.weekStart = weekStart;
+    }
+
+    public Double getPersonDays() {
+        return personDays;
+    }
+
+    public void setPersonDays(Double personDays) {
+        this.personDays = personDays;
+    }
+
+    public Double getExpectedPersonDays() {
+        return expectedPersonDays;
+    }
+
+    public void setExpectedPersonDays(Double expectedPersonDays) {
+        this.expectedPersonDays = expectedPersonDays;
+    }
+}
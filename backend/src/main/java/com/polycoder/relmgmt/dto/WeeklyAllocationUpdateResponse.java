@@ -0,0 +1,58 @@
+package com.polycoder.relmgmt.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the state of one matrix cell after a weekly allocation edit
+ */
+public class WeeklyAllocationUpdateResponse {
+    private String resourceId;
+    private String weekStart; // YYYY-MM-DD (Monday)
+    private Double personDays;
+    private List<WeeklyAllocationBreakdownResponse> breakdown = new ArrayList<>();
+
+    // Constructors
+    public WeeklyAllocationUpdateResponse() {}
+
+    public WeeklyAllocationUpdateResponse(String resourceId, String weekStart, Double personDays,
+                                          List<WeeklyAllocationBreakdownResponse> breakdown) {
+        this.resourceId = resourceId;
+        this.weekStart = weekStart;
+        this.personDays = personDays;
+        this.breakdown = breakdown;
+    }
+
+    // Getters and setters
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(String resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public String getWeekStart() {
+        return weekStart;
+    }
+
+    public void setWeekStart(String weekStart) {
+        this.weekStart = weekStart;
+    }
+
+    public Double getPersonDays() {
+        return personDays;
+    }
+
+    public void setPersonDays(Double personDays) {
+        this.personDays = personDays;
+    }
+
+    public List<WeeklyAllocationBreakdownResponse> getBreakdown() {
+        return breakdown;
+    }
+
+    public void setBreakdown(List<WeeklyAllocationBreakdownResponse> breakdown) {
+        this.breakdown = breakdown;
+    }
+}
@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "allocations")
+@Table(name = "allocations",
+       uniqueConstraints = @UniqueConstraint(name = "idx_unique_allocation",
+                                             columnNames = {"resource_id", "release_id", "phase", "start_date", "end_date"}))
 public class Allocation extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -35,6 +37,11 @@ public class Allocation extends BaseEntity {
     @Column(name = "allocation_days", nullable = false)
     private Double allocationDays;
 
+    // Optimistic lock for week-level edits from the allocation matrix
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public Release getRelease() { return release; }
     public void setRelease(Release release) { this.release = release; }
 
@@ -55,6 +62,9 @@ public class Allocation extends BaseEntity {
 
     public Double getAllocationDays() { return allocationDays; }
     public void setAllocationDays(Double allocationDays) { this.allocationDays = allocationDays; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
 
 
@@ -0,0 +1,56 @@
+package com.polycoder.relmgmt.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Person-days one allocation places on its resource in one Monday-based week.
+ * Derived from the allocation's dates and factor whenever allocations are written, so readers
+ * scan weeks by index instead of re-deriving them from date ranges.
+ */
+@Entity
+@Table(name = "allocation_weeks",
+       uniqueConstraints = @UniqueConstraint(name = "uk_allocation_weeks_allocation_week",
+                                             columnNames = {"allocation_id", "week_start"}),
+       indexes = {
+           @Index(name = "idx_allocation_weeks_resource_week", columnList = "resource_id, week_start"),
+           @Index(name = "idx_allocation_weeks_week", columnList = "week_start")
+       })
+public class AllocationWeek extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "allocation_id", nullable = false)
+    private Allocation allocation;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "resource_id", nullable = false)
+    private Resource resource;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "person_days", nullable = false)
+    private Double personDays;
+
+    public AllocationWeek() {
+    }
+
+    public AllocationWeek(Allocation allocation, Resource resource, LocalDate weekStart, Double personDays) {
+        this.allocation = allocation;
+        this.resource = resource;
+        this.weekStart = weekStart;
+        this.personDays = personDays;
+    }
+
+    public Allocation getAllocation() { return allocation; }
+    public void setAllocation(Allocation allocation) { this.allocation = allocation; }
+
+    public Resource getResource() { return resource; }
+    public void setResource(Resource resource) { this.resource = resource; }
+
+    public LocalDate getWeekStart() { return weekStart; }
+    public void setWeekStart(LocalDate weekStart) { this.weekStart = weekStart; }
+
+    public Double getPersonDays() { return personDays; }
+    public void setPersonDays(Double personDays) { this.personDays = personDays; }
+}
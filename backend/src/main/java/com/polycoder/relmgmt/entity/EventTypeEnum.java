@@ -8,7 +8,8 @@ public enum EventTypeEnum {
     OVER_ALLOCATION,
     DEADLINE_APPROACHING,
     BLOCKER_ADDED,
-    BLOCKER_RESOLVED
+    BLOCKER_RESOLVED,
+    RESOURCE_DEACTIVATED
 }
 
 
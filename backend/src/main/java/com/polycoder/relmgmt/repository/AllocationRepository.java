@@ -8,9 +8,10 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
-public interface AllocationRepository extends JpaRepository<Allocation, Long> {
+public interface AllocationRepository extends JpaRepository<Allocation, Long>, AllocationRepositoryCustom {
 
     @Query("SELECT a FROM Allocation a JOIN FETCH a.resource WHERE a.release.id = :releaseId")
     List<Allocation> findByReleaseId(@Param("releaseId") Long releaseId);
@@ -18,20 +19,52 @@ public interface AllocationRepository extends JpaRepository<Allocation, Long> {
     @Query("SELECT a FROM Allocation a JOIN FETCH a.resource WHERE a.resource.id = :resourceId")
     List<Allocation> findByResourceId(@Param("resourceId") Long resourceId);
 
-    @Query("select a from Allocation a where (:from is null or a.endDate >= :from) and (:to is null or a.startDate <= :to)")
+    @Query("select a from Allocation a join fetch a.resource where (:from is null or a.endDate >= :from) and (:to is null or a.startDate <= :to)")
     List<Allocation> findOverlapping(@Param("from") LocalDate from,
                                      @Param("to") LocalDate to);
 
-    @Modifying
+    @Modifying(flushAutomatically = true)
     @Transactional
     @Query(value = "DELETE FROM allocations WHERE release_id = :releaseId", nativeQuery = true)
-    void deleteByReleaseId(@Param("releaseId") Long releaseId);
+    int deleteByReleaseId(@Param("releaseId") Long releaseId);
 
-    @Query("SELECT a FROM Allocation a JOIN FETCH a.resource WHERE a.startDate <= :endDate AND a.endDate >= :startDate")
+    @Query("SELECT a FROM Allocation a JOIN FETCH a.resource JOIN FETCH a.release WHERE a.startDate <= :endDate AND a.endDate >= :startDate")
     List<Allocation> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
-    @Query("SELECT a FROM Allocation a JOIN FETCH a.resource WHERE a.resource.id = :resourceId AND a.startDate <= :endDate AND a.endDate >= :startDate")
+    @Query("SELECT a FROM Allocation a JOIN FETCH a.resource JOIN FETCH a.release WHERE a.resource.id = :resourceId AND a.startDate <= :endDate AND a.endDate >= :startDate")
     List<Allocation> findByResourceIdAndDateRange(@Param("resourceId") Long resourceId, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-}
 
+    @Query("SELECT a FROM Allocation a JOIN FETCH a.resource JOIN FETCH a.release WHERE a.resource.id IN :resourceIds AND a.startDate <= :endDate AND a.endDate >= :startDate ORDER BY a.id")
+    List<Allocation> findByResourceIdsAndDateRange(@Param("resourceIds") Collection<Long> resourceIds, @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * PostgreSQL-only weekly aggregation: [resourceId, weekStart, allocatedDays] per resource and ISO week.
+     * Each allocation is expanded over the weeks it overlaps with generate_series, and the Monday-Friday
+     * days of each overlap are derived from ISODOW, so no per-day rows or entities are materialized.
+     * startDate must be a Monday and endDate a Sunday so that every returned week is complete.
+     */
+    @Query(value = "SELECT s.resource_id, s.week_start, " +
+            "SUM(s.factor * GREATEST(0, LEAST(CAST(EXTRACT(ISODOW FROM s.seg_end) AS INTEGER), 5) " +
+            "- CAST(EXTRACT(ISODOW FROM s.seg_start) AS INTEGER) + 1)) AS allocated_days " +
+            "FROM (SELECT a.resource_id, a.allocation_factor AS factor, CAST(w.week_ts AS DATE) AS week_start, " +
+            "             GREATEST(a.start_date, CAST(w.week_ts AS DATE)) AS seg_start, " +
+            "             LEAST(a.end_date, CAST(w.week_ts AS DATE) + 6) AS seg_end " +
+            "      FROM allocations a " +
+            "      CROSS JOIN LATERAL generate_series(date_trunc('week', CAST(GREATEST(a.start_date, :startDate) AS TIMESTAMP)), " +
+            "                                         CAST(LEAST(a.end_date, :endDate) AS TIMESTAMP), INTERVAL '1 week') AS w(week_ts) " +
+            "      WHERE a.start_date <= :endDate AND a.end_date >= :startDate) s " +
+            "GROUP BY s.resource_id, s.week_start " +
+            "HAVING SUM(s.factor * GREATEST(0, LEAST(CAST(EXTRACT(ISODOW FROM s.seg_end) AS INTEGER), 5) " +
+            "- CAST(EXTRACT(ISODOW FROM s.seg_start) AS INTEGER) + 1)) > 0 " +
+            "ORDER BY s.week_start, s.resource_id",
+            nativeQuery = true)
+    List<Object[]> aggregateWeeklyAllocatedDays(@Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
 
+    /**
+     * Releases in which any of the given resources is allocated on or after the given date
+     */
+    @Query("SELECT DISTINCT a.release.id FROM Allocation a WHERE a.resource.id IN :resourceIds AND a.endDate >= :fromDate")
+    List<Long> findReleaseIdsWithAllocationsFrom(@Param("resourceIds") Collection<Long> resourceIds,
+                                                 @Param("fromDate") LocalDate fromDate);
+}
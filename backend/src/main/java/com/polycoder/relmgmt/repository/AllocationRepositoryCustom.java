@@ -0,0 +1,25 @@
+package com.polycoder.relmgmt.repository;
+
+import com.polycoder.relmgmt.entity.Allocation;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for allocations that bypass per-entity persistence,
+ * plus a probe for database-specific read paths
+ */
+public interface AllocationRepositoryCustom {
+
+    /**
+     * Insert allocations using JDBC batches; ids are assigned by the database and set on the given allocations
+     * @param allocations new allocations with release and resource set
+     * @return number of inserted rows
+     * @throws org.springframework.dao.DataRetrievalFailureException if the database does not return an id for every row
+     */
+    int insertInBatch(List<Allocation> allocations);
+
+    /**
+     * Whether the database can run the native weekly aggregation queries (PostgreSQL only)
+     */
+    boolean supportsNativeWeeklyAggregation();
+}
@@ -0,0 +1,86 @@
+package com.polycoder.relmgmt.repository;
+
+import com.polycoder.relmgmt.entity.Allocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch implementation of {@link AllocationRepositoryCustom}.
+ * Allocation ids come from the table's identity column, which prevents Hibernate from batching
+ * inserts, so regeneration writes rows directly in batches of {@code app.allocation.insert-batch-size}
+ * and reads the generated ids back into the inserted allocations.
+ */
+public class AllocationRepositoryCustomImpl implements AllocationRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO allocations (release_id, resource_id, phase, start_date, end_date, " +
+            "allocation_factor, allocation_days, version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final DatabaseDialect dialect;
+
+    public AllocationRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                          @Value("${app.allocation.insert-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.dialect = new DatabaseDialect(jdbcTemplate);
+    }
+
+    @Override
+    public int insertInBatch(List<Allocation> allocations) {
+        if (allocations == null || allocations.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Generated ids are read back per batch so derived rows (allocation weeks) can reference them
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, new String[] {"id"})) {
+                int batchStart = 0;
+                for (int i = 0; i < allocations.size(); i++) {
+                    Allocation a = allocations.get(i);
+                    ps.setLong(1, a.getRelease().getId());
+                    ps.setLong(2, a.getResource().getId());
+                    ps.setString(3, a.getPhase().name());
+                    ps.setDate(4, Date.valueOf(a.getStartDate()));
+                    ps.setDate(5, Date.valueOf(a.getEndDate()));
+                    ps.setDouble(6, a.getAllocationFactor());
+                    ps.setDouble(7, a.getAllocationDays());
+                    ps.setTimestamp(8, now);
+                    ps.setTimestamp(9, now);
+                    ps.addBatch();
+                    if (i + 1 - batchStart == batchSize || i == allocations.size() - 1) {
+                        ps.executeBatch();
+                        int k = batchStart;
+                        try (ResultSet keys = ps.getGeneratedKeys()) {
+                            while (k <= i && keys.next()) {
+                                allocations.get(k++).setId(keys.getLong(1));
+                            }
+                        }
+                        // Week rows are keyed by these ids, so a short key set must fail the regeneration here
+                        if (k <= i) {
+                            throw new DataRetrievalFailureException("Database returned " + (k - batchStart)
+                                + " generated ids for a batch of " + (i + 1 - batchStart) + " allocations");
+                        }
+                        batchStart = i + 1;
+                    }
+                }
+            }
+            return allocations.size();
+        });
+    }
+
+    @Override
+    public boolean supportsNativeWeeklyAggregation() {
+        return dialect.isPostgreSql();
+    }
+}
@@ -0,0 +1,59 @@
+package com.polycoder.relmgmt.repository;
+
+import com.polycoder.relmgmt.entity.AllocationWeek;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AllocationWeekRepository extends JpaRepository<AllocationWeek, Long>, AllocationWeekRepositoryCustom {
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = "DELETE FROM allocation_weeks WHERE allocation_id IN (SELECT id FROM allocations WHERE release_id = :releaseId)",
+           nativeQuery = true)
+    int deleteByReleaseId(@Param("releaseId") Long releaseId);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM AllocationWeek w WHERE w.allocation.id IN :allocationIds")
+    int deleteByAllocationIds(@Param("allocationIds") Collection<Long> allocationIds);
+
+    /**
+     * [resourceId, weekStart, releaseId, releaseName, phase, personDays] per resource, week, release and phase,
+     * ordered by resource and week and, within a week, by the first allocation contributing to the row
+     */
+    @Query("SELECT w.resource.id, w.weekStart, r.id, r.name, a.phase, SUM(w.personDays) " +
+           "FROM AllocationWeek w JOIN w.allocation a JOIN a.release r " +
+           "WHERE w.resource.id IN :resourceIds AND w.weekStart BETWEEN :firstWeek AND :lastWeek " +
+           "GROUP BY w.resource.id, w.weekStart, r.id, r.name, a.phase " +
+           "ORDER BY w.resource.id, w.weekStart, MIN(a.id)")
+    List<Object[]> sumByResourceWeekReleaseAndPhase(@Param("resourceIds") Collection<Long> resourceIds,
+                                                    @Param("firstWeek") LocalDate firstWeek,
+                                                    @Param("lastWeek") LocalDate lastWeek);
+
+    /**
+     * [resourceId, resourceName, weekStart, totalLoad] for every week whose load across releases exceeds the threshold
+     */
+    @Query("SELECT r.id, r.name, w.weekStart, SUM(w.personDays) FROM AllocationWeek w JOIN w.resource r " +
+           "WHERE w.weekStart BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.id, r.name, w.weekStart HAVING SUM(w.personDays) > :threshold ORDER BY r.id, w.weekStart")
+    List<Object[]> findOverloadedWeeks(@Param("threshold") double threshold,
+                                       @Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT r.id, r.name, w.weekStart, SUM(w.personDays) FROM AllocationWeek w JOIN w.resource r " +
+           "WHERE r.id IN :resourceIds AND w.weekStart BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.id, r.name, w.weekStart HAVING SUM(w.personDays) > :threshold ORDER BY r.id, w.weekStart")
+    List<Object[]> findOverloadedWeeksForResources(@Param("threshold") double threshold,
+                                                   @Param("resourceIds") Collection<Long> resourceIds,
+                                                   @Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate);
+}
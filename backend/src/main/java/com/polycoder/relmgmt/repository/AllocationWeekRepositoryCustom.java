@@ -0,0 +1,18 @@
+package com.polycoder.relmgmt.repository;
+
+import com.polycoder.relmgmt.entity.AllocationWeek;
+
+import java.util.List;
+
+/**
+ * Bulk write operations for the allocation week fact table
+ */
+public interface AllocationWeekRepositoryCustom {
+
+    /**
+     * Insert allocation weeks using JDBC batches; ids are assigned by the database
+     * @param weeks new allocation weeks with a persisted allocation and its resource set
+     * @return number of inserted rows
+     */
+    int insertInBatch(List<AllocationWeek> weeks);
+}
@@ -0,0 +1,47 @@
+package com.polycoder.relmgmt.repository;
+
+import com.polycoder.relmgmt.entity.AllocationWeek;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch implementation of {@link AllocationWeekRepositoryCustom}, sharing the
+ * allocation insert batch size since both are written by the same regeneration.
+ */
+public class AllocationWeekRepositoryCustomImpl implements AllocationWeekRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO allocation_weeks (allocation_id, resource_id, week_start, person_days, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public AllocationWeekRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                              @Value("${app.allocation.insert-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public int insertInBatch(List<AllocationWeek> weeks) {
+        if (weeks == null || weeks.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, weeks, batchSize, (ps, w) -> {
+            ps.setLong(1, w.getAllocation().getId());
+            ps.setLong(2, w.getResource().getId());
+            ps.setDate(3, Date.valueOf(w.getWeekStart()));
+            ps.setDouble(4, w.getPersonDays());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+        return weeks.size();
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,6 +21,14 @@ public interface BlockerRepository extends JpaRepository<Blocker, Long> {
     @Query("SELECT b FROM Blocker b WHERE b.release.id = :releaseId")
     List<Blocker> findByReleaseId(@Param("releaseId") Long releaseId);
 
+    /**
+     * Find blockers of several releases in one query
+     * @param releaseIds the release IDs
+     * @return List of blockers belonging to any of the releases, ordered by ID
+     */
+    @Query("SELECT b FROM Blocker b WHERE b.release.id IN :releaseIds ORDER BY b.id")
+    List<Blocker> findByReleaseIdIn(@Param("releaseIds") Collection<Long> releaseIds);
+
     /**
      * Find blockers by release ID and status
      * @param releaseId the release ID
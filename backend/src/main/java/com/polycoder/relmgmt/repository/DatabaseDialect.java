@@ -0,0 +1,30 @@
+package com.polycoder.relmgmt.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Locale;
+
+/**
+ * Detects the database behind a {@link JdbcTemplate} once, so JDBC repository fragments can pick
+ * PostgreSQL-specific SQL (RETURNING, generate_series) and fall back to portable SQL elsewhere (H2 in tests).
+ */
+class DatabaseDialect {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgreSql;
+
+    DatabaseDialect(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    boolean isPostgreSql() {
+        Boolean result = postgreSql;
+        if (result == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            result = product != null && product.toLowerCase(Locale.ROOT).contains("postgresql");
+            postgreSql = result;
+        }
+        return result;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,6 +22,14 @@ public interface PhaseRepository extends JpaRepository<Phase, Long> {
     @Query("SELECT p FROM Phase p WHERE p.release.id = :releaseId")
     List<Phase> findByReleaseId(@Param("releaseId") Long releaseId);
 
+    /**
+     * Find phases of several releases in one query
+     * @param releaseIds the release IDs
+     * @return List of phases belonging to any of the releases, ordered by ID
+     */
+    @Query("SELECT p FROM Phase p WHERE p.release.id IN :releaseIds ORDER BY p.id")
+    List<Phase> findByReleaseIdIn(@Param("releaseIds") Collection<Long> releaseIds);
+
     /**
      * Find phases by release ID and phase type
      * @param releaseId the release ID
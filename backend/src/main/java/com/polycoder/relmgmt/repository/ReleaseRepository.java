@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -92,4 +93,19 @@ public interface ReleaseRepository extends JpaRepository<Release, Long> {
            "FROM Release r " +
            "WHERE r.identifier LIKE CONCAT(:year, '-%')")
     Optional<Integer> findHighestIdentifierNumberForYear(@Param("year") String year);
-} 
\ No newline at end of file
+
+    /**
+     * Find id and name of all releases without loading entities
+     * @return List of [id, name] pairs ordered by id
+     */
+    @Query("SELECT r.id, r.name FROM Release r ORDER BY r.id")
+    List<Object[]> findAllIdAndName();
+
+    /**
+     * Find id and name of the given releases without loading entities
+     * @param ids the release IDs to include
+     * @return List of [id, name] pairs ordered by id
+     */
+    @Query("SELECT r.id, r.name FROM Release r WHERE r.id IN :ids ORDER BY r.id")
+    List<Object[]> findIdAndNameByIdIn(@Param("ids") Collection<Long> ids);
+}
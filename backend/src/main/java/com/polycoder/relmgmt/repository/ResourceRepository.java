@@ -17,7 +17,7 @@ import java.util.Optional;
 import java.util.Set;
 
 @Repository
-public interface ResourceRepository extends JpaRepository<Resource, Long> {
+public interface ResourceRepository extends JpaRepository<Resource, Long>, ResourceRepositoryCustom {
 
     /**
      * Find a resource by employee number
@@ -47,6 +47,24 @@ public interface ResourceRepository extends JpaRepository<Resource, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Employee number and email of every resource, for duplicate checks during bulk imports
+     * @return rows of [employeeNumber, email]
+     */
+    @Query("SELECT r.employeeNumber, r.email FROM Resource r")
+    List<Object[]> findAllEmployeeNumbersAndEmails();
+
+    /**
+     * Keyset page of export columns, read as scalars so no entities accumulate in the persistence context
+     * @param afterId return resources with an ID greater than this
+     * @param pageable page size (the page number is ignored by callers, which always pass page 0)
+     * @return rows of [id, name, employeeNumber, email, status, projectStartDate, projectEndDate,
+     *         employeeGrade, skillFunction, skillSubFunction] ordered by ID
+     */
+    @Query("SELECT r.id, r.name, r.employeeNumber, r.email, r.status, r.projectStartDate, r.projectEndDate, " +
+           "r.employeeGrade, r.skillFunction, r.skillSubFunction FROM Resource r WHERE r.id > :afterId ORDER BY r.id")
+    List<Object[]> findExportRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     /**
      * Find resources by status
      * @param status the status to filter by
@@ -155,4 +173,49 @@ public interface ResourceRepository extends JpaRepository<Resource, Long> {
      * @return List of resources with the specified IDs
      */
     List<Resource> findByIdIn(Set<Long> ids);
-}
\ No newline at end of file
+
+    /**
+     * Count resources per skill function, sub-function and project tenure in a single grouped query
+     * @param status the status to filter by (should be ACTIVE)
+     * @return rows of [skillFunction, skillSubFunction, projectStartDate, projectEndDate, count]
+     */
+    @Query("SELECT r.skillFunction, r.skillSubFunction, r.projectStartDate, r.projectEndDate, COUNT(r) FROM Resource r " +
+           "WHERE r.status = :status " +
+           "GROUP BY r.skillFunction, r.skillSubFunction, r.projectStartDate, r.projectEndDate")
+    List<Object[]> countBySkillAndProjectDates(@Param("status") StatusEnum status);
+
+    /**
+     * Find resources with at least one allocation overlapping the window, optionally filtered by skill and,
+     * when overAllocatedOnly is set, restricted to resources whose summed load across releases exceeds the
+     * threshold in some week of the window
+     * @param startDate first day of the window
+     * @param endDate last day of the window
+     * @param firstWeek Monday of the first week in the window
+     * @param lastWeek Monday of the last week in the window
+     * @param skillFunction optional skill function filter
+     * @param skillSubFunction optional skill sub-function filter
+     * @param overAllocatedOnly whether to keep only over-allocated resources
+     * @param threshold weekly load (person-days) above which a week is over-allocated
+     * @param pageable the page of resources, ordered by ID
+     * @return Page of matching resources
+     */
+    @Query(value = "SELECT r FROM Resource r WHERE " + ALLOCATED_IN_WINDOW + " ORDER BY r.id",
+           countQuery = "SELECT COUNT(r) FROM Resource r WHERE " + ALLOCATED_IN_WINDOW)
+    Page<Resource> findAllocatedInWindow(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate,
+                                         @Param("firstWeek") LocalDate firstWeek,
+                                         @Param("lastWeek") LocalDate lastWeek,
+                                         @Param("skillFunction") SkillFunctionEnum skillFunction,
+                                         @Param("skillSubFunction") SkillSubFunctionEnum skillSubFunction,
+                                         @Param("overAllocatedOnly") boolean overAllocatedOnly,
+                                         @Param("threshold") double threshold,
+                                         Pageable pageable);
+
+    String ALLOCATED_IN_WINDOW =
+            "EXISTS (SELECT 1 FROM Allocation a WHERE a.resource = r AND a.startDate <= :endDate AND a.endDate >= :startDate) " +
+            "AND (:skillFunction IS NULL OR r.skillFunction = :skillFunction) " +
+            "AND (:skillSubFunction IS NULL OR r.skillSubFunction = :skillSubFunction) " +
+            "AND (:overAllocatedOnly = false OR r.id IN (SELECT w.resource.id FROM AllocationWeek w " +
+            "WHERE w.weekStart BETWEEN :firstWeek AND :lastWeek " +
+            "GROUP BY w.resource.id, w.weekStart HAVING SUM(w.personDays) > :threshold))";
+}
@@ -0,0 +1,28 @@
+package com.polycoder.relmgmt.repository;
+
+import com.polycoder.relmgmt.entity.Resource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bulk write operations for resources that bypass per-entity persistence
+ */
+public interface ResourceRepositoryCustom {
+
+    /**
+     * Insert resources using JDBC batches; ids are assigned by the database
+     * @param resources new, validated resources
+     * @return number of inserted rows
+     */
+    int insertInBatch(List<Resource> resources);
+
+    /**
+     * Set every active resource whose project ended before {@code today} to inactive in one statement
+     * @param today the current date
+     * @return IDs of the resources that were deactivated
+     */
+    @Transactional
+    List<Long> deactivateExpired(LocalDate today);
+}
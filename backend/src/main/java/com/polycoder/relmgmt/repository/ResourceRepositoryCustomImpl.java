@@ -0,0 +1,96 @@
+package com.polycoder.relmgmt.repository;
+
+import com.polycoder.relmgmt.entity.Resource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC batch implementation of {@link ResourceRepositoryCustom}.
+ * Resource ids come from the table's identity column, which prevents Hibernate from batching
+ * inserts, so imports write rows directly in batches of {@code app.resource.import-batch-size}.
+ * Expired resources are deactivated with a single UPDATE rather than loading and saving each entity.
+ */
+public class ResourceRepositoryCustomImpl implements ResourceRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO resources (name, employee_number, email, status, project_start_date, project_end_date, " +
+            "employee_grade, skill_function, skill_sub_function, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String EXPIRED_CONDITION =
+            "WHERE status = 'ACTIVE' AND project_end_date IS NOT NULL AND project_end_date < ?";
+
+    private static final String DEACTIVATE_RETURNING_SQL =
+            "UPDATE resources SET status = 'INACTIVE', updated_at = ? " + EXPIRED_CONDITION + " RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final DatabaseDialect dialect;
+
+    public ResourceRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                        @Value("${app.resource.import-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.dialect = new DatabaseDialect(jdbcTemplate);
+    }
+
+    @Override
+    public int insertInBatch(List<Resource> resources) {
+        if (resources == null || resources.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, resources, batchSize, (ps, r) -> {
+            ps.setString(1, r.getName());
+            ps.setString(2, r.getEmployeeNumber());
+            ps.setString(3, r.getEmail());
+            ps.setString(4, r.getStatus().name());
+            ps.setDate(5, Date.valueOf(r.getProjectStartDate()));
+            if (r.getProjectEndDate() != null) {
+                ps.setDate(6, Date.valueOf(r.getProjectEndDate()));
+            } else {
+                ps.setNull(6, Types.DATE);
+            }
+            ps.setString(7, r.getEmployeeGrade().name());
+            ps.setString(8, r.getSkillFunction().name());
+            if (r.getSkillSubFunction() != null) {
+                ps.setString(9, r.getSkillSubFunction().name());
+            } else {
+                ps.setNull(9, Types.VARCHAR);
+            }
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+        return resources.size();
+    }
+
+    @Override
+    public List<Long> deactivateExpired(LocalDate today) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date cutoff = Date.valueOf(today);
+        if (dialect.isPostgreSql()) {
+            return jdbcTemplate.queryForList(DEACTIVATE_RETURNING_SQL, Long.class, now, cutoff);
+        }
+        // No UPDATE ... RETURNING (H2 in tests): lock the matching rows, then update exactly the selected ids
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM resources " + EXPIRED_CONDITION + " FOR UPDATE", Long.class, cutoff);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(now);
+            args.addAll(chunk);
+            jdbcTemplate.update("UPDATE resources SET status = 'INACTIVE', updated_at = ? WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")", args.toArray());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,48 @@
+package com.polycoder.relmgmt.repository;
+
+import com.polycoder.relmgmt.entity.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    /**
+     * Take over a lock whose lease has expired
+     * @return 1 if the lock was acquired, 0 if another node still holds it or the lock row does not exist
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :lockedUntil, l.lockedAt = :now, l.lockedBy = :owner " +
+           "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int acquireIfExpired(@Param("name") String name, @Param("owner") String owner,
+                         @Param("now") LocalDateTime now, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Create the lock row, held by the caller; fails with a duplicate key if another node created it first
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO scheduler_locks (name, locked_until, locked_at, locked_by) " +
+                   "VALUES (:name, :lockedUntil, :now, :owner)", nativeQuery = true)
+    int insertLock(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Shorten the caller's lease once its job has finished
+     * @param lockedAt the acquisition time, so a lease taken over after expiry is left alone
+     * @return 1 if the caller still held the lock
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :lockedUntil " +
+           "WHERE l.name = :name AND l.lockedBy = :owner AND l.lockedAt = :lockedAt")
+    int release(@Param("name") String name, @Param("owner") String owner,
+                @Param("lockedAt") LocalDateTime lockedAt, @Param("lockedUntil") LocalDateTime lockedUntil);
+}
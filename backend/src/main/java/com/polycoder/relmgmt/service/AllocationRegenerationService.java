@@ -0,0 +1,36 @@
+package com.polycoder.relmgmt.service;
+
+import com.polycoder.relmgmt.dto.AllocationRegenerationResponse;
+
+import java.util.List;
+
+/**
+ * Portfolio-wide allocation regeneration across many releases
+ */
+public interface AllocationRegenerationService {
+
+    /**
+     * Start regenerating allocations for the given releases on the bounded worker pool.
+     * Each release is regenerated in its own transaction.
+     * Releases that are already queued or running are skipped and listed on the job.
+     * @param releaseIds the releases to regenerate, or null/empty for all releases
+     * @return the initial job status
+     * @throws java.util.concurrent.RejectedExecutionException if the worker queue cannot take any release
+     */
+    AllocationRegenerationResponse startRegeneration(List<Long> releaseIds);
+
+    /**
+     * Run a synchronous change to a release's allocations while no regeneration of it is queued or running
+     * @param releaseId the release whose allocations are changed
+     * @param action the change to run
+     * @throws com.polycoder.relmgmt.exception.ConflictException if the release is already being regenerated
+     */
+    void runExclusive(Long releaseId, Runnable action);
+
+    /**
+     * Get progress and per-release timings of a regeneration job
+     * @param jobId the job ID returned by {@link #startRegeneration}
+     * @return the current job status
+     */
+    AllocationRegenerationResponse getRegeneration(String jobId);
+}
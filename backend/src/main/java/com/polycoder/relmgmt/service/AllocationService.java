@@ -4,14 +4,29 @@ import com.polycoder.relmgmt.entity.Allocation;
 import com.polycoder.relmgmt.dto.AllocationConflictResponse;
 import com.polycoder.relmgmt.dto.AllocationDto;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface AllocationService {
     void generateAllocation(Long releaseId);
     List<Allocation> getAllocationsForRelease(Long releaseId);
+
+    /**
+     * Remove every allocation of a release together with its allocation week rows
+     */
+    void deleteAllocationsForRelease(Long releaseId);
     List<AllocationDto> getAllocationDtosForRelease(Long releaseId);
     List<Allocation> getAllocationsForResource(Long resourceId);
     List<AllocationConflictResponse> getAllocationConflicts();
+
+    /**
+     * Weekly over-allocation conflicts, optionally limited to a date window and a set of resources
+     * @param from window start (inclusive, widened to its Monday), or null for unbounded
+     * @param to window end (inclusive, widened to its Sunday), or null for unbounded
+     * @param resourceIds resources to check, or null/empty for all
+     */
+    List<AllocationConflictResponse> getAllocationConflicts(LocalDate from, LocalDate to, Collection<Long> resourceIds);
 }
 
 
@@ -5,6 +5,8 @@ import com.polycoder.relmgmt.entity.EventTypeEnum;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+
 public interface NotificationService {
 
     Page<NotificationResponse> getNotificationsForCurrentUser(Boolean isRead, EventTypeEnum eventType, Pageable pageable);
@@ -14,6 +16,11 @@ public interface NotificationService {
     void markAllAsReadForCurrentUser();
 
     void delete(Long id);
+
+    /**
+     * Send every user one notification per entity, all with the same message
+     */
+    void notifyAllUsers(EventTypeEnum eventType, String entityType, Collection<Long> entityIds, String message);
 }
 
 
@@ -0,0 +1,17 @@
+package com.polycoder.relmgmt.service;
+
+/**
+ * Published when a release, or one of its phases or blockers, is created, updated or deleted
+ */
+public class ReleaseChangedEvent {
+
+    private final Long releaseId;
+
+    public ReleaseChangedEvent(Long releaseId) {
+        this.releaseId = releaseId;
+    }
+
+    public Long getReleaseId() {
+        return releaseId;
+    }
+}
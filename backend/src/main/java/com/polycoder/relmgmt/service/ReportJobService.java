@@ -0,0 +1,38 @@
+package com.polycoder.relmgmt.service;
+
+import com.polycoder.relmgmt.dto.ReportFormat;
+import com.polycoder.relmgmt.dto.ReportJobResponse;
+
+import java.util.Map;
+
+/**
+ * Asynchronous report exports with de-duplication and a bounded result cache
+ */
+public interface ReportJobService {
+
+    /**
+     * Queue an export on the bounded report worker pool.
+     * An identical request (same type, format and parameters) that is still running or whose result is
+     * still cached is answered with the existing job instead of starting a new one.
+     * @param type report type
+     * @param params report parameters, as for {@link ReportService#exportReport(String, Map)}
+     * @param format output format
+     * @return the job status
+     * @throws java.util.concurrent.RejectedExecutionException if the job queue is full
+     */
+    ReportJobResponse submitJob(String type, Map<String, String> params, ReportFormat format);
+
+    /**
+     * Get the status of a report job
+     * @param jobId the job ID returned by {@link #submitJob}
+     * @return the current job status
+     */
+    ReportJobResponse getJob(String jobId);
+
+    /**
+     * Get the exported file of a completed job
+     * @param jobId the job ID returned by {@link #submitJob}
+     * @return the export content
+     */
+    byte[] getJobResult(String jobId);
+}
@@ -1,7 +1,10 @@
 package com.polycoder.relmgmt.service;
 
 import com.polycoder.relmgmt.dto.AllocationConflictResponse;
+import com.polycoder.relmgmt.dto.ReportFormat;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -11,6 +14,31 @@ public interface ReportService {
     List<com.polycoder.relmgmt.dto.ResourceUtilizationRow> generateResourceUtilizationReport(LocalDate from, LocalDate to, List<Long> resourceIds);
     List<com.polycoder.relmgmt.dto.ReleaseTimelineRow> generateReleaseTimelineReport(Integer year);
     byte[] exportReport(String type, Map<String, String> params);
+
+    /**
+     * Stream an Excel export to the given output, writing rows as they are produced
+     */
+    void exportReport(String type, Map<String, String> params, OutputStream out) throws IOException;
+
+    /**
+     * Stream an export in the given format; CSV and NDJSON are written row by row without building a workbook
+     */
+    void exportReport(String type, Map<String, String> params, ReportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Resolve the report type and parse its filters up front, returning a writer that produces the rows on demand.
+     * Callers streaming to an HTTP response prepare first, so bad input is rejected before the response is committed
+     * @throws com.polycoder.relmgmt.exception.ValidationException if the type is unknown or a filter is invalid
+     */
+    ExportWriter prepareExport(String type, Map<String, String> params, ReportFormat format);
+
+    /**
+     * Writes a prepared export to an output stream
+     */
+    @FunctionalInterface
+    interface ExportWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
     List<com.polycoder.relmgmt.dto.CapacityForecastResponse> generateCapacityForecastReport(LocalDate from, LocalDate to,
                                                                                              com.polycoder.relmgmt.entity.SkillFunctionEnum skillFunction,
                                                                                              com.polycoder.relmgmt.entity.SkillSubFunctionEnum skillSubFunction);
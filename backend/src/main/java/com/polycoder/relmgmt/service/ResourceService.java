@@ -11,6 +11,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ResourceService {
@@ -60,12 +62,25 @@ public interface ResourceService {
      */
     ResourceImportResponse importResourcesFromExcel(MultipartFile file);
 
+    /**
+     * Import resources from a CSV file with the same columns as the Excel import
+     * @param file the CSV file containing resource data, UTF-8 encoded with a header row
+     * @return the import response with success/failure statistics
+     */
+    ResourceImportResponse importResourcesFromCsv(MultipartFile file);
+
     /**
      * Export resources to Excel file
      * @return byte array of the Excel file
      */
     byte[] exportResourcesToExcel();
 
+    /**
+     * Stream all resources as an Excel file
+     * @param out the stream to write the workbook to; not closed
+     */
+    void exportResourcesToExcel(OutputStream out) throws IOException;
+
     /**
      * Find a resource entity by ID
      * @param id the resource ID
@@ -102,7 +117,10 @@ public interface ResourceService {
     boolean canDeleteResource(Long resourceId);
 
     /**
-     * Automatically update status of resources with past project end dates to inactive
+     * Automatically update status of resources with past project end dates to inactive,
+     * notify users and regenerate the releases still allocating them.
+     * Regeneration rebuilds each affected release from its estimates, so weekly overrides made on
+     * those releases are replaced; users get a notification per affected release saying so.
      * @return number of resources that were updated
      */
     int updateExpiredResourcesStatus();
@@ -6,37 +6,56 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 /**
  * Scheduled service for automatically updating resource statuses
- * based on business rules like project end dates
+ * based on business rules like project end dates. Every replica fires the trigger;
+ * a {@link SchedulerLockService} lock lets only one of them run the job.
  */
 @Service
 public class ResourceStatusScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(ResourceStatusScheduler.class);
 
+    private static final String JOB_NAME = "resource-status-update";
+    // Longer than the job can reasonably take; a crashed node's lock is released after this
+    private static final Duration LOCK_AT_MOST_FOR = Duration.ofMinutes(30);
+    // Covers clock skew between replicas firing the same 2:00 AM trigger
+    private static final Duration LOCK_AT_LEAST_FOR = Duration.ofMinutes(5);
+
     @Autowired
     private ResourceService resourceService;
 
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
     /**
      * Scheduled job to automatically mark resources with past project end dates as inactive
-     * Runs daily at 2:00 AM
+     * Runs daily at 2:00 AM on one replica only
      */
     @Scheduled(cron = "0 0 2 * * ?") // Daily at 2:00 AM
     public void updateExpiredResourcesStatus() {
         try {
-            logger.info("Starting scheduled task: Update expired resources status");
-            
-            int updatedCount = resourceService.updateExpiredResourcesStatus();
-            
-            if (updatedCount > 0) {
-                logger.info("Successfully updated {} resources from ACTIVE to INACTIVE due to past project end dates", updatedCount);
-            } else {
-                logger.info("No resources found with past project end dates that need status update");
+            boolean ran = schedulerLockService.runLocked(JOB_NAME, LOCK_AT_MOST_FOR, LOCK_AT_LEAST_FOR,
+                this::runUpdateExpiredResourcesStatus);
+            if (!ran) {
+                logger.info("Skipping scheduled task: Update expired resources status is running on another node");
             }
-            
         } catch (Exception e) {
             logger.error("Error occurred while updating expired resources status: {}", e.getMessage(), e);
         }
     }
+
+    private void runUpdateExpiredResourcesStatus() {
+        logger.info("Starting scheduled task: Update expired resources status");
+        
+        int updatedCount = resourceService.updateExpiredResourcesStatus();
+        
+        if (updatedCount > 0) {
+            logger.info("Successfully updated {} resources from ACTIVE to INACTIVE due to past project end dates", updatedCount);
+        } else {
+            logger.info("No resources found with past project end dates that need status update");
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.polycoder.relmgmt.service;
+
+import java.time.Duration;
+
+/**
+ * Cluster-wide locking for scheduled jobs, so a job that fires on every replica runs on only one of them
+ */
+public interface SchedulerLockService {
+
+    /**
+     * Run the job if this node can acquire the named lock, otherwise skip it
+     * @param jobName the lock name, one per scheduled job
+     * @param lockAtMostFor lease length; a crashed node's lock expires after this
+     * @param lockAtLeastFor minimum time the lock stays held after acquisition, so replicas firing
+     *                       slightly later do not run a job that already finished
+     * @param job the work to run while holding the lock; exceptions are rethrown after the lock is released
+     * @return true if the job ran on this node
+     */
+    boolean runLocked(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable job);
+}
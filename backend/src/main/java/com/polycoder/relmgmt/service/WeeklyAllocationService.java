@@ -3,6 +3,10 @@ package com.polycoder.relmgmt.service;
 import com.polycoder.relmgmt.dto.WeeklyAllocationMatrixResponse;
 import com.polycoder.relmgmt.dto.ResourceProfileResponse;
 import com.polycoder.relmgmt.dto.WeeklyAllocationResponse;
+import com.polycoder.relmgmt.dto.WeeklyAllocationUpdateRequest;
+import com.polycoder.relmgmt.dto.WeeklyAllocationUpdateResponse;
+import com.polycoder.relmgmt.entity.SkillFunctionEnum;
+import com.polycoder.relmgmt.entity.SkillSubFunctionEnum;
 
 import java.util.List;
 
@@ -17,14 +21,44 @@ public interface WeeklyAllocationService {
      * @return Weekly allocation matrix with resources and their weekly allocations
      */
     WeeklyAllocationMatrixResponse getWeeklyAllocations(String currentWeekStart);
+
+    /**
+     * Get a page of the weekly allocation matrix for a configurable time window.
+     * Skill and over-allocation filters and paging are applied in the resource query, so only the
+     * allocations of the returned resources are loaded.
+     * @param currentWeekStart The start of the current week (YYYY-MM-DD format)
+     * @param weeksBefore Number of weeks shown before the current week
+     * @param weeksAfter Number of weeks shown after the current week
+     * @param skillFunction Optional skill function filter
+     * @param skillSubFunction Optional skill sub-function filter
+     * @param overAllocatedOnly Only include resources loaded above the standard weekly load in some week of the window
+     * @param page Zero-based page over resources, or null for the first page
+     * @param size Page size, or null to return all matching resources
+     * @return Weekly allocation matrix with paging information
+     */
+    WeeklyAllocationMatrixResponse getWeeklyAllocations(String currentWeekStart, int weeksBefore, int weeksAfter,
+                                                        SkillFunctionEnum skillFunction,
+                                                        SkillSubFunctionEnum skillSubFunction,
+                                                        boolean overAllocatedOnly, Integer page, Integer size);
     
     /**
-     * Update weekly allocation for a specific resource and week
+     * Update weekly allocation for a specific resource and week.
+     * The allocations overlapping the week are split at the week boundaries and their in-week part is
+     * scaled so the week totals personDays.
      * @param resourceId The resource ID
      * @param weekStart The start of the week (YYYY-MM-DD format)
      * @param personDays The number of person days to allocate
      */
     void updateWeeklyAllocation(String resourceId, String weekStart, Double personDays);
+
+    /**
+     * Apply many (resource, week, person-days) edits in one transaction.
+     * Edits are all-or-nothing: a stale expectedPersonDays or a concurrent change to an affected
+     * allocation rejects the whole batch.
+     * @param updates The edits, at most one per resource and week
+     * @return The resulting person-days and release breakdown of each edited week
+     */
+    List<WeeklyAllocationUpdateResponse> updateWeeklyAllocations(List<WeeklyAllocationUpdateRequest> updates);
     
     /**
      * Get resource profile information
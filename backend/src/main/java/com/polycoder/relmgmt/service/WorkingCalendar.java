@@ -0,0 +1,152 @@
+package com.polycoder.relmgmt.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Shared working-day calendar used by allocation, reporting and weekly matrix services.
+ * Working-day counts are answered in O(1) from a prefix-sum array keyed by epoch day,
+ * so callers can ask for any [start, end] range without walking it day by day.
+ */
+@Component
+public class WorkingCalendar {
+
+    static final LocalDate INDEX_START = LocalDate.of(1970, 1, 1);
+    static final LocalDate INDEX_END = LocalDate.of(2100, 12, 31);
+
+    private final Set<DayOfWeek> weekendDays;
+    private final NavigableSet<LocalDate> holidays;
+    private final int workingDaysPerWeek;
+    private final long indexStartEpochDay;
+    // prefix[i] = number of working days in [INDEX_START, INDEX_START + i)
+    private final int[] prefix;
+
+    @Autowired
+    public WorkingCalendar(@Value("${app.calendar.weekend-days:SATURDAY,SUNDAY}") String[] weekendDays,
+                           @Value("${app.calendar.holidays:}") String[] holidays) {
+        this(parseWeekendDays(weekendDays), parseHolidays(holidays));
+    }
+
+    public WorkingCalendar(Set<DayOfWeek> weekendDays, Collection<LocalDate> holidays) {
+        this.weekendDays = weekendDays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(weekendDays);
+        this.holidays = new TreeSet<>(holidays);
+        this.workingDaysPerWeek = 7 - this.weekendDays.size();
+        this.indexStartEpochDay = INDEX_START.toEpochDay();
+
+        int days = (int) (INDEX_END.toEpochDay() - indexStartEpochDay + 1);
+        this.prefix = new int[days + 1];
+        LocalDate d = INDEX_START;
+        for (int i = 0; i < days; i++) {
+            prefix[i + 1] = prefix[i] + (isWorkingDay(d) ? 1 : 0);
+            d = d.plusDays(1);
+        }
+    }
+
+    /**
+     * Standard Monday-Friday calendar without holidays
+     */
+    public static WorkingCalendar standard() {
+        return new WorkingCalendar(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), List.of());
+    }
+
+    /**
+     * Count working days between start and end (both inclusive)
+     * @return the number of working days, or 0 when end is before start
+     */
+    public int countWorkingDays(LocalDate start, LocalDate end) {
+        if (start == null || end == null || end.isBefore(start)) {
+            return 0;
+        }
+        if (start.isBefore(INDEX_START) || end.isAfter(INDEX_END)) {
+            return countOutsideIndex(start, end);
+        }
+        return countWorkingDays(start.toEpochDay(), end.toEpochDay());
+    }
+
+    /**
+     * Count working days between two epoch days (both inclusive) within the indexed range
+     */
+    public int countWorkingDays(long startEpochDay, long endEpochDay) {
+        if (endEpochDay < startEpochDay) {
+            return 0;
+        }
+        int from = (int) (startEpochDay - indexStartEpochDay);
+        int to = (int) (endEpochDay - indexStartEpochDay);
+        if (from < 0 || to >= prefix.length - 1) {
+            return countOutsideIndex(LocalDate.ofEpochDay(startEpochDay), LocalDate.ofEpochDay(endEpochDay));
+        }
+        return prefix[to + 1] - prefix[from];
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return !weekendDays.contains(date.getDayOfWeek()) && !holidays.contains(date);
+    }
+
+    public int getWorkingDaysPerWeek() {
+        return workingDaysPerWeek;
+    }
+
+    /**
+     * True for a plain Monday-Friday week without holidays, i.e. when working days can be derived
+     * from the ISO day of week alone (as database-side aggregations do)
+     */
+    public boolean isStandardWorkWeek() {
+        return holidays.isEmpty() && weekendDays.equals(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+    }
+
+    /**
+     * Whole-week arithmetic for ranges that fall outside the precomputed index
+     */
+    private int countOutsideIndex(LocalDate start, LocalDate end) {
+        long totalDays = end.toEpochDay() - start.toEpochDay() + 1;
+        long count = (totalDays / 7) * workingDaysPerWeek;
+        LocalDate d = start.plusDays((totalDays / 7) * 7);
+        while (!d.isAfter(end)) {
+            if (!weekendDays.contains(d.getDayOfWeek())) {
+                count++;
+            }
+            d = d.plusDays(1);
+        }
+        for (LocalDate holiday : holidays.subSet(start, true, end, true)) {
+            if (!weekendDays.contains(holiday.getDayOfWeek())) {
+                count--;
+            }
+        }
+        return (int) count;
+    }
+
+    private static Set<DayOfWeek> parseWeekendDays(String[] values) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        if (values != null) {
+            for (String v : values) {
+                if (v != null && !v.isBlank()) {
+                    days.add(DayOfWeek.valueOf(v.trim().toUpperCase()));
+                }
+            }
+        }
+        return days;
+    }
+
+    private static List<LocalDate> parseHolidays(String[] values) {
+        List<LocalDate> dates = new ArrayList<>();
+        if (values != null) {
+            for (String v : values) {
+                if (v != null && !v.isBlank()) {
+                    dates.add(LocalDate.parse(v.trim()));
+                }
+            }
+        }
+        return dates;
+    }
+}
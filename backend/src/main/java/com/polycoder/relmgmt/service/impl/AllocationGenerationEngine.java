@@ -0,0 +1,233 @@
+package com.polycoder.relmgmt.service.impl;
+
+import com.polycoder.relmgmt.entity.*;
+import com.polycoder.relmgmt.service.WorkingCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * In-memory allocation generation for a single release.
+ * All inputs (phases, scope items, components and the active resource pool) are loaded up front
+ * by the caller, so computing every phase allocation issues no further queries.
+ */
+public class AllocationGenerationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(AllocationGenerationEngine.class);
+
+    private final WorkingCalendar workingCalendar;
+
+    public AllocationGenerationEngine(WorkingCalendar workingCalendar) {
+        this.workingCalendar = workingCalendar;
+    }
+
+    /**
+     * Calculate derived effort estimates from scope items and their components
+     * @param scopeItems scope items of the release
+     * @param components all components of the release's scope items
+     */
+    public Map<PhaseTypeEnum, Double> calculateDerivedEfforts(List<ScopeItem> scopeItems, List<Component> components) {
+        Map<PhaseTypeEnum, Double> efforts = new EnumMap<>(PhaseTypeEnum.class);
+
+        if (scopeItems == null || scopeItems.isEmpty()) {
+            return efforts;
+        }
+
+        Map<Long, List<Component>> componentsByScopeItem = new HashMap<>();
+        if (components != null) {
+            for (Component component : components) {
+                if (component.getScopeItem() != null) {
+                    componentsByScopeItem.computeIfAbsent(component.getScopeItem().getId(), k -> new ArrayList<>()).add(component);
+                }
+            }
+        }
+
+        double functionalDesignTotal = 0.0;
+        double technicalDesignTotal = 0.0;
+        double buildTotal = 0.0;
+        double sitTotal = 0.0;
+        double uatTotal = 0.0;
+
+        for (ScopeItem scopeItem : scopeItems) {
+            // Add scope item level efforts
+            functionalDesignTotal += scopeItem.getFunctionalDesignDays() != null ? scopeItem.getFunctionalDesignDays() : 0.0;
+            sitTotal += scopeItem.getSitDays() != null ? scopeItem.getSitDays() : 0.0;
+            uatTotal += scopeItem.getUatDays() != null ? scopeItem.getUatDays() : 0.0;
+
+            // Add component level efforts in scope item order so totals match the per-item summation
+            for (Component component : componentsByScopeItem.getOrDefault(scopeItem.getId(), List.of())) {
+                technicalDesignTotal += component.getTechnicalDesignDays() != null ? component.getTechnicalDesignDays() : 0.0;
+                buildTotal += component.getBuildDays() != null ? component.getBuildDays() : 0.0;
+            }
+        }
+
+        efforts.put(PhaseTypeEnum.FUNCTIONAL_DESIGN, functionalDesignTotal);
+        efforts.put(PhaseTypeEnum.TECHNICAL_DESIGN, technicalDesignTotal);
+        efforts.put(PhaseTypeEnum.BUILD, buildTotal);
+        efforts.put(PhaseTypeEnum.SYSTEM_INTEGRATION_TEST, sitTotal);
+        efforts.put(PhaseTypeEnum.USER_ACCEPTANCE_TEST, uatTotal);
+
+        return efforts;
+    }
+
+    /**
+     * Group the active resource pool by skill function, preserving the pool order within each group
+     */
+    public Map<SkillFunctionEnum, List<Resource>> groupBySkillFunction(List<Resource> activeResources) {
+        Map<SkillFunctionEnum, List<Resource>> pool = new EnumMap<>(SkillFunctionEnum.class);
+        for (Resource r : activeResources) {
+            if (r.getSkillFunction() != null) {
+                pool.computeIfAbsent(r.getSkillFunction(), k -> new ArrayList<>()).add(r);
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Compute all phase allocations for a release
+     * @param release the release being allocated
+     * @param phases the release phases
+     * @param derivedEfforts effort per phase as returned by {@link #calculateDerivedEfforts}
+     * @param pool active resources grouped by skill function
+     * @return allocations in the order they should be persisted
+     */
+    public List<Allocation> generate(Release release,
+                                     List<Phase> phases,
+                                     Map<PhaseTypeEnum, Double> derivedEfforts,
+                                     Map<SkillFunctionEnum, List<Resource>> pool) {
+        Map<PhaseTypeEnum, Phase> phaseByType = new EnumMap<>(PhaseTypeEnum.class);
+        for (Phase p : phases) {
+            phaseByType.put(p.getPhaseType(), p);
+        }
+
+        List<Resource> functionalDesignResources = pool.getOrDefault(SkillFunctionEnum.FUNCTIONAL_DESIGN, List.of());
+        List<Resource> technicalDesignResources = pool.getOrDefault(SkillFunctionEnum.TECHNICAL_DESIGN, List.of());
+        List<Resource> buildResources = pool.getOrDefault(SkillFunctionEnum.BUILD, List.of());
+        List<Resource> testResources = pool.getOrDefault(SkillFunctionEnum.TEST, List.of());
+
+        Double functionalDesignEffort = derivedEfforts.get(PhaseTypeEnum.FUNCTIONAL_DESIGN);
+        Double technicalDesignEffort = derivedEfforts.get(PhaseTypeEnum.TECHNICAL_DESIGN);
+        Double buildEffort = derivedEfforts.get(PhaseTypeEnum.BUILD);
+        Double sitEffort = derivedEfforts.get(PhaseTypeEnum.SYSTEM_INTEGRATION_TEST);
+
+        List<Allocation> toSave = new ArrayList<>();
+
+        // FUNCTIONAL DESIGN estimates: distribute across all Functional Design resources
+        Phase functionalDesign = phaseByType.get(PhaseTypeEnum.FUNCTIONAL_DESIGN);
+        if (functionalDesignEffort != null && functionalDesignEffort > 0 && functionalDesign != null) {
+            if (!functionalDesignResources.isEmpty()) {
+                double perResourceEffort = functionalDesignEffort / functionalDesignResources.size();
+                for (Resource r : functionalDesignResources) {
+                    toSave.add(allocate(release, r, functionalDesign, perResourceEffort));
+                }
+            } else {
+                log.warn("No active Functional Design resources found for effort estimate: {}", functionalDesignEffort);
+            }
+        }
+
+        // TECHNICAL DESIGN estimates: first available Technical Design resource
+        Phase technicalDesign = phaseByType.get(PhaseTypeEnum.TECHNICAL_DESIGN);
+        if (technicalDesignEffort != null && technicalDesignEffort > 0 && technicalDesign != null
+                && !technicalDesignResources.isEmpty()) {
+            toSave.add(allocate(release, technicalDesignResources.get(0), technicalDesign, technicalDesignEffort));
+        }
+
+        // BUILD estimates: first available Build resource
+        Phase build = phaseByType.get(PhaseTypeEnum.BUILD);
+        if (buildEffort != null && buildEffort > 0 && build != null && !buildResources.isEmpty()) {
+            toSave.add(allocate(release, buildResources.get(0), build, buildEffort));
+        }
+
+        // SIT estimates: Manual Test resources plus a Build resource at 35% of build effort
+        Phase sit = phaseByType.get(PhaseTypeEnum.SYSTEM_INTEGRATION_TEST);
+        if (sitEffort != null && sitEffort > 0 && sit != null) {
+            List<Resource> manualTestResources = new ArrayList<>();
+            for (Resource r : testResources) {
+                if (r.getSkillSubFunction() == SkillSubFunctionEnum.MANUAL) {
+                    manualTestResources.add(r);
+                }
+            }
+            if (!manualTestResources.isEmpty()) {
+                double perResourceEffort = sitEffort / manualTestResources.size();
+                for (Resource r : manualTestResources) {
+                    toSave.add(allocate(release, r, sit, perResourceEffort));
+                }
+            }
+            if (buildEffort != null && buildEffort > 0 && !buildResources.isEmpty()) {
+                toSave.add(allocate(release, buildResources.get(0), sit, buildEffort * 0.35));
+            }
+        }
+
+        // Derived allocations for UAT (30% of SIT for Test, 25% of Build for Build)
+        Phase uat = phaseByType.get(PhaseTypeEnum.USER_ACCEPTANCE_TEST);
+        if (uat != null) {
+            addDerivedTestAndBuild(toSave, release, uat, sitEffort, 0.3, buildEffort, 0.25, testResources, buildResources);
+        }
+
+        // Derived allocations for SMOKE (10% of SIT and Build) default to week after UAT if SMOKE phase missing
+        Phase smoke = phaseByType.get(PhaseTypeEnum.SMOKE_TESTING);
+        if (smoke == null && uat != null) {
+            LocalDate start = uat.getEndDate().plusDays(1);
+            LocalDate end = start.plusDays(6);
+            smoke = new Phase(PhaseTypeEnum.SMOKE_TESTING, start, end);
+        }
+        if (smoke != null) {
+            addDerivedTestAndBuild(toSave, release, smoke, sitEffort, 0.1, buildEffort, 0.1, testResources, buildResources);
+        }
+
+        log.debug("Generated {} allocations for release {}", toSave.size(), release.getId());
+        return toSave;
+    }
+
+    private void addDerivedTestAndBuild(List<Allocation> toSave, Release release, Phase phase,
+                                        Double sitTotal, double testShare,
+                                        Double buildTotal, double buildShare,
+                                        List<Resource> testResources, List<Resource> buildResources) {
+        if (sitTotal != null && sitTotal > 0 && !testResources.isEmpty()) {
+            double perResDays = sitTotal * testShare / testResources.size();
+            for (Resource r : testResources) {
+                toSave.add(allocate(release, r, phase, perResDays));
+            }
+        }
+        if (buildTotal != null && buildTotal > 0 && !buildResources.isEmpty()) {
+            toSave.add(allocate(release, buildResources.get(0), phase, buildTotal * buildShare));
+        }
+    }
+
+    private Allocation allocate(Release release, Resource resource, Phase phase, double days) {
+        Allocation a = new Allocation();
+        a.setRelease(release);
+        a.setResource(resource);
+        a.setPhase(phase.getPhaseType());
+        a.setStartDate(phase.getStartDate());
+        a.setEndDate(phase.getEndDate());
+        a.setAllocationFactor(calculateAllocationFactor(days, phase));
+        a.setAllocationDays(days);
+        return a;
+    }
+
+    /**
+     * Calculate allocation factor based on effort days and phase duration
+     * Ensures allocation factor stays within PRD limits (0.5-0.9 person-days per day)
+     * Maximum 4.5 PD per week (0.9 × 5 working days)
+     */
+    double calculateAllocationFactor(double effortDays, Phase phase) {
+        int workingDays = workingCalendar.countWorkingDays(phase.getStartDate(), phase.getEndDate());
+        if (workingDays == 0) {
+            return 0.5; // Minimum allocation factor
+        }
+
+        double calculatedFactor = effortDays / workingDays;
+
+        // Enforce PRD limits: minimum 0.5, maximum 0.9 person-days per day
+        if (calculatedFactor < 0.5) {
+            return 0.5;
+        } else if (calculatedFactor > 0.9) {
+            return 0.9;
+        }
+
+        return calculatedFactor;
+    }
+}
@@ -0,0 +1,217 @@
+package com.polycoder.relmgmt.service.impl;
+
+import com.polycoder.relmgmt.dto.AllocationRegenerationResponse;
+import com.polycoder.relmgmt.exception.ConflictException;
+import com.polycoder.relmgmt.exception.ResourceNotFoundException;
+import com.polycoder.relmgmt.repository.ReleaseRepository;
+import com.polycoder.relmgmt.service.AllocationRegenerationService;
+import com.polycoder.relmgmt.service.AllocationService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans out {@link AllocationService#generateAllocation} across releases on a bounded worker pool.
+ * Calls go through the AllocationService proxy, so every release runs in its own transaction
+ * and a failing release does not roll back the others.
+ * A release is regenerated by at most one worker at a time: releases already queued or running are skipped
+ * and reported on the job, and the synchronous allocate/delete endpoints are refused while one is in flight.
+ * The queue is bounded; a job that cannot queue any release is rejected so the caller can retry later.
+ */
+@Service
+public class AllocationRegenerationServiceImpl implements AllocationRegenerationService {
+
+    private static final Logger log = LoggerFactory.getLogger(AllocationRegenerationServiceImpl.class);
+    private static final int MAX_RETAINED_JOBS = 20;
+
+    private final AllocationService allocationService;
+    private final ReleaseRepository releaseRepository;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Map<String, RegenerationJob> jobs = Collections.synchronizedMap(
+        new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RegenerationJob> eldest) {
+                return size() > MAX_RETAINED_JOBS;
+            }
+        });
+
+    @Autowired
+    public AllocationRegenerationServiceImpl(AllocationService allocationService,
+                                             ReleaseRepository releaseRepository,
+                                             @Value("${app.allocation.regeneration.pool-size:4}") int poolSize,
+                                             @Value("${app.allocation.regeneration.queue-capacity:500}") int queueCapacity) {
+        this(allocationService, releaseRepository, newWorkerPool(poolSize, queueCapacity));
+    }
+
+    public AllocationRegenerationServiceImpl(AllocationService allocationService,
+                                             ReleaseRepository releaseRepository,
+                                             Executor executor) {
+        this.allocationService = allocationService;
+        this.releaseRepository = releaseRepository;
+        this.executor = executor;
+        this.ownedExecutor = executor instanceof ExecutorService ? (ExecutorService) executor : null;
+    }
+
+    private static ExecutorService newWorkerPool(int poolSize, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(1, poolSize);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                Thread t = new Thread(r, "alloc-regen-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    @Override
+    public AllocationRegenerationResponse startRegeneration(List<Long> releaseIds) {
+        List<Object[]> releases = releaseIds == null || releaseIds.isEmpty()
+            ? releaseRepository.findAllIdAndName()
+            : releaseRepository.findIdAndNameByIdIn(releaseIds);
+
+        List<Object[]> claimed = new ArrayList<>();
+        List<Long> skipped = new ArrayList<>();
+        for (Object[] row : releases) {
+            Long releaseId = (Long) row[0];
+            if (inFlight.add(releaseId)) {
+                claimed.add(row);
+            } else {
+                skipped.add(releaseId);
+            }
+        }
+
+        RegenerationJob job = new RegenerationJob(UUID.randomUUID().toString(), claimed.size(), skipped);
+        log.info("Starting allocation regeneration job {} for {} releases ({} already in flight)",
+            job.id, claimed.size(), skipped.size());
+        jobs.put(job.id, job);
+
+        for (int i = 0; i < claimed.size(); i++) {
+            Long releaseId = (Long) claimed.get(i)[0];
+            String releaseName = (String) claimed.get(i)[1];
+            try {
+                executor.execute(() -> regenerate(job, releaseId, releaseName));
+            } catch (RejectedExecutionException e) {
+                List<Object[]> unqueued = claimed.subList(i, claimed.size());
+                unqueued.forEach(row -> inFlight.remove((Long) row[0]));
+                if (i == 0) {
+                    jobs.remove(job.id);
+                    log.warn("Allocation regeneration queue is full, rejecting job {}", job.id);
+                    throw e;
+                }
+                log.warn("Allocation regeneration queue is full, {} releases of job {} not queued", unqueued.size(), job.id);
+                for (Object[] row : unqueued) {
+                    job.record(new AllocationRegenerationResponse.ReleaseResult((Long) row[0], (String) row[1], false,
+                        0L, "Regeneration queue is full"));
+                }
+                break;
+            }
+        }
+        if (claimed.isEmpty()) {
+            job.finish();
+        }
+        return job.toResponse();
+    }
+
+    @Override
+    public void runExclusive(Long releaseId, Runnable action) {
+        if (!inFlight.add(releaseId)) {
+            throw new ConflictException("Allocations of release " + releaseId + " are already being regenerated");
+        }
+        try {
+            action.run();
+        } finally {
+            inFlight.remove(releaseId);
+        }
+    }
+
+    @Override
+    public AllocationRegenerationResponse getRegeneration(String jobId) {
+        RegenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Allocation regeneration job", "id", jobId);
+        }
+        return job.toResponse();
+    }
+
+    private void regenerate(RegenerationJob job, Long releaseId, String releaseName) {
+        long start = System.nanoTime();
+        String error = null;
+        try {
+            allocationService.generateAllocation(releaseId);
+        } catch (Exception e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            log.error("Allocation regeneration failed for release {}: {}", releaseId, error, e);
+        } finally {
+            inFlight.remove(releaseId);
+        }
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        job.record(new AllocationRegenerationResponse.ReleaseResult(releaseId, releaseName, error == null, durationMs, error));
+    }
+
+    private static final class RegenerationJob {
+        private final String id;
+        private final int total;
+        private final List<Long> skipped;
+        private final Instant startedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final List<AllocationRegenerationResponse.ReleaseResult> results = new ArrayList<>();
+        private final AtomicInteger failed = new AtomicInteger();
+        private volatile Instant finishedAt;
+        private volatile long elapsedMs;
+
+        RegenerationJob(String id, int total, List<Long> skipped) {
+            this.id = id;
+            this.total = total;
+            this.skipped = List.copyOf(skipped);
+        }
+
+        void record(AllocationRegenerationResponse.ReleaseResult result) {
+            if (!result.isSuccess()) {
+                failed.incrementAndGet();
+            }
+            boolean done;
+            synchronized (results) {
+                results.add(result);
+                done = results.size() == total;
+            }
+            if (done) {
+                finish();
+                log.info("Allocation regeneration job {} finished: {} releases, {} failed, {} ms",
+                    id, total, failed.get(), elapsedMs);
+            }
+        }
+
+        void finish() {
+            elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            finishedAt = Instant.now();
+        }
+
+        AllocationRegenerationResponse toResponse() {
+            List<AllocationRegenerationResponse.ReleaseResult> snapshot;
+            synchronized (results) {
+                snapshot = new ArrayList<>(results);
+            }
+            boolean completed = finishedAt != null;
+            long elapsed = completed ? elapsedMs : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            return new AllocationRegenerationResponse(id, completed ? "COMPLETED" : "RUNNING", total,
+                snapshot.size(), failed.get(), startedAt, finishedAt, elapsed, snapshot, skipped);
+        }
+    }
+}
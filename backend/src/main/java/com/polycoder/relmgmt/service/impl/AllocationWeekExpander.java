@@ -0,0 +1,49 @@
+package com.polycoder.relmgmt.service.impl;
+
+import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.entity.AllocationWeek;
+import com.polycoder.relmgmt.service.WorkingCalendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Expands allocations into their allocation_weeks rows: one row per Monday-based week with the
+ * allocation's factor times the working days of the overlap. Weeks without working days are skipped.
+ */
+public class AllocationWeekExpander {
+
+    private final WorkingCalendar workingCalendar;
+
+    public AllocationWeekExpander(WorkingCalendar workingCalendar) {
+        this.workingCalendar = workingCalendar;
+    }
+
+    /**
+     * @param allocations persisted allocations with their resources set
+     * @return the week rows of all allocations, in allocation then week order
+     */
+    public List<AllocationWeek> expand(Collection<Allocation> allocations) {
+        List<AllocationWeek> weeks = new ArrayList<>();
+        for (Allocation a : allocations) {
+            double factor = a.getAllocationFactor() == null ? 0.0 : a.getAllocationFactor();
+            if (factor <= 0.0 || a.getEndDate().isBefore(a.getStartDate())) {
+                continue;
+            }
+            long end = a.getEndDate().toEpochDay();
+            for (LocalDate weekStart = a.getStartDate().with(DayOfWeek.MONDAY); !weekStart.isAfter(a.getEndDate());
+                 weekStart = weekStart.plusWeeks(1)) {
+                long from = Math.max(weekStart.toEpochDay(), a.getStartDate().toEpochDay());
+                long to = Math.min(weekStart.toEpochDay() + 6, end);
+                int workingDays = workingCalendar.countWorkingDays(from, to);
+                if (workingDays > 0) {
+                    weeks.add(new AllocationWeek(a, a.getResource(), weekStart, factor * workingDays));
+                }
+            }
+        }
+        return weeks;
+    }
+}
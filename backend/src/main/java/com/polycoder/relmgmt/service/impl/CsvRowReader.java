@@ -0,0 +1,99 @@
+package com.polycoder.relmgmt.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Streams RFC 4180 style CSV one record at a time: comma separated, fields optionally wrapped in double
+ * quotes, doubled quotes inside quoted fields, and quoted fields spanning lines. Only the current record is
+ * held in memory; the first record is the header and blank lines are skipped.
+ */
+public class CsvRowReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final int columns;
+
+    public CsvRowReader(int columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * @param input CSV text; not closed by this method
+     * @param handler called for every record after the header, with the 1-based line number the record starts on
+     * @throws IOException on read failures or an unterminated quoted field
+     */
+    public void read(Reader input, ImportRowHandler handler) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader buffered ? buffered : new BufferedReader(input, BUFFER_SIZE);
+        String[] cells = new String[columns];
+        StringBuilder field = new StringBuilder();
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int rowNumber = ++lineNumber;
+            if (rowNumber == 1 && !line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK) {
+                line = line.substring(1);
+            }
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            Arrays.fill(cells, null);
+            field.setLength(0);
+            int column = 0;
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // A quoted field continues on the next line
+                    line = reader.readLine();
+                    if (line == null) {
+                        throw new IOException("Unterminated quoted field in row " + rowNumber);
+                    }
+                    lineNumber++;
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c != QUOTE) {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == QUOTE) {
+                        field.append(QUOTE);
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == QUOTE) {
+                    quoted = true;
+                } else if (c == DELIMITER) {
+                    setCell(cells, column++, field);
+                } else {
+                    field.append(c);
+                }
+            }
+            setCell(cells, column, field);
+
+            // Skip header row
+            if (rowNumber > 1) {
+                handler.row(rowNumber, cells.clone());
+            }
+        }
+    }
+
+    private void setCell(String[] cells, int column, StringBuilder field) {
+        if (column < columns) {
+            cells[column] = field.toString();
+        }
+        field.setLength(0);
+    }
+}
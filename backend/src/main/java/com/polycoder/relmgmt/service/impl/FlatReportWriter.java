@@ -0,0 +1,103 @@
+package com.polycoder.relmgmt.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes a {@link ReportTable} as CSV (RFC 4180, header line first) or as newline-delimited JSON
+ * (one object per row, keyed by column name). Rows are written as they are produced and nothing is
+ * buffered beyond the output buffer; the target stream is flushed but not closed.
+ */
+public final class FlatReportWriter {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private FlatReportWriter() {
+    }
+
+    public static void writeCsv(ReportTable table, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, table.getColumns().toArray());
+        forEachRow(table, row -> writeCsvLine(writer, row));
+        writer.flush();
+    }
+
+    public static void writeNdjson(ReportTable table, OutputStream out) throws IOException {
+        List<String> columns = table.getColumns();
+        JsonGenerator generator = JSON_FACTORY.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        forEachRow(table, row -> {
+            generator.writeStartObject();
+            for (int c = 0; c < columns.size(); c++) {
+                generator.writeFieldName(columns.get(c));
+                writeJsonValue(generator, c < row.length ? row[c] : null);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        });
+        generator.close();
+    }
+
+    private interface RowWriter {
+        void write(Object[] row) throws IOException;
+    }
+
+    private static void forEachRow(ReportTable table, RowWriter rowWriter) throws IOException {
+        try {
+            table.forEachRow(row -> {
+                try {
+                    rowWriter.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int c = 0; c < values.length; c++) {
+            if (c > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[c]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof Enum<?> e ? e.name() : value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private static void writeJsonValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Long || value instanceof Integer) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number number) {
+            generator.writeNumber(number.doubleValue());
+        } else if (value instanceof Enum<?> e) {
+            generator.writeString(e.name());
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.polycoder.relmgmt.service.impl;
+
+/**
+ * Receives the cell values of one imported row as strings; missing cells are null
+ */
+@FunctionalInterface
+public interface ImportRowHandler {
+
+    /**
+     * @param rowNumber 1-based row number in the source file, counting the header row
+     * @param cells cell values by column
+     */
+    void row(int rowNumber, String[] cells);
+}
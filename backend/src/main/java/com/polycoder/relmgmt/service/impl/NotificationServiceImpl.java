@@ -16,6 +16,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 @Service
 public class NotificationServiceImpl implements NotificationService {
@@ -75,6 +78,26 @@ public class NotificationServiceImpl implements NotificationService {
         notificationRepository.deleteById(id);
     }
 
+    @Override
+    public void notifyAllUsers(EventTypeEnum eventType, String entityType, Collection<Long> entityIds, String message) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        List<Notification> notifications = new ArrayList<>();
+        for (User user : userRepository.findAll()) {
+            for (Long entityId : entityIds) {
+                Notification n = new Notification();
+                n.setUser(user);
+                n.setEventType(eventType);
+                n.setEntityType(entityType);
+                n.setEntityId(entityId);
+                n.setMessage(message);
+                notifications.add(n);
+            }
+        }
+        notificationRepository.saveAll(notifications);
+    }
+
     private NotificationResponse toDto(Notification n) {
         NotificationResponse dto = new NotificationResponse();
         dto.setId(n.getId());
@@ -0,0 +1,195 @@
+package com.polycoder.relmgmt.service.impl;
+
+import com.polycoder.relmgmt.dto.ReleaseResponse;
+import com.polycoder.relmgmt.service.ReleaseChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read model for release dashboards: assembled {@link ReleaseResponse}s keyed by release ID, plus the
+ * ID lists of the active and completed views for the day they were computed. Every
+ * {@link ReleaseChangedEvent} evicts the release and both lists once its transaction commits.
+ * <p>
+ * Events only reach the replica that made the change, so every entry also expires after
+ * {@code app.releases.cache.ttl-seconds} (default 30): a write on another replica is visible here
+ * within that TTL at the latest. Cached responses hold unmodifiable phase and blocker lists, and
+ * {@link #get} returns a fresh copy, so callers cannot alter what other readers see.
+ * <p>
+ * Readers capture {@link #generation()} before loading from the database and pass it back when
+ * storing; a store is dropped if an invalidation happened in between, so a read that raced a commit
+ * cannot put stale data back. Entries are bounded by the number of releases.
+ * <p>
+ * Exposes {@code release.cache.requests} (tags: view = release|active|completed, result = hit|miss)
+ * and {@code release.cache.size} through Actuator metrics.
+ */
+@Component
+public class ReleaseReadCache {
+
+    private final Map<Long, CachedRelease> releases = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Clock clock;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile CachedIds active;
+    private volatile CachedIds completed;
+
+    private final Counter releaseHits;
+    private final Counter releaseMisses;
+    private final Counter activeHits;
+    private final Counter activeMisses;
+    private final Counter completedHits;
+    private final Counter completedMisses;
+
+    @Autowired
+    public ReleaseReadCache(MeterRegistry meterRegistry,
+                            @Value("${app.releases.cache.ttl-seconds:30}") long ttlSeconds) {
+        this(meterRegistry, Duration.ofSeconds(ttlSeconds), Clock.systemUTC());
+    }
+
+    public ReleaseReadCache(MeterRegistry meterRegistry, Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        releaseHits = counter(meterRegistry, "release", "hit");
+        releaseMisses = counter(meterRegistry, "release", "miss");
+        activeHits = counter(meterRegistry, "active", "hit");
+        activeMisses = counter(meterRegistry, "active", "miss");
+        completedHits = counter(meterRegistry, "completed", "hit");
+        completedMisses = counter(meterRegistry, "completed", "miss");
+        Gauge.builder("release.cache.size", releases, Map::size)
+            .description("Releases held in the read cache")
+            .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String view, String result) {
+        return Counter.builder("release.cache.requests")
+            .description("Release read cache lookups")
+            .tag("view", view)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Invalidation counter to capture before reading the database
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * @return a copy of the cached release, or null on a miss
+     */
+    public ReleaseResponse get(Long releaseId) {
+        CachedRelease cached = releases.get(releaseId);
+        if (cached != null && cached.expiresAt.isAfter(clock.instant())) {
+            releaseHits.increment();
+            return copy(cached.response);
+        }
+        if (cached != null) {
+            releases.remove(releaseId, cached);
+        }
+        releaseMisses.increment();
+        return null;
+    }
+
+    public void put(long readGeneration, ReleaseResponse response) {
+        if (readGeneration == generation.get()) {
+            releases.put(response.getId(), new CachedRelease(copy(response), clock.instant().plus(ttl)));
+        }
+    }
+
+    /**
+     * @return IDs of the releases active on {@code day}, or null on a miss
+     */
+    public List<Long> getActiveIds(LocalDate day) {
+        return lookup(active, day, activeHits, activeMisses);
+    }
+
+    public void putActiveIds(long readGeneration, LocalDate day, List<Long> releaseIds) {
+        if (readGeneration == generation.get()) {
+            active = new CachedIds(readGeneration, day, List.copyOf(releaseIds), clock.instant().plus(ttl));
+        }
+    }
+
+    /**
+     * @return IDs of the releases completed by {@code day}, or null on a miss
+     */
+    public List<Long> getCompletedIds(LocalDate day) {
+        return lookup(completed, day, completedHits, completedMisses);
+    }
+
+    public void putCompletedIds(long readGeneration, LocalDate day, List<Long> releaseIds) {
+        if (readGeneration == generation.get()) {
+            completed = new CachedIds(readGeneration, day, List.copyOf(releaseIds), clock.instant().plus(ttl));
+        }
+    }
+
+    private List<Long> lookup(CachedIds cached, LocalDate day, Counter hits, Counter misses) {
+        // The views depend on today's date, so a list computed yesterday is a miss
+        if (cached != null && cached.generation == generation.get() && cached.day.equals(day)
+                && cached.expiresAt.isAfter(clock.instant())) {
+            hits.increment();
+            return cached.releaseIds;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Runs after the publishing transaction commits, or immediately when there is none
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReleaseChanged(ReleaseChangedEvent event) {
+        generation.incrementAndGet();
+        active = null;
+        completed = null;
+        if (event.getReleaseId() != null) {
+            releases.remove(event.getReleaseId());
+        } else {
+            releases.clear();
+        }
+    }
+
+    private static ReleaseResponse copy(ReleaseResponse source) {
+        return new ReleaseResponse(source.getId(), source.getName(), source.getIdentifier(), source.getStatus(),
+            source.getPhases() == null ? null : List.copyOf(source.getPhases()),
+            source.getBlockers() == null ? null : List.copyOf(source.getBlockers()),
+            source.getCreatedAt(), source.getUpdatedAt());
+    }
+
+    private static final class CachedRelease {
+        private final ReleaseResponse response;
+        private final Instant expiresAt;
+
+        CachedRelease(ReleaseResponse response, Instant expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class CachedIds {
+        private final long generation;
+        private final LocalDate day;
+        private final List<Long> releaseIds;
+        private final Instant expiresAt;
+
+        CachedIds(long generation, LocalDate day, List<Long> releaseIds, Instant expiresAt) {
+            this.generation = generation;
+            this.day = day;
+            this.releaseIds = releaseIds;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -8,15 +8,22 @@ import com.polycoder.relmgmt.repository.ReleaseRepository;
 import com.polycoder.relmgmt.repository.PhaseRepository;
 import com.polycoder.relmgmt.repository.BlockerRepository;
 import com.polycoder.relmgmt.repository.AllocationRepository;
+import com.polycoder.relmgmt.service.ReleaseChangedEvent;
 import com.polycoder.relmgmt.service.ReleaseService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import com.polycoder.relmgmt.entity.ReleaseStatusEnum;
@@ -37,6 +44,12 @@ public class ReleaseServiceImpl implements ReleaseService {
     @Autowired
     private AllocationRepository allocationRepository;
 
+    @Autowired
+    private ReleaseReadCache releaseReadCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public Page<ReleaseResponse> getAllReleases(String name, String identifier, Pageable pageable) {
         Page<Release> releases;
@@ -49,13 +62,21 @@ public class ReleaseServiceImpl implements ReleaseService {
             releases = releaseRepository.findAll(pageable);
         }
         
-        return releases.map(this::convertToReleaseResponse);
+        return new PageImpl<>(convertToReleaseResponses(releases.getContent()), releases.getPageable(),
+                releases.getTotalElements());
     }
 
     @Override
     public ReleaseResponse getReleaseById(Long id) {
+        ReleaseResponse cached = releaseReadCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = releaseReadCache.generation();
         Release release = findById(id);
-        return convertToReleaseResponse(release);
+        ReleaseResponse response = convertToReleaseResponse(release);
+        releaseReadCache.put(generation, response);
+        return response;
     }
 
     @Override
@@ -94,6 +115,7 @@ public class ReleaseServiceImpl implements ReleaseService {
         }
 
         Release savedRelease = releaseRepository.save(release);
+        publishReleaseChanged(savedRelease.getId());
 
         // Add phases
         if (releaseRequest.getPhases() != null) {
@@ -137,6 +159,7 @@ public class ReleaseServiceImpl implements ReleaseService {
 
         // Persist basic release fields first
         Release savedRelease = releaseRepository.save(release);
+        publishReleaseChanged(savedRelease.getId());
 
         // Reconcile phases with incoming request
         if (releaseRequest.getPhases() != null) {
@@ -207,38 +230,47 @@ public class ReleaseServiceImpl implements ReleaseService {
         }
         
         releaseRepository.delete(release);
+        publishReleaseChanged(id);
     }
 
     @Override
     public List<ReleaseResponse> getActiveReleases() {
-        List<Release> releases = releaseRepository.findActiveReleases(LocalDate.now());
-        return releases.stream()
-                .map(this::convertToReleaseResponse)
-                .collect(Collectors.toList());
+        LocalDate today = LocalDate.now();
+        List<Long> releaseIds = releaseReadCache.getActiveIds(today);
+        if (releaseIds != null) {
+            return getCachedReleaseResponses(releaseIds);
+        }
+        long generation = releaseReadCache.generation();
+        List<ReleaseResponse> responses = cacheReleaseResponses(generation,
+                convertToReleaseResponses(releaseRepository.findActiveReleases(today)));
+        releaseReadCache.putActiveIds(generation, today, responseIds(responses));
+        return responses;
     }
 
     @Override
     public List<ReleaseResponse> getCompletedReleases() {
-        List<Release> releases = releaseRepository.findCompletedReleases(LocalDate.now());
-        return releases.stream()
-                .map(this::convertToReleaseResponse)
-                .collect(Collectors.toList());
+        LocalDate today = LocalDate.now();
+        List<Long> releaseIds = releaseReadCache.getCompletedIds(today);
+        if (releaseIds != null) {
+            return getCachedReleaseResponses(releaseIds);
+        }
+        long generation = releaseReadCache.generation();
+        List<ReleaseResponse> responses = cacheReleaseResponses(generation,
+                convertToReleaseResponses(releaseRepository.findCompletedReleases(today)));
+        releaseReadCache.putCompletedIds(generation, today, responseIds(responses));
+        return responses;
     }
 
     @Override
     public List<ReleaseResponse> getReleasesWithBlockers() {
         List<Release> releases = releaseRepository.findReleasesWithBlockers();
-        return releases.stream()
-                .map(this::convertToReleaseResponse)
-                .collect(Collectors.toList());
+        return convertToReleaseResponses(releases);
     }
 
     @Override
     public List<ReleaseResponse> getReleasesWithOpenBlockers() {
         List<Release> releases = releaseRepository.findReleasesWithOpenBlockers();
-        return releases.stream()
-                .map(this::convertToReleaseResponse)
-                .collect(Collectors.toList());
+        return convertToReleaseResponses(releases);
     }
 
     @Override
@@ -259,6 +291,7 @@ public class ReleaseServiceImpl implements ReleaseService {
         phase.setRelease(release);
 
         Phase savedPhase = phaseRepository.save(phase);
+        publishReleaseChanged(releaseId);
         return convertToPhaseResponse(savedPhase);
     }
 
@@ -285,6 +318,7 @@ public class ReleaseServiceImpl implements ReleaseService {
         phase.setEndDate(phaseRequest.getEndDate());
 
         Phase savedPhase = phaseRepository.save(phase);
+        publishReleaseChanged(releaseId);
         return convertToPhaseResponse(savedPhase);
     }
 
@@ -299,6 +333,7 @@ public class ReleaseServiceImpl implements ReleaseService {
         }
 
         phaseRepository.delete(phase);
+        publishReleaseChanged(releaseId);
     }
 
     @Override
@@ -322,6 +357,7 @@ public class ReleaseServiceImpl implements ReleaseService {
         blocker.setRelease(release);
 
         Blocker savedBlocker = blockerRepository.save(blocker);
+        publishReleaseChanged(releaseId);
         return convertToBlockerResponse(savedBlocker);
     }
 
@@ -341,6 +377,7 @@ public class ReleaseServiceImpl implements ReleaseService {
         blocker.setStatus(status);
 
         Blocker savedBlocker = blockerRepository.save(blocker);
+        publishReleaseChanged(releaseId);
         return convertToBlockerResponse(savedBlocker);
     }
 
@@ -355,6 +392,7 @@ public class ReleaseServiceImpl implements ReleaseService {
         }
 
         blockerRepository.delete(blocker);
+        publishReleaseChanged(releaseId);
     }
 
     @Override
@@ -417,6 +455,50 @@ public class ReleaseServiceImpl implements ReleaseService {
         }
     }
 
+    /**
+     * Evicts the release from the read cache once the current transaction commits
+     */
+    private void publishReleaseChanged(Long releaseId) {
+        eventPublisher.publishEvent(new ReleaseChangedEvent(releaseId));
+    }
+
+    /**
+     * Responses for cached view IDs, loading only the releases missing from the cache (two queries at most
+     * for phases and blockers, plus one for the releases)
+     */
+    private List<ReleaseResponse> getCachedReleaseResponses(List<Long> releaseIds) {
+        long generation = releaseReadCache.generation();
+        Map<Long, ReleaseResponse> responses = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long releaseId : releaseIds) {
+            ReleaseResponse cached = releaseReadCache.get(releaseId);
+            if (cached != null) {
+                responses.put(releaseId, cached);
+            } else {
+                missing.add(releaseId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (ReleaseResponse loaded : cacheReleaseResponses(generation,
+                    convertToReleaseResponses(releaseRepository.findAllById(missing)))) {
+                responses.put(loaded.getId(), loaded);
+            }
+        }
+        return releaseIds.stream()
+                .map(responses::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private List<ReleaseResponse> cacheReleaseResponses(long generation, List<ReleaseResponse> responses) {
+        responses.forEach(response -> releaseReadCache.put(generation, response));
+        return responses;
+    }
+
+    private List<Long> responseIds(List<ReleaseResponse> responses) {
+        return responses.stream().map(ReleaseResponse::getId).collect(Collectors.toList());
+    }
+
     // Conversion methods
     private ReleaseResponse convertToReleaseResponse(Release release) {
         List<PhaseResponse> phases = phaseRepository.findByReleaseId(release.getId())
@@ -429,6 +511,37 @@ public class ReleaseServiceImpl implements ReleaseService {
                 .map(this::convertToBlockerResponse)
                 .collect(Collectors.toList());
 
+        return convertToReleaseResponse(release, phases, blockers);
+    }
+
+    /**
+     * Convert a list of releases with two queries in total (phases and blockers of all releases)
+     * instead of two per release
+     */
+    private List<ReleaseResponse> convertToReleaseResponses(List<Release> releases) {
+        if (releases.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> releaseIds = releases.stream().map(Release::getId).collect(Collectors.toList());
+
+        Map<Long, List<PhaseResponse>> phasesByRelease = phaseRepository.findByReleaseIdIn(releaseIds)
+                .stream()
+                .collect(Collectors.groupingBy(phase -> phase.getRelease().getId(),
+                        Collectors.mapping(this::convertToPhaseResponse, Collectors.toList())));
+
+        Map<Long, List<BlockerResponse>> blockersByRelease = blockerRepository.findByReleaseIdIn(releaseIds)
+                .stream()
+                .collect(Collectors.groupingBy(blocker -> blocker.getRelease().getId(),
+                        Collectors.mapping(this::convertToBlockerResponse, Collectors.toList())));
+
+        return releases.stream()
+                .map(release -> convertToReleaseResponse(release,
+                        phasesByRelease.getOrDefault(release.getId(), new ArrayList<>()),
+                        blockersByRelease.getOrDefault(release.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    private ReleaseResponse convertToReleaseResponse(Release release, List<PhaseResponse> phases, List<BlockerResponse> blockers) {
         return new ReleaseResponse(
                 release.getId(),
                 release.getName(),
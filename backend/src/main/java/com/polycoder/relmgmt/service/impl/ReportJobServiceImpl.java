@@ -0,0 +1,283 @@
+package com.polycoder.relmgmt.service.impl;
+
+import com.polycoder.relmgmt.dto.ReportFormat;
+import com.polycoder.relmgmt.dto.ReportJobResponse;
+import com.polycoder.relmgmt.exception.ResourceNotFoundException;
+import com.polycoder.relmgmt.exception.ValidationException;
+import com.polycoder.relmgmt.service.ReportJobService;
+import com.polycoder.relmgmt.service.ReportService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs report exports on a bounded worker pool and keeps finished files in memory.
+ * Jobs are keyed by (type, format, parameters): a submit matching a queued, running or cached job returns
+ * that job. Finished results expire after the TTL and the least recently used ones are evicted once the
+ * cache exceeds its byte budget. Each export runs in its own read-only transaction, since worker threads have
+ * no request-scoped session to resolve lazy associations.
+ */
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobServiceImpl.class);
+
+    private static final String QUEUED = "QUEUED";
+    private static final String RUNNING = "RUNNING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    private final ReportService reportService;
+    private final TransactionOperations transactions;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final Duration ttl;
+    private final long maxCacheBytes;
+    private final Clock clock;
+
+    // All guarded by this
+    private final Map<String, ReportJob> jobsById = new HashMap<>();
+    private final Map<String, ReportJob> jobsByKey = new HashMap<>();
+    private final LinkedHashMap<String, ReportJob> cachedByKey = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    @Autowired
+    public ReportJobServiceImpl(ReportService reportService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.reports.jobs.pool-size:2}") int poolSize,
+                                @Value("${app.reports.jobs.queue-capacity:20}") int queueCapacity,
+                                @Value("${app.reports.jobs.ttl-minutes:15}") long ttlMinutes,
+                                @Value("${app.reports.jobs.cache-max-bytes:268435456}") long maxCacheBytes) {
+        this(reportService, readOnly(transactionManager), newWorkerPool(poolSize, queueCapacity),
+            Duration.ofMinutes(ttlMinutes), maxCacheBytes, Clock.systemUTC());
+    }
+
+    public ReportJobServiceImpl(ReportService reportService, TransactionOperations transactions, Executor executor,
+                                Duration ttl, long maxCacheBytes, Clock clock) {
+        this.reportService = reportService;
+        this.transactions = transactions;
+        this.executor = executor;
+        this.ownedExecutor = executor instanceof ExecutorService ? (ExecutorService) executor : null;
+        this.ttl = ttl;
+        this.maxCacheBytes = maxCacheBytes;
+        this.clock = clock;
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private static ExecutorService newWorkerPool(int poolSize, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(1, poolSize);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                Thread t = new Thread(r, "report-job-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public ReportJobResponse submitJob(String type, Map<String, String> params, ReportFormat format) {
+        String key = jobKey(type, params, format);
+        ReportJob job;
+        synchronized (this) {
+            purgeExpired();
+            ReportJob existing = jobsByKey.get(key);
+            if (existing != null) {
+                cachedByKey.get(key); // refresh LRU position of a cached result
+                log.debug("Report job {} reused for {}", existing.id, key);
+                return toResponse(existing, true);
+            }
+            job = new ReportJob(UUID.randomUUID().toString(), key, type.toUpperCase(), format,
+                params == null ? Map.of() : new LinkedHashMap<>(params), clock.instant());
+            jobsById.put(job.id, job);
+            jobsByKey.put(key, job);
+        }
+
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                jobsById.remove(job.id);
+                jobsByKey.remove(key);
+            }
+            log.warn("Report job queue is full, rejecting {}", key);
+            throw e;
+        }
+        synchronized (this) {
+            return toResponse(job, false);
+        }
+    }
+
+    @Override
+    public synchronized ReportJobResponse getJob(String jobId) {
+        purgeExpired();
+        return toResponse(findJob(jobId), false);
+    }
+
+    @Override
+    public synchronized byte[] getJobResult(String jobId) {
+        purgeExpired();
+        ReportJob job = findJob(jobId);
+        if (!COMPLETED.equals(job.status)) {
+            throw new ValidationException("Report job " + jobId + " is " + job.status);
+        }
+        return job.result;
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobsById.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job", "id", jobId);
+        }
+        return job;
+    }
+
+    private void run(ReportJob job) {
+        synchronized (this) {
+            job.status = RUNNING;
+        }
+        long start = System.nanoTime();
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            transactions.executeWithoutResult(status -> {
+                try {
+                    reportService.exportReport(job.type, job.params, job.format, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            complete(job, out.toByteArray(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            Throwable cause = e instanceof UncheckedIOException ? e.getCause() : e;
+            String error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+            log.error("Report job {} ({}) failed: {}", job.id, job.key, error, e);
+            fail(job, error, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private synchronized void complete(ReportJob job, byte[] result, long elapsedMs) {
+        job.result = result;
+        job.elapsedMs = elapsedMs;
+        job.finishedAt = clock.instant();
+        job.status = COMPLETED;
+        if (jobsById.get(job.id) != job) {
+            return; // removed while running
+        }
+        cachedByKey.put(job.key, job);
+        cachedBytes += result.length;
+        log.info("Report job {} completed: {} bytes in {} ms", job.id, result.length, elapsedMs);
+
+        // Evict least recently used results until the cache fits its budget again; the newest result is
+        // always kept so its pollers can download it
+        Iterator<ReportJob> lru = cachedByKey.values().iterator();
+        while (cachedBytes > maxCacheBytes && cachedByKey.size() > 1) {
+            ReportJob eldest = lru.next();
+            lru.remove();
+            forget(eldest);
+            log.debug("Evicted report job {} ({} bytes) from the result cache", eldest.id, eldest.result.length);
+        }
+    }
+
+    private synchronized void fail(ReportJob job, String error, long elapsedMs) {
+        job.error = error;
+        job.elapsedMs = elapsedMs;
+        job.finishedAt = clock.instant();
+        job.status = FAILED;
+        // Keep the failed status visible to pollers, but let the next identical submit retry
+        jobsByKey.remove(job.key, job);
+    }
+
+    private void purgeExpired() {
+        Instant now = clock.instant();
+        Iterator<ReportJob> it = jobsById.values().iterator();
+        while (it.hasNext()) {
+            ReportJob job = it.next();
+            if (job.finishedAt != null && !job.finishedAt.plus(ttl).isAfter(now)) {
+                it.remove();
+                jobsByKey.remove(job.key, job);
+                if (cachedByKey.remove(job.key, job)) {
+                    cachedBytes -= job.result.length;
+                }
+            }
+        }
+    }
+
+    private void forget(ReportJob job) {
+        jobsById.remove(job.id);
+        jobsByKey.remove(job.key, job);
+        cachedBytes -= job.result.length;
+    }
+
+    private ReportJobResponse toResponse(ReportJob job, boolean deduplicated) {
+        Long size = job.result == null ? null : (long) job.result.length;
+        Instant expiresAt = job.finishedAt == null ? null : job.finishedAt.plus(ttl);
+        long elapsed = job.finishedAt != null ? job.elapsedMs
+            : Duration.between(job.submittedAt, clock.instant()).toMillis();
+        return new ReportJobResponse(job.id, job.type, job.format, job.status, deduplicated, job.submittedAt,
+            job.finishedAt, expiresAt, elapsed, size, job.error);
+    }
+
+    static String jobKey(String type, Map<String, String> params, ReportFormat format) {
+        Map<String, String> sorted = new TreeMap<>();
+        if (params != null) {
+            for (Map.Entry<String, String> e : params.entrySet()) {
+                if (!"type".equals(e.getKey()) && !"format".equals(e.getKey())) {
+                    sorted.put(e.getKey(), e.getValue());
+                }
+            }
+        }
+        return type.toUpperCase() + "|" + format + "|" + sorted;
+    }
+
+    private static final class ReportJob {
+        private final String id;
+        private final String key;
+        private final String type;
+        private final ReportFormat format;
+        private final Map<String, String> params;
+        private final Instant submittedAt;
+        private String status = QUEUED;
+        private Instant finishedAt;
+        private long elapsedMs;
+        private byte[] result;
+        private String error;
+
+        ReportJob(String id, String key, String type, ReportFormat format, Map<String, String> params,
+                  Instant submittedAt) {
+            this.id = id;
+            this.key = key;
+            this.type = type;
+            this.format = format;
+            this.params = params;
+            this.submittedAt = submittedAt;
+        }
+    }
+}
@@ -5,40 +5,65 @@ import com.polycoder.relmgmt.dto.CapacityForecastResponse;
 import com.polycoder.relmgmt.dto.SkillCapacityForecastResponse;
 import com.polycoder.relmgmt.dto.ResourceUtilizationRow;
 import com.polycoder.relmgmt.dto.ReleaseTimelineRow;
+import com.polycoder.relmgmt.dto.ReportFormat;
 import com.polycoder.relmgmt.entity.Allocation;
 import com.polycoder.relmgmt.entity.Phase;
 import com.polycoder.relmgmt.entity.Resource;
 import com.polycoder.relmgmt.entity.SkillFunctionEnum;
 import com.polycoder.relmgmt.entity.StatusEnum;
+import com.polycoder.relmgmt.exception.ValidationException;
 import com.polycoder.relmgmt.repository.AllocationRepository;
 import com.polycoder.relmgmt.repository.PhaseRepository;
 import com.polycoder.relmgmt.repository.ResourceRepository;
 import com.polycoder.relmgmt.service.AllocationService;
 import com.polycoder.relmgmt.service.ReportService;
+import com.polycoder.relmgmt.service.WorkingCalendar;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 public class ReportServiceImpl implements ReportService {
 
+    // Bounds used when a report window is open-ended
+    private static final LocalDate OPEN_WINDOW_START = LocalDate.of(1900, 1, 1);
+    private static final LocalDate OPEN_WINDOW_END = LocalDate.of(9999, 12, 31);
+
+    // Rows kept in memory per sheet while streaming an xlsx export
+    private static final int EXPORT_ROW_WINDOW = 100;
+
     private final AllocationService allocationService;
     private final AllocationRepository allocationRepository;
     private final PhaseRepository phaseRepository;
     private final ResourceRepository resourceRepository;
+    private final WorkingCalendar workingCalendar;
+    private final WeeklyAggregationKernel aggregationKernel;
+
     public ReportServiceImpl(AllocationService allocationService,
                              AllocationRepository allocationRepository,
                              PhaseRepository phaseRepository,
-                             ResourceRepository resourceRepository) {
+                             ResourceRepository resourceRepository,
+                             WorkingCalendar workingCalendar) {
         this.allocationService = allocationService;
         this.allocationRepository = allocationRepository;
         this.phaseRepository = phaseRepository;
         this.resourceRepository = resourceRepository;
+        this.workingCalendar = workingCalendar;
+        this.aggregationKernel = new WeeklyAggregationKernel(workingCalendar);
     }
 
     @Override
@@ -48,78 +73,39 @@ public class ReportServiceImpl implements ReportService {
 
     @Override
     public List<ResourceUtilizationRow> generateResourceUtilizationReport(LocalDate from, LocalDate to, List<Long> resourceIds) {
-        List<Allocation> allocations = allocationRepository.findOverlapping(from, to);
-        if (allocations.isEmpty()) {
-            return List.of();
-        }
+        List<ResourceUtilizationRow> rows = new ArrayList<>();
+        forEachResourceUtilizationRow(from, to, resourceIds, rows::add);
+        return rows;
+    }
 
+    private void forEachResourceUtilizationRow(LocalDate from, LocalDate to, List<Long> resourceIds,
+                                               Consumer<ResourceUtilizationRow> sink) {
+        Set<Long> included = resourceIds == null || resourceIds.isEmpty() ? null : new HashSet<>(resourceIds);
         Map<Long, String> resourceIdToName = new HashMap<>();
-        Map<LocalDate, Map<Long, Double>> totalsByWeekThenResource = new HashMap<>();
-
-        for (Allocation a : allocations) {
-            Long resId = a.getResource().getId();
-            if (resourceIds != null && !resourceIds.isEmpty() && !resourceIds.contains(resId)) {
-                continue;
+        WeeklyAggregationKernel.WeeklyMatrix<Long> matrix = aggregateWeekly(from, to, res -> {
+            if (included != null && !included.contains(res.getId())) {
+                return null;
             }
-            resourceIdToName.put(resId, a.getResource().getName());
-
-            LocalDate cursor = a.getStartDate();
-            while (!cursor.isAfter(a.getEndDate())) {
-                LocalDate weekStart = cursor.with(java.time.DayOfWeek.MONDAY);
-                LocalDate weekEnd = weekStart.plusDays(6);
-                LocalDate overlapStart = cursor.isAfter(weekStart) ? cursor : weekStart;
-                LocalDate overlapEnd = a.getEndDate().isBefore(weekEnd) ? a.getEndDate() : weekEnd;
-
-                // Filter by global from/to range if provided
-                if (from != null && weekEnd.isBefore(from)) {
-                    cursor = weekEnd.plusDays(1);
-                    continue;
-                }
-                if (to != null && weekStart.isAfter(to)) {
-                    break;
-                }
+            resourceIdToName.putIfAbsent(res.getId(), res.getName());
+            return res.getId();
+        });
 
-                int workingDays = countWorkingDays(overlapStart, overlapEnd);
-                if (workingDays > 0) {
-                    double days = a.getAllocationFactor() * workingDays;
-                    totalsByWeekThenResource
-                        .computeIfAbsent(weekStart, k -> new HashMap<>())
-                        .merge(resId, days, Double::sum);
+        // Rows ordered by week then resource for stable output
+        double capacity = 4.5; // per PRD weekly capacity
+        int[] order = matrix.groupOrder(Comparator.naturalOrder());
+        for (int w = 0; w < matrix.weekCount(); w++) {
+            LocalDate weekStarting = matrix.weekStart(w);
+            for (int g : order) {
+                double allocatedDays = matrix.value(w, g);
+                if (allocatedDays == 0.0) {
+                    continue;
                 }
-
-                cursor = weekEnd.plusDays(1);
-            }
-        }
-
-        if (totalsByWeekThenResource.isEmpty()) {
-        return List.of();
-        }
-
-        List<ResourceUtilizationRow> rows = new ArrayList<>();
-        for (Map.Entry<LocalDate, Map<Long, Double>> weekEntry : totalsByWeekThenResource.entrySet()) {
-            LocalDate weekStarting = weekEntry.getKey();
-            for (Map.Entry<Long, Double> resEntry : weekEntry.getValue().entrySet()) {
-                Long resId = resEntry.getKey();
-                double allocatedDays = resEntry.getValue();
-                double capacity = 4.5; // per PRD weekly capacity
+                Long resId = matrix.groups().get(g);
                 double utilizationPercent = roundTwoDecimals((allocatedDays / capacity) * 100.0);
-                rows.add(new ResourceUtilizationRow(resId, resourceIdToName.get(resId), weekStarting,
+                sink.accept(new ResourceUtilizationRow(resId, resourceIdToName.get(resId), weekStarting,
                         allocatedDays, capacity, utilizationPercent));
             }
         }
-
-        // Sort by week then resource for stable output
-        rows.sort((a, b) -> {
-            LocalDate aw = a.getWeekStarting();
-            LocalDate bw = b.getWeekStarting();
-            int cmp = aw.compareTo(bw);
-            if (cmp != 0) return cmp;
-            Long ar = a.getResourceId();
-            Long br = b.getResourceId();
-            return ar.compareTo(br);
-        });
-
-        return rows;
     }
 
     @Override
@@ -161,152 +147,190 @@ public class ReportServiceImpl implements ReportService {
 
     @Override
     public byte[] exportReport(String type, Map<String, String> params) {
-        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            // Summary sheet
-            Sheet summary = workbook.createSheet("Summary");
-            int r = 0;
-            Row t = summary.createRow(r++);
-            t.createCell(0).setCellValue("Report Type");
-            t.createCell(1).setCellValue(type);
-            Row gen = summary.createRow(r++);
-            gen.createCell(0).setCellValue("Generated At");
-            gen.createCell(1).setCellValue(java.time.ZonedDateTime.now().toString());
-
-            // Write filters
-            if (params != null && !params.isEmpty()) {
-                Row f = summary.createRow(r++);
-                f.createCell(0).setCellValue("Filters");
-                for (Map.Entry<String, String> e : params.entrySet()) {
-                    Row fr = summary.createRow(r++);
-                    fr.createCell(0).setCellValue(e.getKey());
-                    fr.createCell(1).setCellValue(e.getValue());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            exportReport(type, params, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export report " + type, e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public void exportReport(String type, Map<String, String> params, OutputStream out) throws IOException {
+        exportReport(type, params, ReportFormat.XLSX, out);
+    }
+
+    @Override
+    public void exportReport(String type, Map<String, String> params, ReportFormat format, OutputStream out) throws IOException {
+        prepareExport(type, params, format).writeTo(out);
+    }
+
+    @Override
+    public ExportWriter prepareExport(String type, Map<String, String> params, ReportFormat format) {
+        ReportTable table = buildReportTable(type, params);
+        switch (format) {
+            case CSV:
+                return out -> FlatReportWriter.writeCsv(table, out);
+            case NDJSON:
+                return out -> FlatReportWriter.writeNdjson(table, out);
+            default:
+                return out -> writeWorkbook(type, params, table, out);
+        }
+    }
+
+    private void writeWorkbook(String type, Map<String, String> params, ReportTable table, OutputStream out) throws IOException {
+        // Only the last EXPORT_ROW_WINDOW rows stay in memory; older rows are flushed to a temp file
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXPORT_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            writeSummarySheet(workbook, type, params);
+            DataSheetWriter data = new DataSheetWriter(workbook, table.getColumns());
+            table.forEachRow(data::append);
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Resolve an export type and its string parameters into a lazily evaluated table.
+     * Parameters are parsed here, before any row is produced
+     * @throws ValidationException if the type is unknown or a parameter is invalid
+     */
+    ReportTable buildReportTable(String type, Map<String, String> params) {
+        Map<String, String> p = params == null ? Map.of() : params;
+        String upper = type == null ? "" : type.toUpperCase();
+        switch (upper) {
+            case "ALLOCATION_CONFLICTS":
+                return new ReportTable(
+                        List.of("resourceId", "resourceName", "weekStarting", "totalAllocation", "maxAllocation", "overAllocation"),
+                        sink -> {
+                            for (AllocationConflictResponse row : generateAllocationConflictsReport()) {
+                                for (AllocationConflictResponse.WeeklyConflict wc : row.getWeeklyConflicts()) {
+                                    sink.accept(new Object[]{row.getResourceId(), row.getResourceName(), wc.getWeekStarting(),
+                                            wc.getTotalAllocation(), wc.getStandardLoad(), wc.getOverAllocation()});
+                                }
+                            }
+                        });
+            case "RESOURCE_UTILIZATION": {
+                LocalDate from = parseLocalDate("from", p.get("from"));
+                LocalDate to = parseLocalDate("to", p.get("to"));
+                checkDateRange(from, to);
+                List<Long> resourceIds = parseResourceIds(p.get("resourceIds"));
+                return new ReportTable(
+                        List.of("resourceId", "resourceName", "weekStarting", "allocatedDays", "capacity", "utilizationPercent"),
+                        sink -> forEachResourceUtilizationRow(from, to, resourceIds, row -> sink.accept(new Object[]{
+                                row.getResourceId(), row.getResourceName(), row.getWeekStarting(),
+                                row.getAllocatedDays(), row.getCapacity(), row.getUtilizationPercent()})));
+            }
+            case "RELEASE_TIMELINE": {
+                Integer year = parseInteger("year", p.get("year"));
+                if (year != null && (year < 1900 || year > 3000)) {
+                    throw new ValidationException("Parameter 'year' must be between 1900 and 3000");
                 }
+                return new ReportTable(
+                        List.of("releaseId", "name", "startDate", "endDate"),
+                        sink -> {
+                            for (ReleaseTimelineRow row : generateReleaseTimelineReport(year)) {
+                                sink.accept(new Object[]{row.getReleaseId(), row.getName(), row.getStartDate(), row.getEndDate()});
+                            }
+                        });
+            }
+            case "CAPACITY_FORECAST": {
+                LocalDate from = parseLocalDate("from", p.get("from"));
+                LocalDate to = parseLocalDate("to", p.get("to"));
+                checkDateRange(from, to);
+                return new ReportTable(
+                        List.of("resourceId", "resourceName", "weekStarting", "allocatedDays", "capacity", "availableDays"),
+                        sink -> forEachCapacityForecastRow(from, to, null, null, row -> sink.accept(new Object[]{
+                                row.getResourceId(), row.getResourceName(), row.getWeekStarting(),
+                                row.getAllocatedDays(), row.getCapacity(), row.getAvailableDays()})));
             }
+            case "SKILL_CAPACITY_FORECAST": {
+                LocalDate from = parseLocalDate("from", p.get("from"));
+                LocalDate to = parseLocalDate("to", p.get("to"));
+                checkDateRange(from, to);
+                return new ReportTable(
+                        List.of("skillFunction", "skillSubFunction", "weekStarting", "allocatedDays", "capacity", "availableDays"),
+                        sink -> forEachSkillCapacityForecastRow(from, to, null, null, row -> sink.accept(new Object[]{
+                                row.getSkillFunction(), row.getSkillSubFunction(), row.getWeekStarting(),
+                                row.getAllocatedDays(), row.getCapacity(), row.getAvailableDays()})));
+            }
+            default:
+                throw new ValidationException("Unknown report type: " + type);
+        }
+    }
 
-            // Data sheet
-            Sheet data = workbook.createSheet("Data");
-            String upper = type == null ? "" : type.toUpperCase();
-            switch (upper) {
-                case "ALLOCATION_CONFLICTS": {
-                    // headers
-                    Row h = data.createRow(0);
-                    h.createCell(0).setCellValue("resourceId");
-                    h.createCell(1).setCellValue("resourceName");
-                    h.createCell(2).setCellValue("weekStarting");
-                    h.createCell(3).setCellValue("totalAllocation");
-                    h.createCell(4).setCellValue("maxAllocation");
-                    h.createCell(5).setCellValue("overAllocation");
-                    int i = 1;
-                    for (AllocationConflictResponse row : generateAllocationConflictsReport()) {
-                        for (AllocationConflictResponse.WeeklyConflict wc : row.getWeeklyConflicts()) {
-                            Row dr = data.createRow(i++);
-                            dr.createCell(0).setCellValue(row.getResourceId());
-                            dr.createCell(1).setCellValue(row.getResourceName());
-                            dr.createCell(2).setCellValue(wc.getWeekStarting().toString());
-                            dr.createCell(3).setCellValue(wc.getTotalAllocation());
-                            dr.createCell(4).setCellValue(wc.getStandardLoad());
-                            dr.createCell(5).setCellValue(wc.getOverAllocation());
-                        }
-                    }
-                    break;
-                }
-                case "RESOURCE_UTILIZATION": {
-                    LocalDate from = parseLocalDate(params == null ? null : params.get("from"));
-                    LocalDate to = parseLocalDate(params == null ? null : params.get("to"));
-                    List<Long> resourceIds = parseResourceIds(params == null ? null : params.get("resourceIds"));
-                    Row h = data.createRow(0);
-                    h.createCell(0).setCellValue("resourceId");
-                    h.createCell(1).setCellValue("resourceName");
-                    h.createCell(2).setCellValue("weekStarting");
-                    h.createCell(3).setCellValue("allocatedDays");
-                    h.createCell(4).setCellValue("capacity");
-                    h.createCell(5).setCellValue("utilizationPercent");
-                    int i = 1;
-                    for (ResourceUtilizationRow row : generateResourceUtilizationReport(from, to, resourceIds)) {
-                        Row dr = data.createRow(i++);
-                        dr.createCell(0).setCellValue(row.getResourceId());
-                        dr.createCell(1).setCellValue(row.getResourceName());
-                        dr.createCell(2).setCellValue(row.getWeekStarting().toString());
-                        dr.createCell(3).setCellValue(row.getAllocatedDays());
-                        dr.createCell(4).setCellValue(row.getCapacity());
-                        dr.createCell(5).setCellValue(row.getUtilizationPercent());
-                    }
-                    break;
-                }
-                case "RELEASE_TIMELINE": {
-                    Integer year = parseInteger(params == null ? null : params.get("year"));
-                    Row h = data.createRow(0);
-                    h.createCell(0).setCellValue("releaseId");
-                    h.createCell(1).setCellValue("name");
-                    h.createCell(2).setCellValue("startDate");
-                    h.createCell(3).setCellValue("endDate");
-                    int i = 1;
-                    for (ReleaseTimelineRow row : generateReleaseTimelineReport(year)) {
-                        Row dr = data.createRow(i++);
-                        dr.createCell(0).setCellValue(row.getReleaseId());
-                        dr.createCell(1).setCellValue(row.getName());
-                        dr.createCell(2).setCellValue(row.getStartDate().toString());
-                        dr.createCell(3).setCellValue(row.getEndDate().toString());
-                    }
-                    break;
-                }
-                case "CAPACITY_FORECAST": {
-                    LocalDate from = parseLocalDate(params == null ? null : params.get("from"));
-                    LocalDate to = parseLocalDate(params == null ? null : params.get("to"));
-                    Row h = data.createRow(0);
-                    h.createCell(0).setCellValue("resourceId");
-                    h.createCell(1).setCellValue("resourceName");
-                    h.createCell(2).setCellValue("weekStarting");
-                    h.createCell(3).setCellValue("allocatedDays");
-                    h.createCell(4).setCellValue("capacity");
-                    h.createCell(5).setCellValue("availableDays");
-                    int i = 1;
-                    for (CapacityForecastResponse row : generateCapacityForecastReport(from, to, null, null)) {
-                        Row dr = data.createRow(i++);
-                        dr.createCell(0).setCellValue(row.getResourceId());
-                        dr.createCell(1).setCellValue(row.getResourceName());
-                        dr.createCell(2).setCellValue(row.getWeekStarting().toString());
-                        dr.createCell(3).setCellValue(row.getAllocatedDays());
-                        dr.createCell(4).setCellValue(row.getCapacity());
-                        dr.createCell(5).setCellValue(row.getAvailableDays());
-                    }
-                    break;
-                }
-                case "SKILL_CAPACITY_FORECAST": {
-                    LocalDate from = parseLocalDate(params == null ? null : params.get("from"));
-                    LocalDate to = parseLocalDate(params == null ? null : params.get("to"));
-                    Row h = data.createRow(0);
-                    h.createCell(0).setCellValue("skillFunction");
-                    h.createCell(1).setCellValue("skillSubFunction");
-                    h.createCell(2).setCellValue("weekStarting");
-                    h.createCell(3).setCellValue("allocatedDays");
-                    h.createCell(4).setCellValue("capacity");
-                    h.createCell(5).setCellValue("availableDays");
-                    int i = 1;
-                    for (SkillCapacityForecastResponse row : generateSkillCapacityForecastReport(from, to, null, null)) {
-                        Row dr = data.createRow(i++);
-                        dr.createCell(0).setCellValue(row.getSkillFunction() == null ? "" : row.getSkillFunction().name());
-                        dr.createCell(1).setCellValue(row.getSkillSubFunction() == null ? "" : row.getSkillSubFunction().name());
-                        dr.createCell(2).setCellValue(row.getWeekStarting().toString());
-                        dr.createCell(3).setCellValue(row.getAllocatedDays());
-                        dr.createCell(4).setCellValue(row.getCapacity());
-                        dr.createCell(5).setCellValue(row.getAvailableDays());
-                    }
-                    break;
-                }
-                default: {
-                    // Unknown type, just write type
-                    Row h = data.createRow(0);
-                    h.createCell(0).setCellValue("message");
-                    Row dr = data.createRow(1);
-                    dr.createCell(0).setCellValue("Unknown report type: " + type);
+    private void writeSummarySheet(Workbook workbook, String type, Map<String, String> params) {
+        Sheet summary = workbook.createSheet("Summary");
+        int r = 0;
+        Row t = summary.createRow(r++);
+        t.createCell(0).setCellValue("Report Type");
+        t.createCell(1).setCellValue(type);
+        Row gen = summary.createRow(r++);
+        gen.createCell(0).setCellValue("Generated At");
+        gen.createCell(1).setCellValue(java.time.ZonedDateTime.now().toString());
+
+        // Write filters
+        if (params != null && !params.isEmpty()) {
+            Row f = summary.createRow(r++);
+            f.createCell(0).setCellValue("Filters");
+            for (Map.Entry<String, String> e : params.entrySet()) {
+                Row fr = summary.createRow(r++);
+                fr.createCell(0).setCellValue(e.getKey());
+                fr.createCell(1).setCellValue(e.getValue());
+            }
+        }
+    }
+
+    /**
+     * Appends rows to the "Data" sheet, continuing on "Data 2", "Data 3", ... with a repeated header
+     * once a sheet reaches the xlsx row limit
+     */
+    private static class DataSheetWriter {
+        private static final int MAX_ROW_INDEX = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+
+        private final Workbook workbook;
+        private final List<String> columns;
+        private Sheet sheet;
+        private int sheetCount;
+        private int nextRow;
+
+        DataSheetWriter(Workbook workbook, List<String> columns) {
+            this.workbook = workbook;
+            this.columns = columns;
+            startSheet();
+        }
+
+        void append(Object[] values) {
+            if (nextRow > MAX_ROW_INDEX) {
+                startSheet();
+            }
+            Row row = sheet.createRow(nextRow++);
+            for (int c = 0; c < values.length; c++) {
+                Object value = values[c];
+                if (value instanceof Number number) {
+                    row.createCell(c).setCellValue(number.doubleValue());
+                } else if (value instanceof Enum<?> e) {
+                    row.createCell(c).setCellValue(e.name());
+                } else if (value != null) {
+                    row.createCell(c).setCellValue(value.toString());
+                } else {
+                    row.createCell(c).setCellValue("");
                 }
             }
+        }
 
-            workbook.write(out);
-            return out.toByteArray();
-        } catch (Exception e) {
-            return new byte[0];
+        private void startSheet() {
+            sheetCount++;
+            sheet = workbook.createSheet(sheetCount == 1 ? "Data" : "Data " + sheetCount);
+            Row header = sheet.createRow(0);
+            for (int c = 0; c < columns.size(); c++) {
+                header.createCell(c).setCellValue(columns.get(c));
+            }
+            nextRow = 1;
         }
     }
 
@@ -314,113 +338,122 @@ public class ReportServiceImpl implements ReportService {
     public List<CapacityForecastResponse> generateCapacityForecastReport(LocalDate from, LocalDate to,
                                                                          SkillFunctionEnum skillFunction,
                                                                          com.polycoder.relmgmt.entity.SkillSubFunctionEnum skillSubFunction) {
-        List<Allocation> allocations = allocationRepository.findOverlapping(from, to);
-        if (allocations.isEmpty()) {
-            return List.of();
-        }
-        Map<LocalDate, Map<Long, Double>> totalsByWeekThenResource = new HashMap<>();
+        List<CapacityForecastResponse> rows = new ArrayList<>();
+        forEachCapacityForecastRow(from, to, skillFunction, skillSubFunction, rows::add);
+        return rows;
+    }
+
+    private void forEachCapacityForecastRow(LocalDate from, LocalDate to,
+                                            SkillFunctionEnum skillFunction,
+                                            com.polycoder.relmgmt.entity.SkillSubFunctionEnum skillSubFunction,
+                                            Consumer<CapacityForecastResponse> sink) {
         Map<Long, String> resourceIdToName = new HashMap<>();
-        for (Allocation a : allocations) {
-            Resource resEntity = a.getResource();
+        WeeklyAggregationKernel.WeeklyMatrix<Long> matrix = aggregateWeekly(from, to, resEntity -> {
             if (skillFunction != null && resEntity.getSkillFunction() != skillFunction) {
-                continue;
+                return null;
             }
             if (skillSubFunction != null && resEntity.getSkillSubFunction() != skillSubFunction) {
-                continue;
+                return null;
             }
-            Long resId = resEntity.getId();
-            resourceIdToName.put(resId, resEntity.getName());
-            LocalDate cursor = a.getStartDate();
-            while (!cursor.isAfter(a.getEndDate())) {
-                LocalDate weekStart = cursor.with(java.time.DayOfWeek.MONDAY);
-                LocalDate weekEnd = weekStart.plusDays(6);
-                if (from != null && weekEnd.isBefore(from)) { cursor = weekEnd.plusDays(1); continue; }
-                if (to != null && weekStart.isAfter(to)) { break; }
-                LocalDate overlapStart = cursor.isAfter(weekStart) ? cursor : weekStart;
-                LocalDate overlapEnd = a.getEndDate().isBefore(weekEnd) ? a.getEndDate() : weekEnd;
-                int workingDays = countWorkingDays(overlapStart, overlapEnd);
-                if (workingDays > 0) {
-                    double days = a.getAllocationFactor() * workingDays;
-                    totalsByWeekThenResource
-                        .computeIfAbsent(weekStart, k -> new HashMap<>())
-                        .merge(resId, days, Double::sum);
+            resourceIdToName.putIfAbsent(resEntity.getId(), resEntity.getName());
+            return resEntity.getId();
+        });
+        double capacity = 4.5;
+        int[] order = matrix.groupOrder(Comparator.naturalOrder());
+        for (int w = 0; w < matrix.weekCount(); w++) {
+            LocalDate week = matrix.weekStart(w);
+            for (int g : order) {
+                double allocated = matrix.value(w, g);
+                if (allocated == 0.0) {
+                    continue;
                 }
-                cursor = weekEnd.plusDays(1);
-            }
-        }
-        List<CapacityForecastResponse> rows = new ArrayList<>();
-        for (Map.Entry<LocalDate, Map<Long, Double>> e : totalsByWeekThenResource.entrySet()) {
-            LocalDate week = e.getKey();
-            for (Map.Entry<Long, Double> re : e.getValue().entrySet()) {
-                double allocated = re.getValue();
-                double capacity = 4.5;
+                Long resId = matrix.groups().get(g);
                 double available = roundTwoDecimals(capacity - allocated);
                 if (available < 0) available = 0.0;
-                rows.add(new CapacityForecastResponse(re.getKey(), resourceIdToName.get(re.getKey()), week,
+                sink.accept(new CapacityForecastResponse(resId, resourceIdToName.get(resId), week,
                         allocated, capacity, available));
             }
         }
-        rows.sort(Comparator.comparing(CapacityForecastResponse::getWeekStarting)
-                .thenComparing(CapacityForecastResponse::getResourceId));
-        return rows;
     }
 
     @Override
     public List<SkillCapacityForecastResponse> generateSkillCapacityForecastReport(LocalDate from, LocalDate to,
                                                                                    SkillFunctionEnum skillFunction,
                                                                                    com.polycoder.relmgmt.entity.SkillSubFunctionEnum skillSubFunction) {
-        List<Allocation> allocations = allocationRepository.findOverlapping(from, to);
-        if (allocations.isEmpty()) {
-            return List.of();
-        }
+        List<SkillCapacityForecastResponse> rows = new ArrayList<>();
+        forEachSkillCapacityForecastRow(from, to, skillFunction, skillSubFunction, rows::add);
+        return rows;
+    }
+
+    private void forEachSkillCapacityForecastRow(LocalDate from, LocalDate to,
+                                                 SkillFunctionEnum skillFunction,
+                                                 com.polycoder.relmgmt.entity.SkillSubFunctionEnum skillSubFunction,
+                                                 Consumer<SkillCapacityForecastResponse> sink) {
         // weekly skill totals
-        Map<LocalDate, Map<String, Double>> allocatedByWeekSkillKey = new HashMap<>();
-        for (Allocation a : allocations) {
-            Resource res = a.getResource();
+        WeeklyAggregationKernel.WeeklyMatrix<String> matrix = aggregateWeekly(from, to, res -> {
             if (skillFunction != null && res.getSkillFunction() != skillFunction) {
-                continue;
+                return null;
             }
             if (skillSubFunction != null && res.getSkillSubFunction() != skillSubFunction) {
-                continue;
+                return null;
             }
-            SkillFunctionEnum fn = res.getSkillFunction();
-            String key = buildSkillKey(fn, res.getSkillSubFunction());
-            LocalDate cursor = a.getStartDate();
-            while (!cursor.isAfter(a.getEndDate())) {
-                LocalDate weekStart = cursor.with(java.time.DayOfWeek.MONDAY);
-                LocalDate weekEnd = weekStart.plusDays(6);
-                if (from != null && weekEnd.isBefore(from)) { cursor = weekEnd.plusDays(1); continue; }
-                if (to != null && weekStart.isAfter(to)) { break; }
-                LocalDate overlapStart = cursor.isAfter(weekStart) ? cursor : weekStart;
-                LocalDate overlapEnd = a.getEndDate().isBefore(weekEnd) ? a.getEndDate() : weekEnd;
-                int workingDays = countWorkingDays(overlapStart, overlapEnd);
-                if (workingDays > 0) {
-                    double days = a.getAllocationFactor() * workingDays;
-                    allocatedByWeekSkillKey
-                        .computeIfAbsent(weekStart, k -> new HashMap<>())
-                        .merge(key, days, Double::sum);
+            return buildSkillKey(res.getSkillFunction(), res.getSkillSubFunction());
+        });
+
+        int[] order = matrix.groupOrder(Comparator.comparing((String key) -> parseFunctionFromKey(key).name())
+                .thenComparing(key -> {
+                    com.polycoder.relmgmt.entity.SkillSubFunctionEnum sf = parseSubFunctionFromKey(key);
+                    return sf == null ? "" : sf.name();
+                }));
+        // capacity = number of ACTIVE resources in that skill on the project that week * 4.5,
+        // answered from a single grouped headcount query
+        SkillHeadcountSnapshot headcount = matrix.weekCount() == 0
+                ? null
+                : new SkillHeadcountSnapshot(resourceRepository.countBySkillAndProjectDates(StatusEnum.ACTIVE));
+        for (int w = 0; w < matrix.weekCount(); w++) {
+            LocalDate week = matrix.weekStart(w);
+            for (int g : order) {
+                double allocated = matrix.value(w, g);
+                if (allocated == 0.0) {
+                    continue;
                 }
-                cursor = weekEnd.plusDays(1);
+                String key = matrix.groups().get(g);
+                SkillFunctionEnum fn = parseFunctionFromKey(key);
+                com.polycoder.relmgmt.entity.SkillSubFunctionEnum sf = parseSubFunctionFromKey(key);
+                double capacity = headcount.headcount(fn, week) * 4.5;
+                double available = roundTwoDecimals(Math.max(0.0, capacity - allocated));
+                sink.accept(new SkillCapacityForecastResponse(fn, sf, week, allocated, capacity, available));
             }
         }
-        List<SkillCapacityForecastResponse> rows = new ArrayList<>();
-        for (Map.Entry<LocalDate, Map<String, Double>> e : allocatedByWeekSkillKey.entrySet()) {
-            LocalDate week = e.getKey();
-            for (Map.Entry<String, Double> se : e.getValue().entrySet()) {
-                SkillFunctionEnum fn = parseFunctionFromKey(se.getKey());
-                com.polycoder.relmgmt.entity.SkillSubFunctionEnum sf = parseSubFunctionFromKey(se.getKey());
-                // capacity = number of ACTIVE resources in that skill * 4.5
-                int numResources = resourceRepository.findBySkillFunctionAndStatus(fn, StatusEnum.ACTIVE).size();
-                double capacity = numResources * 4.5;
-                double allocated = se.getValue();
-                double available = roundTwoDecimals(Math.max(0.0, capacity - allocated));
-                rows.add(new SkillCapacityForecastResponse(fn, sf, week, allocated, capacity, available));
+    }
+
+    /**
+     * Weekly allocated days grouped by a resource-derived key.
+     * On PostgreSQL with a plain Monday-Friday calendar the weekly sums are computed by the database and only
+     * the referenced resources are loaded; otherwise (H2, custom weekends or holidays) allocations are loaded
+     * with their resources and bucketed by the Java kernel.
+     */
+    private <K> WeeklyAggregationKernel.WeeklyMatrix<K> aggregateWeekly(LocalDate from, LocalDate to,
+                                                                        Function<Resource, K> groupKey) {
+        if (workingCalendar.isStandardWorkWeek() && allocationRepository.supportsNativeWeeklyAggregation()) {
+            LocalDate startDate = from != null ? from.with(DayOfWeek.MONDAY) : OPEN_WINDOW_START;
+            LocalDate endDate = to != null ? to.with(DayOfWeek.SUNDAY) : OPEN_WINDOW_END;
+            List<Object[]> rows = allocationRepository.aggregateWeeklyAllocatedDays(startDate, endDate);
+            Set<Long> resourceIds = new HashSet<>();
+            for (Object[] row : rows) {
+                resourceIds.add(((Number) row[0]).longValue());
+            }
+            Map<Long, Resource> resources = new HashMap<>();
+            for (Resource r : resourceRepository.findAllById(resourceIds)) {
+                resources.put(r.getId(), r);
             }
+            return aggregationKernel.fromResourceWeekRows(rows, id -> {
+                Resource r = resources.get(id);
+                return r == null ? null : groupKey.apply(r);
+            });
         }
-        rows.sort(Comparator.comparing(SkillCapacityForecastResponse::getWeekStarting)
-                .thenComparing(r -> r.getSkillFunction().name())
-                .thenComparing(r -> r.getSkillSubFunction() == null ? "" : r.getSkillSubFunction().name()));
-        return rows;
+        List<Allocation> allocations = allocationRepository.findOverlapping(from, to);
+        return aggregationKernel.aggregate(allocations, from, to, a -> groupKey.apply(a.getResource()));
     }
 
     private String buildSkillKey(SkillFunctionEnum fn, com.polycoder.relmgmt.entity.SkillSubFunctionEnum sf) {
@@ -436,31 +469,32 @@ public class ReportServiceImpl implements ReportService {
         return com.polycoder.relmgmt.entity.SkillSubFunctionEnum.valueOf(parts[1]);
     }
 
-    private int countWorkingDays(LocalDate start, LocalDate end) {
-        int count = 0;
-        LocalDate d = start;
-        while (!d.isAfter(end)) {
-            java.time.DayOfWeek dow = d.getDayOfWeek();
-            if (dow != java.time.DayOfWeek.SATURDAY && dow != java.time.DayOfWeek.SUNDAY) {
-                count++;
-            }
-            d = d.plusDays(1);
-        }
-        return count;
-    }
-
     private double roundTwoDecimals(double value) {
         return Math.round(value * 100.0) / 100.0;
     }
 
-    private LocalDate parseLocalDate(String v) {
+    private LocalDate parseLocalDate(String name, String v) {
         if (v == null || v.isEmpty()) return null;
-        return LocalDate.parse(v);
+        try {
+            return LocalDate.parse(v);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Parameter '" + name + "' must be a date (yyyy-MM-dd): " + v);
+        }
     }
 
-    private Integer parseInteger(String v) {
+    private Integer parseInteger(String name, String v) {
         if (v == null || v.isEmpty()) return null;
-        return Integer.parseInt(v);
+        try {
+            return Integer.parseInt(v);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Parameter '" + name + "' must be a number: " + v);
+        }
+    }
+
+    private void checkDateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new ValidationException("Parameter 'to' must not be before 'from'");
+        }
     }
 
     private List<Long> parseResourceIds(String v) {
@@ -468,7 +502,11 @@ public class ReportServiceImpl implements ReportService {
         String[] parts = v.split(",");
         List<Long> ids = new ArrayList<>();
         for (String p : parts) {
-            try { ids.add(Long.parseLong(p.trim())); } catch (Exception ignored) {}
+            try {
+                ids.add(Long.parseLong(p.trim()));
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Parameter 'resourceIds' must be comma-separated ids: " + v);
+            }
         }
         return ids.isEmpty() ? null : ids;
     }
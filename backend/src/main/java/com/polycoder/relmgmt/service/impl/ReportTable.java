@@ -0,0 +1,35 @@
+package com.polycoder.relmgmt.service.impl;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Tabular view of a report for export: fixed column headers plus a row source that produces
+ * rows on demand, so writers can emit each row as soon as it is computed instead of holding the whole report.
+ * Cell values are numbers, strings, dates, enums or null.
+ */
+public class ReportTable {
+
+    /**
+     * Produces the report rows in output order, one {@code Object[]} per row
+     */
+    public interface RowSource {
+        void forEachRow(Consumer<Object[]> sink);
+    }
+
+    private final List<String> columns;
+    private final RowSource rows;
+
+    public ReportTable(List<String> columns, RowSource rows) {
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public void forEachRow(Consumer<Object[]> sink) {
+        rows.forEachRow(sink);
+    }
+}
@@ -0,0 +1,112 @@
+package com.polycoder.relmgmt.service.impl;
+
+import com.polycoder.relmgmt.dto.ResourceImportResponse;
+import com.polycoder.relmgmt.entity.Resource;
+import com.polycoder.relmgmt.repository.ResourceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects parsed import rows, rejects duplicates against the database and earlier rows of the same file,
+ * and writes accepted resources in bounded chunks as rows arrive. Only the duplicate-check keys and the
+ * current chunk are held in memory, so readers can feed it row by row from a stream.
+ */
+public class ResourceImportWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ResourceImportWriter.class);
+
+    private final ResourceRepository resourceRepository;
+    private final int chunkSize;
+    private final Set<String> existingEmployeeNumbers = new HashSet<>();
+    private final Set<String> existingEmails = new HashSet<>();
+    // Keys accepted earlier in the file, mapped to their row number
+    private final Map<String, Integer> fileEmployeeNumbers = new HashMap<>();
+    private final Map<String, Integer> fileEmails = new HashMap<>();
+    private List<Resource> pending = new ArrayList<>();
+    private final List<ResourceImportResponse.ImportError> errors = new ArrayList<>();
+    private int totalProcessed;
+    private int successful;
+    private int written;
+    private int chunks;
+
+    public ResourceImportWriter(ResourceRepository resourceRepository, int chunkSize) {
+        this.resourceRepository = resourceRepository;
+        this.chunkSize = chunkSize;
+        // Existing keys are loaded once instead of two exists queries per row
+        for (Object[] keys : resourceRepository.findAllEmployeeNumbersAndEmails()) {
+            existingEmployeeNumbers.add((String) keys[0]);
+            existingEmails.add((String) keys[1]);
+        }
+    }
+
+    /**
+     * Accept a parsed row, or record it as failed if it duplicates an existing or earlier resource
+     */
+    public void add(int rowNumber, Resource resource) {
+        totalProcessed++;
+        String duplicate = findDuplicate(resource);
+        if (duplicate != null) {
+            errors.add(new ResourceImportResponse.ImportError(rowNumber, duplicate));
+            return;
+        }
+        fileEmployeeNumbers.put(resource.getEmployeeNumber(), rowNumber);
+        fileEmails.put(resource.getEmail(), rowNumber);
+        successful++;
+        pending.add(resource);
+        if (pending.size() >= chunkSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Record a row that could not be parsed
+     */
+    public void reject(int rowNumber, String message) {
+        totalProcessed++;
+        errors.add(new ResourceImportResponse.ImportError(rowNumber, message));
+    }
+
+    /**
+     * Write the remaining resources and summarize the import
+     */
+    public ResourceImportResponse finish() {
+        flush();
+        return new ResourceImportResponse(totalProcessed, successful, errors.size(), errors);
+    }
+
+    private String findDuplicate(Resource resource) {
+        if (existingEmployeeNumbers.contains(resource.getEmployeeNumber())) {
+            return "Employee number already exists";
+        }
+        if (existingEmails.contains(resource.getEmail())) {
+            return "Email already exists";
+        }
+        Integer firstRow = fileEmployeeNumbers.get(resource.getEmployeeNumber());
+        if (firstRow != null) {
+            return "Duplicate employee number in file (row " + firstRow + ")";
+        }
+        firstRow = fileEmails.get(resource.getEmail());
+        if (firstRow != null) {
+            return "Duplicate email in file (row " + firstRow + ")";
+        }
+        return null;
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        resourceRepository.insertInBatch(pending);
+        written += pending.size();
+        chunks++;
+        log.info("Imported resource chunk {} ({} resources written, {} rows read)", chunks, written, totalProcessed);
+        pending = new ArrayList<>();
+    }
+}
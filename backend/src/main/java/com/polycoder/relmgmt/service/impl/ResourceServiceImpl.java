@@ -5,28 +5,45 @@ import com.polycoder.relmgmt.dto.ResourceResponse;
 import com.polycoder.relmgmt.dto.ResourceImportResponse;
 import com.polycoder.relmgmt.entity.Resource;
 import com.polycoder.relmgmt.entity.StatusEnum;
+import com.polycoder.relmgmt.entity.EventTypeEnum;
 import com.polycoder.relmgmt.entity.EmployeeGradeEnum;
 import com.polycoder.relmgmt.entity.SkillFunctionEnum;
 import com.polycoder.relmgmt.entity.SkillSubFunctionEnum;
 import com.polycoder.relmgmt.exception.ResourceNotFoundException;
 import com.polycoder.relmgmt.exception.ValidationException;
 import com.polycoder.relmgmt.repository.ResourceRepository;
+import com.polycoder.relmgmt.service.AllocationRegenerationService;
+import com.polycoder.relmgmt.service.NotificationService;
 import com.polycoder.relmgmt.service.ResourceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.apache.poi.EmptyFileException;
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.util.RecordFormatException;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import com.polycoder.relmgmt.entity.Allocation;
 import com.polycoder.relmgmt.repository.AllocationRepository;
@@ -34,12 +51,27 @@ import com.polycoder.relmgmt.repository.AllocationRepository;
 @Service
 public class ResourceServiceImpl implements ResourceService {
 
+    private static final Logger log = LoggerFactory.getLogger(ResourceServiceImpl.class);
+    // Valid rows are written in chunks so large rosters report progress and bound each batch
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    private static final int IMPORT_COLUMNS = 9;
+    private static final int EXPORT_PAGE_SIZE = 500;
+    private static final int EXPORT_ROW_WINDOW = 100;
+    // Column widths in characters, matching the header order
+    private static final int[] EXPORT_COLUMN_WIDTHS = {24, 16, 32, 10, 18, 18, 16, 16, 20};
+
     @Autowired
     private ResourceRepository resourceRepository;
 
     @Autowired
     private AllocationRepository allocationRepository;
 
+    @Autowired
+    private AllocationRegenerationService allocationRegenerationService;
+
+    @Autowired
+    private NotificationService notificationService;
+
     @Override
     public Page<ResourceResponse> getAllResources(StatusEnum status, SkillFunctionEnum skillFunction, SkillSubFunctionEnum skillSubFunction, Pageable pageable) {
         Page<Resource> resourcePage;
@@ -128,11 +160,21 @@ public class ResourceServiceImpl implements ResourceService {
         return importResourcesFromExcelFile(file);
     }
 
+    @Override
+    public ResourceImportResponse importResourcesFromCsv(MultipartFile file) {
+        return importResourcesFromCsvFile(file);
+    }
+
     @Override
     public byte[] exportResourcesToExcel() {
         return generateExcelExport();
     }
 
+    @Override
+    public void exportResourcesToExcel(OutputStream out) throws IOException {
+        writeExcelExport(out);
+    }
+
     @Override
     public Resource findById(Long id) {
         return resourceRepository.findById(id)
@@ -267,13 +309,61 @@ public class ResourceServiceImpl implements ResourceService {
 
     // Excel Import/Export Helper Methods
     private ResourceImportResponse importResourcesFromExcelFile(MultipartFile file) {
-        List<ResourceImportResponse.ImportError> errors = new ArrayList<>();
-        List<Resource> resourcesToSave = new ArrayList<>();
-        int totalProcessed = 0;
-        int successful = 0;
-        int failed = 0;
+        ResourceImportWriter writer = new ResourceImportWriter(resourceRepository, IMPORT_CHUNK_SIZE);
+        ImportRowHandler rowHandler = importRowHandler(writer);
 
-        try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
+        // Spool the upload to disk so the .xlsx package is read from a file rather than buffered in memory
+        Path upload = null;
+        try {
+            upload = Files.createTempFile("resource-import-", ".xlsx");
+            file.transferTo(upload);
+            if (FileMagic.valueOf(upload.toFile()) == FileMagic.OOXML) {
+                new XlsxRowReader(IMPORT_COLUMNS).read(upload.toFile(), rowHandler);
+            } else {
+                // Legacy .xls workbooks have no streaming reader and are loaded whole
+                readWorkbookRows(upload, rowHandler);
+            }
+        } catch (IOException e) {
+            throw new ValidationException("Failed to process Excel file: " + e.getMessage());
+        } finally {
+            deleteQuietly(upload);
+        }
+        
+        return writer.finish();
+    }
+
+    private ResourceImportResponse importResourcesFromCsvFile(MultipartFile file) {
+        ResourceImportWriter writer = new ResourceImportWriter(resourceRepository, IMPORT_CHUNK_SIZE);
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            new CsvRowReader(IMPORT_COLUMNS).read(reader, importRowHandler(writer));
+        } catch (IOException e) {
+            throw new ValidationException("Failed to process CSV file: " + e.getMessage());
+        }
+        return writer.finish();
+    }
+
+    private ImportRowHandler importRowHandler(ResourceImportWriter writer) {
+        return (rowNumber, cells) -> {
+            Resource resource;
+            try {
+                resource = parseResourceFromRow(cells, rowNumber);
+            } catch (Exception e) {
+                writer.reject(rowNumber, e.getMessage());
+                return;
+            }
+            writer.add(rowNumber, resource);
+        };
+    }
+
+    private void readWorkbookRows(Path upload, ImportRowHandler rowHandler) throws IOException {
+        Workbook opened;
+        try {
+            opened = WorkbookFactory.create(upload.toFile(), null, true);
+        } catch (EmptyFileException | EncryptedDocumentException | UnsupportedFileFormatException
+                 | RecordFormatException e) {
+            throw new IOException("Invalid workbook: " + e.getMessage(), e);
+        }
+        try (Workbook workbook = opened) {
             Sheet sheet = workbook.getSheetAt(0);
             
             // Skip header row
@@ -281,97 +371,82 @@ public class ResourceServiceImpl implements ResourceService {
                 Row row = sheet.getRow(i);
                 if (row == null) continue;
                 
-                totalProcessed++;
-                
-                try {
-                    Resource resource = parseResourceFromRow(row, i + 1);
-                    
-                    // Check for duplicates
-                    if (resourceRepository.existsByEmployeeNumber(resource.getEmployeeNumber())) {
-                        errors.add(new ResourceImportResponse.ImportError(i + 1, "Employee number already exists"));
-                        failed++;
-                        continue;
-                    }
-                    
-                    if (resourceRepository.existsByEmail(resource.getEmail())) {
-                        errors.add(new ResourceImportResponse.ImportError(i + 1, "Email already exists"));
-                        failed++;
-                        continue;
+                String[] cells = new String[IMPORT_COLUMNS];
+                for (int c = 0; c < IMPORT_COLUMNS; c++) {
+                    try {
+                        cells[c] = getCellStringValue(row.getCell(c));
+                    } catch (IllegalStateException e) {
+                        cells[c] = null;
                     }
-                    
-                    resourcesToSave.add(resource);
-                    successful++;
-                    
-                } catch (Exception e) {
-                    errors.add(new ResourceImportResponse.ImportError(i + 1, e.getMessage()));
-                    failed++;
                 }
+                rowHandler.row(i + 1, cells);
             }
-            
-            // Save all valid resources
-            for (Resource resource : resourcesToSave) {
-                resourceRepository.save(resource);
-            }
-            
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to process Excel file: " + e.getMessage(), e);
+            log.warn("Failed to delete import file {}: {}", path, e.getMessage());
         }
-        
-        return new ResourceImportResponse(totalProcessed, successful, failed, errors);
     }
 
-    private Resource parseResourceFromRow(Row row, int rowNumber) {
+    private Resource parseResourceFromRow(String[] cells, int rowNumber) {
         Resource resource = new Resource();
         
         try {
             // Name
-            String name = getCellStringValue(row.getCell(0));
+            String name = cells[0];
             if (name == null || name.trim().isEmpty()) {
                 throw new ValidationException("Name is required");
             }
             resource.setName(name.trim());
             
             // Employee Number
-            String employeeNumber = getCellStringValue(row.getCell(1));
+            String employeeNumber = cells[1];
             if (employeeNumber == null || employeeNumber.length() != 8) {
                 throw new ValidationException("Employee number must be exactly 8 characters");
             }
             resource.setEmployeeNumber(employeeNumber);
             
             // Email
-            String email = getCellStringValue(row.getCell(2));
+            String email = cells[2];
             if (email == null || !email.contains("@")) {
                 throw new ValidationException("Invalid email address");
             }
             resource.setEmail(email);
             
             // Status
-            String status = getCellStringValue(row.getCell(3));
+            String status = cells[3];
             resource.setStatus(parseStatusEnum(status));
             
             // Project Start Date
-            String startDateStr = getCellStringValue(row.getCell(4));
+            String startDateStr = cells[4];
             if (startDateStr == null || startDateStr.trim().isEmpty()) {
                 throw new ValidationException("Project start date is required");
             }
             resource.setProjectStartDate(parseDate(startDateStr));
             
             // Project End Date (optional)
-            String endDateStr = getCellStringValue(row.getCell(5));
+            String endDateStr = cells[5];
             if (endDateStr != null && !endDateStr.trim().isEmpty()) {
                 resource.setProjectEndDate(parseDate(endDateStr));
             }
             
             // Employee Grade
-            String grade = getCellStringValue(row.getCell(6));
+            String grade = cells[6];
             resource.setEmployeeGrade(parseEmployeeGradeEnum(grade));
             
             // Skill Function
-            String skillFunction = getCellStringValue(row.getCell(7));
+            String skillFunction = cells[7];
             resource.setSkillFunction(parseSkillFunctionEnum(skillFunction));
             
             // Skill Sub-function (optional)
-            String skillSubFunction = getCellStringValue(row.getCell(8));
+            String skillSubFunction = cells[8];
             resource.setSkillSubFunction(parseSkillSubFunctionEnum(skillSubFunction));
             
         } catch (Exception e) {
@@ -419,39 +494,65 @@ public class ResourceServiceImpl implements ResourceService {
     }
 
     private byte[] generateExcelExport() {
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            writeExcelExport(baos);
+            return baos.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to generate Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    private void writeExcelExport(OutputStream out) throws IOException {
+        // Only the last EXPORT_ROW_WINDOW rows stay in memory; older rows are flushed to a temp file
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXPORT_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
             Sheet sheet = workbook.createSheet("Resources");
             
+            // Fixed widths; autoSizeColumn would have to track every row written
+            for (int i = 0; i < EXPORT_COLUMN_WIDTHS.length; i++) {
+                sheet.setColumnWidth(i, EXPORT_COLUMN_WIDTHS[i] * 256);
+            }
+            
             // Create header row
             Row headerRow = sheet.createRow(0);
             createHeaderRow(headerRow);
             
-            // Get all resources
-            List<Resource> resources = resourceRepository.findAll();
-            
-            // Create data rows
+            // Read resources a page at a time, continuing after the last ID written
             int rowIndex = 1;
-            for (Resource resource : resources) {
-                Row dataRow = sheet.createRow(rowIndex++);
-                populateDataRow(dataRow, resource);
-            }
-            
-            // Auto-size columns
-            for (int i = 0; i < 9; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            // Convert to byte array
-            try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                workbook.write(baos);
-                return baos.toByteArray();
-            }
+            Long afterId = 0L;
+            Pageable page = PageRequest.of(0, EXPORT_PAGE_SIZE);
+            List<Object[]> rows;
+            do {
+                rows = resourceRepository.findExportRowsAfter(afterId, page);
+                for (Object[] row : rows) {
+                    Row dataRow = sheet.createRow(rowIndex++);
+                    populateDataRow(dataRow, toExportResource(row));
+                    afterId = (Long) row[0];
+                }
+            } while (rows.size() == EXPORT_PAGE_SIZE);
             
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to generate Excel file: " + e.getMessage(), e);
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
         }
     }
 
+    private Resource toExportResource(Object[] row) {
+        Resource resource = new Resource();
+        resource.setName((String) row[1]);
+        resource.setEmployeeNumber((String) row[2]);
+        resource.setEmail((String) row[3]);
+        resource.setStatus((StatusEnum) row[4]);
+        resource.setProjectStartDate((LocalDate) row[5]);
+        resource.setProjectEndDate((LocalDate) row[6]);
+        resource.setEmployeeGrade((EmployeeGradeEnum) row[7]);
+        resource.setSkillFunction((SkillFunctionEnum) row[8]);
+        resource.setSkillSubFunction((SkillSubFunctionEnum) row[9]);
+        return resource;
+    }
+
     private void createHeaderRow(Row headerRow) {
         headerRow.createCell(0).setCellValue("Name");
         headerRow.createCell(1).setCellValue("Employee Number");
@@ -502,15 +603,33 @@ public class ResourceServiceImpl implements ResourceService {
     @Override
     public int updateExpiredResourcesStatus() {
         LocalDate currentDate = LocalDate.now();
-        List<Resource> expiredResources = resourceRepository.findActiveResourcesWithPastEndDates(StatusEnum.ACTIVE, currentDate);
+        // One UPDATE ... RETURNING id; row locks are held only for that statement
+        List<Long> deactivatedIds = resourceRepository.deactivateExpired(currentDate);
+        if (deactivatedIds.isEmpty()) {
+            return 0;
+        }
+        
+        notificationService.notifyAllUsers(EventTypeEnum.RESOURCE_DEACTIVATED, "RESOURCE", deactivatedIds,
+            "Resource was set to inactive because its project end date has passed");
         
-        int updatedCount = 0;
-        for (Resource resource : expiredResources) {
-            resource.setStatus(StatusEnum.INACTIVE);
-            resourceRepository.save(resource);
-            updatedCount++;
+        // Releases still relying on these resources are regenerated without them, off this thread.
+        // Regeneration rebuilds a release's allocations from its estimates, which replaces any weekly
+        // person-day overrides made on it; the release notification says so explicitly.
+        List<Long> affectedReleaseIds = allocationRepository.findReleaseIdsWithAllocationsFrom(deactivatedIds, currentDate);
+        if (!affectedReleaseIds.isEmpty()) {
+            try {
+                allocationRegenerationService.startRegeneration(affectedReleaseIds);
+                notificationService.notifyAllUsers(EventTypeEnum.RESOURCE_DEACTIVATED, "RELEASE", affectedReleaseIds,
+                    "Allocations are being regenerated because an allocated resource was deactivated; "
+                        + "manual weekly allocation overrides on this release are replaced");
+            } catch (RejectedExecutionException e) {
+                log.warn("Allocation regeneration queue is full; releases {} must be regenerated manually",
+                    affectedReleaseIds);
+            }
         }
+        log.info("Deactivated {} expired resources; regenerating {} affected releases",
+            deactivatedIds.size(), affectedReleaseIds.size());
         
-        return updatedCount;
+        return deactivatedIds.size();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,111 @@
+package com.polycoder.relmgmt.service.impl;
+
+import com.polycoder.relmgmt.entity.SkillFunctionEnum;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-in-time headcount per skill, built once per report from a grouped count query.
+ * A resource counts towards a week when its project tenure overlaps it, i.e. it started on or before
+ * the week's last day and has no end date or ends on or after the week's first day. Per skill the
+ * tenure boundaries are kept as sorted epoch-day arrays with cumulative counts, so each lookup is
+ * two binary searches.
+ */
+public class SkillHeadcountSnapshot {
+
+    private final Map<SkillFunctionEnum, Tenures> byFunction = new EnumMap<>(SkillFunctionEnum.class);
+
+    /**
+     * @param rows {@code [skillFunction, skillSubFunction, projectStartDate, projectEndDate, count]}; sub-functions
+     *             are summed into their function
+     */
+    public SkillHeadcountSnapshot(List<Object[]> rows) {
+        Map<SkillFunctionEnum, List<Object[]>> functionRows = new EnumMap<>(SkillFunctionEnum.class);
+        for (Object[] row : rows) {
+            SkillFunctionEnum fn = (SkillFunctionEnum) row[0];
+            if (fn != null) {
+                functionRows.computeIfAbsent(fn, k -> new ArrayList<>()).add(row);
+            }
+        }
+        functionRows.forEach((fn, list) -> byFunction.put(fn, new Tenures(list)));
+    }
+
+    /**
+     * Resources of a skill function on the project during the week starting on the given Monday
+     */
+    public int headcount(SkillFunctionEnum skillFunction, LocalDate weekStart) {
+        Tenures tenures = byFunction.get(skillFunction);
+        return tenures == null ? 0 : tenures.countOverlapping(weekStart);
+    }
+
+    private static final class Tenures {
+        // Sorted start days with cumulative counts: startCount[i] = resources starting on or before starts[i]
+        private final long[] starts;
+        private final long[] startCount;
+        // Sorted end days with cumulative counts (open-ended tenures are never counted as ended)
+        private final long[] ends;
+        private final long[] endCount;
+
+        Tenures(List<Object[]> rows) {
+            long[][] startPairs = new long[rows.size()][];
+            List<long[]> endPairs = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                long count = ((Number) row[4]).longValue();
+                long start = row[2] == null ? Long.MIN_VALUE : ((LocalDate) row[2]).toEpochDay();
+                startPairs[i] = new long[]{start, count};
+                if (row[3] != null) {
+                    endPairs.add(new long[]{((LocalDate) row[3]).toEpochDay(), count});
+                }
+            }
+            Arrays.sort(startPairs, (a, b) -> Long.compare(a[0], b[0]));
+            endPairs.sort((a, b) -> Long.compare(a[0], b[0]));
+
+            starts = new long[startPairs.length];
+            startCount = new long[startPairs.length];
+            long running = 0;
+            for (int i = 0; i < startPairs.length; i++) {
+                starts[i] = startPairs[i][0];
+                running += startPairs[i][1];
+                startCount[i] = running;
+            }
+            ends = new long[endPairs.size()];
+            endCount = new long[endPairs.size()];
+            running = 0;
+            for (int i = 0; i < endPairs.size(); i++) {
+                ends[i] = endPairs.get(i)[0];
+                running += endPairs.get(i)[1];
+                endCount[i] = running;
+            }
+        }
+
+        int countOverlapping(LocalDate weekStart) {
+            long first = weekStart.toEpochDay();
+            long last = first + 6;
+            // started on or before the last day, minus those that ended before the first day
+            long started = cumulative(starts, startCount, last);
+            long ended = cumulative(ends, endCount, first - 1);
+            return (int) Math.max(0, started - ended);
+        }
+
+        // Sum of counts for keys <= bound
+        private static long cumulative(long[] keys, long[] counts, long bound) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] <= bound) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo == 0 ? 0 : counts[lo - 1];
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.polycoder.relmgmt.service.impl;
+
+import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.service.WorkingCalendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Shared weekly bucketing for capacity reports.
+ * Allocations are spread over Monday-based weeks (factor x working days) into a dense
+ * {@code [weekIndex][groupIndex]} matrix, where the group is whatever key the report needs
+ * (a resource, a skill, ...). Reports then project the non-empty cells into their row types.
+ */
+public class WeeklyAggregationKernel {
+
+    // 1970-01-01 is a Thursday, so Monday-based weeks start three days before each multiple of 7
+    private static final long MONDAY_OFFSET = 3;
+
+    private final WorkingCalendar workingCalendar;
+
+    public WeeklyAggregationKernel(WorkingCalendar workingCalendar) {
+        this.workingCalendar = workingCalendar;
+    }
+
+    /**
+     * Aggregate allocated days per week and group
+     * @param allocations allocations to spread
+     * @param from optional window start; weeks ending before it are skipped
+     * @param to optional window end; weeks starting after it are skipped
+     * @param groupKey maps an allocation to its group, or to null to leave it out
+     */
+    public <K> WeeklyMatrix<K> aggregate(List<Allocation> allocations, LocalDate from, LocalDate to,
+                                         Function<Allocation, K> groupKey) {
+        long windowStart = from == null ? Long.MIN_VALUE : from.with(DayOfWeek.MONDAY).toEpochDay();
+        long windowEnd = to == null ? Long.MAX_VALUE : to.with(DayOfWeek.SUNDAY).toEpochDay();
+
+        // Resolve each allocation's group and the overall week span once, before touching the matrix
+        Map<K, Integer> groupIndex = new HashMap<>();
+        List<K> groups = new ArrayList<>();
+        int[] groupOf = new int[allocations.size()];
+        long minDay = Long.MAX_VALUE;
+        long maxDay = Long.MIN_VALUE;
+        for (int i = 0; i < allocations.size(); i++) {
+            Allocation a = allocations.get(i);
+            K key = groupKey.apply(a);
+            long start = Math.max(a.getStartDate().toEpochDay(), windowStart);
+            long end = Math.min(a.getEndDate().toEpochDay(), windowEnd);
+            if (key == null || end < start) {
+                groupOf[i] = -1;
+                continue;
+            }
+            Integer g = groupIndex.get(key);
+            if (g == null) {
+                g = groups.size();
+                groupIndex.put(key, g);
+                groups.add(key);
+            }
+            groupOf[i] = g;
+            minDay = Math.min(minDay, start);
+            maxDay = Math.max(maxDay, end);
+        }
+        if (groups.isEmpty()) {
+            return new WeeklyMatrix<>(null, groups, new double[0][0]);
+        }
+
+        long firstWeek = weekIndex(minDay);
+        int weeks = (int) (weekIndex(maxDay) - firstWeek + 1);
+        double[][] values = new double[weeks][groups.size()];
+
+        for (int i = 0; i < allocations.size(); i++) {
+            int g = groupOf[i];
+            if (g < 0) {
+                continue;
+            }
+            Allocation a = allocations.get(i);
+            double factor = a.getAllocationFactor();
+            long cursor = Math.max(a.getStartDate().toEpochDay(), windowStart);
+            long end = Math.min(a.getEndDate().toEpochDay(), windowEnd);
+            while (cursor <= end) {
+                long week = weekIndex(cursor);
+                long weekEnd = Math.min(end, weekStartEpochDay(week) + 6);
+                int workingDays = workingCalendar.countWorkingDays(cursor, weekEnd);
+                if (workingDays > 0) {
+                    values[(int) (week - firstWeek)][g] += factor * workingDays;
+                }
+                cursor = weekEnd + 1;
+            }
+        }
+
+        return new WeeklyMatrix<>(LocalDate.ofEpochDay(weekStartEpochDay(firstWeek)), groups, values);
+    }
+
+    /**
+     * Build the same matrix from rows already aggregated per resource and week (e.g. by the database)
+     * @param rows {@code [resourceId, weekStart, allocatedDays]}; weekStart must be a Monday
+     * @param groupOfResource maps a resource id to its group, or to null to leave it out
+     */
+    public <K> WeeklyMatrix<K> fromResourceWeekRows(List<Object[]> rows, Function<Long, K> groupOfResource) {
+        Map<K, Integer> groupIndex = new HashMap<>();
+        List<K> groups = new ArrayList<>();
+        int[] groupOf = new int[rows.size()];
+        long[] weekOf = new long[rows.size()];
+        long minWeek = Long.MAX_VALUE;
+        long maxWeek = Long.MIN_VALUE;
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            K key = groupOfResource.apply(((Number) row[0]).longValue());
+            if (key == null) {
+                groupOf[i] = -1;
+                continue;
+            }
+            Integer g = groupIndex.get(key);
+            if (g == null) {
+                g = groups.size();
+                groupIndex.put(key, g);
+                groups.add(key);
+            }
+            groupOf[i] = g;
+            weekOf[i] = weekIndex(toLocalDate(row[1]).toEpochDay());
+            minWeek = Math.min(minWeek, weekOf[i]);
+            maxWeek = Math.max(maxWeek, weekOf[i]);
+        }
+        if (groups.isEmpty()) {
+            return new WeeklyMatrix<>(null, groups, new double[0][0]);
+        }
+
+        double[][] values = new double[(int) (maxWeek - minWeek + 1)][groups.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            if (groupOf[i] >= 0) {
+                values[(int) (weekOf[i] - minWeek)][groupOf[i]] += ((Number) rows.get(i)[2]).doubleValue();
+            }
+        }
+        return new WeeklyMatrix<>(LocalDate.ofEpochDay(weekStartEpochDay(minWeek)), groups, values);
+    }
+
+    private static long weekIndex(long epochDay) {
+        return Math.floorDiv(epochDay + MONDAY_OFFSET, 7);
+    }
+
+    private static long weekStartEpochDay(long weekIndex) {
+        return weekIndex * 7 - MONDAY_OFFSET;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    /**
+     * Dense week x group matrix of allocated days; a zero cell means nothing was allocated
+     */
+    public static class WeeklyMatrix<K> {
+        private final LocalDate firstWeekStart;
+        private final List<K> groups;
+        private final double[][] values;
+
+        WeeklyMatrix(LocalDate firstWeekStart, List<K> groups, double[][] values) {
+            this.firstWeekStart = firstWeekStart;
+            this.groups = groups;
+            this.values = values;
+        }
+
+        public int weekCount() {
+            return values.length;
+        }
+
+        public LocalDate weekStart(int week) {
+            return firstWeekStart.plusWeeks(week);
+        }
+
+        public List<K> groups() {
+            return groups;
+        }
+
+        public double value(int week, int group) {
+            return values[week][group];
+        }
+
+        /**
+         * Group indexes ordered by the given comparator, for stable report output
+         */
+        public int[] groupOrder(Comparator<? super K> comparator) {
+            List<Integer> order = new ArrayList<>(groups.size());
+            for (int g = 0; g < groups.size(); g++) {
+                order.add(g);
+            }
+            order.sort((a, b) -> comparator.compare(groups.get(a), groups.get(b)));
+            return order.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.polycoder.relmgmt.service.impl;
+
+import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.exception.ValidationException;
+import com.polycoder.relmgmt.service.WorkingCalendar;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies week-level overrides to a set of loaded allocations.
+ * Setting a resource's week to P person-days splits every allocation that overlaps the week at the week
+ * boundaries, keeps the parts outside the week unchanged and scales the factor of the in-week parts by
+ * P / current, so the release and phase mix of the week is preserved. The original row becomes the in-week
+ * part (and keeps its optimistic lock version); the parts before and after the week are new rows.
+ * Scaled factors must stay within the 0.5-1.0 range enforced by chk_allocation_factor, so a target that
+ * would need a factor outside it is rejected before any allocation is touched.
+ */
+public class WeeklyAllocationEditor {
+
+    private static final double EPSILON = 1e-9;
+    private static final double MIN_FACTOR = 0.5;
+    private static final double MAX_FACTOR = 1.0;
+
+    private final WorkingCalendar workingCalendar;
+    private final Map<Long, List<Allocation>> byResource = new HashMap<>();
+    private final Set<Allocation> created = new LinkedHashSet<>();
+    private final Set<Allocation> deleted = new LinkedHashSet<>();
+    private final Set<Allocation> modified = new LinkedHashSet<>();
+
+    public WeeklyAllocationEditor(WorkingCalendar workingCalendar, List<Allocation> allocations) {
+        this.workingCalendar = workingCalendar;
+        for (Allocation a : allocations) {
+            byResource.computeIfAbsent(a.getResource().getId(), id -> new ArrayList<>()).add(a);
+        }
+    }
+
+    /**
+     * Current person-days of a resource in the week starting at weekStart
+     */
+    public double personDays(Long resourceId, LocalDate weekStart) {
+        double total = 0.0;
+        for (Allocation a : inWeek(resourceId, weekStart)) {
+            total += personDaysInWeek(a, weekStart);
+        }
+        return total;
+    }
+
+    /**
+     * Allocations of a resource overlapping the week starting at weekStart
+     */
+    public List<Allocation> inWeek(Long resourceId, LocalDate weekStart) {
+        LocalDate weekEnd = weekStart.plusDays(6);
+        List<Allocation> result = new ArrayList<>();
+        for (Allocation a : byResource.getOrDefault(resourceId, List.of())) {
+            if (!a.getStartDate().isAfter(weekEnd) && !a.getEndDate().isBefore(weekStart)) {
+                result.add(a);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Person-days an allocation contributes to the week starting at weekStart
+     */
+    public double personDaysInWeek(Allocation a, LocalDate weekStart) {
+        LocalDate weekEnd = weekStart.plusDays(6);
+        LocalDate from = a.getStartDate().isAfter(weekStart) ? a.getStartDate() : weekStart;
+        LocalDate to = a.getEndDate().isBefore(weekEnd) ? a.getEndDate() : weekEnd;
+        return factor(a) * workingCalendar.countWorkingDays(from, to);
+    }
+
+    /**
+     * Set a resource's total person-days in the week starting at weekStart
+     * @throws ValidationException if the week has no allocated working days to scale, or if the target
+     *         needs a factor outside 0.5-1.0 for one of the overlapping allocations
+     */
+    public void setPersonDays(Long resourceId, LocalDate weekStart, double personDays) {
+        List<Allocation> overlapping = inWeek(resourceId, weekStart);
+        double current = 0.0;
+        for (Allocation a : overlapping) {
+            current += personDaysInWeek(a, weekStart);
+        }
+        if (Math.abs(current - personDays) <= EPSILON) {
+            return;
+        }
+        if (current <= EPSILON) {
+            throw new ValidationException("Resource " + resourceId + " has no allocation in week " + weekStart
+                + " to adjust");
+        }
+
+        double ratio = personDays / current;
+        if (personDays > EPSILON) {
+            checkFactorBounds(resourceId, weekStart, overlapping, current, ratio);
+        }
+        LocalDate weekEnd = weekStart.plusDays(6);
+        List<Allocation> rows = byResource.get(resourceId);
+        for (Allocation a : overlapping) {
+            if (a.getStartDate().isBefore(weekStart)) {
+                Allocation before = copy(a, a.getStartDate(), weekStart.minusDays(1), factor(a));
+                rows.add(before);
+                created.add(before);
+            }
+            if (a.getEndDate().isAfter(weekEnd)) {
+                Allocation after = copy(a, weekEnd.plusDays(1), a.getEndDate(), factor(a));
+                rows.add(after);
+                created.add(after);
+            }
+            LocalDate from = a.getStartDate().isAfter(weekStart) ? a.getStartDate() : weekStart;
+            LocalDate to = a.getEndDate().isBefore(weekEnd) ? a.getEndDate() : weekEnd;
+            if (personDays <= EPSILON) {
+                rows.remove(a);
+                modified.remove(a);
+                if (!created.remove(a)) {
+                    deleted.add(a);
+                }
+            } else {
+                setPeriod(a, from, to, factor(a) * ratio);
+                if (!created.contains(a)) {
+                    modified.add(a);
+                }
+            }
+        }
+    }
+
+    /**
+     * New allocation rows to insert
+     */
+    public Set<Allocation> getCreated() {
+        return created;
+    }
+
+    /**
+     * Existing allocation rows to delete
+     */
+    public Set<Allocation> getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Existing allocation rows whose period or factor changed
+     */
+    public Set<Allocation> getModified() {
+        return modified;
+    }
+
+    private void checkFactorBounds(Long resourceId, LocalDate weekStart, List<Allocation> overlapping,
+                                   double current, double ratio) {
+        double minRatio = 0.0;
+        double maxRatio = Double.MAX_VALUE;
+        for (Allocation a : overlapping) {
+            double factor = factor(a);
+            if (factor > EPSILON) {
+                minRatio = Math.max(minRatio, MIN_FACTOR / factor);
+                maxRatio = Math.min(maxRatio, MAX_FACTOR / factor);
+            }
+        }
+        if (ratio < minRatio - EPSILON || ratio > maxRatio + EPSILON) {
+            throw new ValidationException(String.format(Locale.ROOT,
+                "Resource %d week %s can only be set to 0 or between %.2f and %.2f person-days;"
+                    + " allocation factors must stay between %.1f and %.1f", resourceId, weekStart,
+                current * minRatio, current * maxRatio, MIN_FACTOR, MAX_FACTOR));
+        }
+    }
+
+    private Allocation copy(Allocation source, LocalDate start, LocalDate end, double factor) {
+        Allocation a = new Allocation();
+        a.setRelease(source.getRelease());
+        a.setResource(source.getResource());
+        a.setPhase(source.getPhase());
+        setPeriod(a, start, end, factor);
+        return a;
+    }
+
+    private void setPeriod(Allocation a, LocalDate start, LocalDate end, double factor) {
+        a.setStartDate(start);
+        a.setEndDate(end);
+        a.setAllocationFactor(factor);
+        a.setAllocationDays(factor * workingCalendar.countWorkingDays(start, end));
+    }
+
+    private static double factor(Allocation a) {
+        return a.getAllocationFactor() == null ? 0.0 : a.getAllocationFactor();
+    }
+}
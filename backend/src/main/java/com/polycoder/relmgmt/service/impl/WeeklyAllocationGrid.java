@@ -0,0 +1,126 @@
+package com.polycoder.relmgmt.service.impl;
+
+import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.entity.PhaseTypeEnum;
+import com.polycoder.relmgmt.entity.Release;
+import com.polycoder.relmgmt.service.WorkingCalendar;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Person-days per resource and week over a fixed window of Monday-based weeks. Each allocation is clamped to
+ * the window and its working days are added week by week, to the resource total and to its
+ * (resource, release, phase) breakdown.
+ */
+public class WeeklyAllocationGrid {
+
+    private final WorkingCalendar workingCalendar;
+
+    public WeeklyAllocationGrid(WorkingCalendar workingCalendar) {
+        this.workingCalendar = workingCalendar;
+    }
+
+    /**
+     * Weekly totals for one resource; {@link #release(int)} is the first allocation's release (in input order)
+     * that is active in the week, {@link #breakdown()} splits the totals by release and phase
+     */
+    public static class ResourceWeeks {
+        private final double[] personDays;
+        private final Release[] releases;
+        private final Map<List<Object>, ReleasePhaseWeeks> breakdown = new LinkedHashMap<>();
+
+        ResourceWeeks(int weeks) {
+            personDays = new double[weeks];
+            releases = new Release[weeks];
+        }
+
+        public double personDays(int week) {
+            return personDays[week];
+        }
+
+        public Release release(int week) {
+            return releases[week];
+        }
+
+        /**
+         * Per release and phase weekly person-days, in order of first appearance
+         */
+        public Collection<ReleasePhaseWeeks> breakdown() {
+            return breakdown.values();
+        }
+
+        private ReleasePhaseWeeks segment(Release release, PhaseTypeEnum phase, int weeks) {
+            Long releaseId = release == null ? null : release.getId();
+            return breakdown.computeIfAbsent(Arrays.asList(releaseId, phase), k -> new ReleasePhaseWeeks(release, phase, weeks));
+        }
+    }
+
+    /**
+     * Weekly person-days of one resource on one release and phase
+     */
+    public static class ReleasePhaseWeeks {
+        private final Release release;
+        private final PhaseTypeEnum phase;
+        private final double[] personDays;
+
+        ReleasePhaseWeeks(Release release, PhaseTypeEnum phase, int weeks) {
+            this.release = release;
+            this.phase = phase;
+            this.personDays = new double[weeks];
+        }
+
+        public Release release() {
+            return release;
+        }
+
+        public PhaseTypeEnum phase() {
+            return phase;
+        }
+
+        public double personDays(int week) {
+            return personDays[week];
+        }
+    }
+
+    /**
+     * Bucket allocations by resource id
+     * @param allocations allocations with their resources loaded
+     * @param firstWeekStart Monday of the first week
+     * @param weeks number of weeks in the window
+     * @return weekly totals keyed by resource id, for every resource with at least one allocation in the window
+     */
+    public Map<Long, ResourceWeeks> build(List<Allocation> allocations, LocalDate firstWeekStart, int weeks) {
+        long windowStart = firstWeekStart.toEpochDay();
+        long windowEnd = windowStart + 7L * weeks - 1;
+
+        Map<Long, ResourceWeeks> byResource = new HashMap<>();
+        for (Allocation a : allocations) {
+            long start = Math.max(a.getStartDate().toEpochDay(), windowStart);
+            long end = Math.min(a.getEndDate().toEpochDay(), windowEnd);
+            if (end < start) {
+                continue;
+            }
+            ResourceWeeks row = byResource.computeIfAbsent(a.getResource().getId(), id -> new ResourceWeeks(weeks));
+            ReleasePhaseWeeks segment = row.segment(a.getRelease(), a.getPhase(), weeks);
+            double factor = a.getAllocationFactor() == null ? 0.0 : a.getAllocationFactor();
+
+            for (int w = (int) ((start - windowStart) / 7); w <= (int) ((end - windowStart) / 7); w++) {
+                long weekStart = windowStart + 7L * w;
+                double personDays = factor * workingCalendar.countWorkingDays(Math.max(start, weekStart),
+                    Math.min(end, weekStart + 6));
+                row.personDays[w] += personDays;
+                segment.personDays[w] += personDays;
+                if (row.releases[w] == null) {
+                    row.releases[w] = a.getRelease();
+                }
+            }
+        }
+        return byResource;
+    }
+}
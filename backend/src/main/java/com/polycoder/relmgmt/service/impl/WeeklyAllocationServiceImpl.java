@@ -2,18 +2,31 @@ package com.polycoder.relmgmt.service.impl;
 
 import com.polycoder.relmgmt.dto.*;
 import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.entity.PhaseTypeEnum;
+import com.polycoder.relmgmt.entity.Release;
 import com.polycoder.relmgmt.entity.Resource;
+import com.polycoder.relmgmt.entity.SkillFunctionEnum;
+import com.polycoder.relmgmt.entity.SkillSubFunctionEnum;
+import com.polycoder.relmgmt.exception.ConflictException;
+import com.polycoder.relmgmt.exception.ValidationException;
 import com.polycoder.relmgmt.repository.AllocationRepository;
+import com.polycoder.relmgmt.repository.AllocationWeekRepository;
 import com.polycoder.relmgmt.repository.ResourceRepository;
 import com.polycoder.relmgmt.service.WeeklyAllocationService;
+import com.polycoder.relmgmt.service.WorkingCalendar;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -28,51 +41,95 @@ public class WeeklyAllocationServiceImpl implements WeeklyAllocationService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final int WEEKS_BEFORE_CURRENT = 4;
     private static final int WEEKS_AFTER_CURRENT = 24;
-    private static final int TOTAL_WEEKS = WEEKS_BEFORE_CURRENT + 1 + WEEKS_AFTER_CURRENT; // 29 weeks total
+    // Matches the conflict threshold used by AllocationServiceImpl (standard 4.5 person-day week plus epsilon)
+    private static final double OVER_ALLOCATION_THRESHOLD = 4.5 + 1e-9;
+    // Keeps IN lists well under database bind-parameter limits when the matrix is requested unpaged
+    private static final int RESOURCE_ID_CHUNK_SIZE = 1000;
+    // Tolerance when comparing a client's expected person-days with the stored week
+    private static final double EDIT_EPSILON = 1e-6;
 
     private final AllocationRepository allocationRepository;
     private final ResourceRepository resourceRepository;
+    private final AllocationWeekRepository allocationWeekRepository;
+    private final WorkingCalendar workingCalendar;
+    private final WeeklyAllocationGrid allocationGrid;
+    private final AllocationWeekExpander weekExpander;
 
     public WeeklyAllocationServiceImpl(AllocationRepository allocationRepository, 
-                                     ResourceRepository resourceRepository) {
+                                     ResourceRepository resourceRepository,
+                                     AllocationWeekRepository allocationWeekRepository,
+                                     WorkingCalendar workingCalendar) {
         this.allocationRepository = allocationRepository;
         this.resourceRepository = resourceRepository;
+        this.allocationWeekRepository = allocationWeekRepository;
+        this.workingCalendar = workingCalendar;
+        this.allocationGrid = new WeeklyAllocationGrid(workingCalendar);
+        this.weekExpander = new AllocationWeekExpander(workingCalendar);
     }
 
     @Override
     public WeeklyAllocationMatrixResponse getWeeklyAllocations(String currentWeekStart) {
-        log.info("Getting weekly allocations for current week: {}", currentWeekStart);
+        return getWeeklyAllocations(currentWeekStart, WEEKS_BEFORE_CURRENT, WEEKS_AFTER_CURRENT,
+            null, null, false, null, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WeeklyAllocationMatrixResponse getWeeklyAllocations(String currentWeekStart, int weeksBefore, int weeksAfter,
+                                                               SkillFunctionEnum skillFunction,
+                                                               SkillSubFunctionEnum skillSubFunction,
+                                                               boolean overAllocatedOnly, Integer page, Integer size) {
+        log.info("Getting weekly allocations for current week: {} (-{}/+{} weeks, page {}, size {})",
+                currentWeekStart, weeksBefore, weeksAfter, page, size);
         
         LocalDate currentWeek = LocalDate.parse(currentWeekStart, DATE_FORMATTER);
-        LocalDate startWeek = currentWeek.minusWeeks(WEEKS_BEFORE_CURRENT);
-        LocalDate endWeek = currentWeek.plusWeeks(WEEKS_AFTER_CURRENT);
+        LocalDate startWeek = currentWeek.minusWeeks(weeksBefore);
+        LocalDate endWeek = currentWeek.plusWeeks(weeksAfter);
+        int totalWeeks = weeksBefore + 1 + weeksAfter;
+        LocalDate firstMonday = getMondayOfWeek(startWeek);
+        LocalDate lastMonday = firstMonday.plusWeeks(totalWeeks - 1);
         
-        // Get all allocations within the time window
-        List<Allocation> allocations = allocationRepository.findByDateRange(startWeek, endWeek);
-        log.info("Found {} allocations in time window", allocations.size());
+        // Filter and page resources in the database; over-allocation is read from the weekly load table
+        Pageable pageable = size == null ? Pageable.unpaged() : PageRequest.of(page == null ? 0 : page, size);
+        Page<Resource> resourcePage = resourceRepository.findAllocatedInWindow(startWeek, endWeek,
+            firstMonday, lastMonday, skillFunction, skillSubFunction, overAllocatedOnly,
+            OVER_ALLOCATION_THRESHOLD, pageable);
+        List<Resource> resources = resourcePage.getContent();
+        log.info("Retrieved {} of {} resources with allocations", resources.size(), resourcePage.getTotalElements());
         
-        // Get only resources that have allocations in the time window
-        Set<Long> resourceIdsWithAllocations = allocations.stream()
-            .map(allocation -> allocation.getResource().getId())
-            .collect(Collectors.toSet());
-        log.info("Found {} unique resources with allocations", resourceIdsWithAllocations.size());
-        
-        List<Resource> resourcesWithAllocations = resourceRepository.findByIdIn(resourceIdsWithAllocations);
-        log.info("Retrieved {} resources with allocations", resourcesWithAllocations.size());
+        // Read this page's weekly totals from the allocation_weeks index, already grouped by release and phase
+        Map<Long, List<Object[]>> weekRows = new HashMap<>();
+        List<Long> resourceIds = resources.stream().map(Resource::getId).collect(Collectors.toList());
+        int rowCount = 0;
+        for (int from = 0; from < resourceIds.size(); from += RESOURCE_ID_CHUNK_SIZE) {
+            List<Long> chunk = resourceIds.subList(from, Math.min(from + RESOURCE_ID_CHUNK_SIZE, resourceIds.size()));
+            for (Object[] row : allocationWeekRepository.sumByResourceWeekReleaseAndPhase(chunk, firstMonday, lastMonday)) {
+                weekRows.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row);
+                rowCount++;
+            }
+        }
+        log.info("Found {} resource week rows in time window", rowCount);
         
-        // Build resource allocation responses for only allocated resources
-        List<ResourceAllocationResponse> resourceAllocations = resourcesWithAllocations.stream()
-            .map(resource -> buildResourceAllocationResponse(resource, allocations, startWeek, endWeek))
+        List<ResourceAllocationResponse> resourceAllocations = resources.stream()
+            .map(resource -> buildResourceAllocationResponse(resource,
+                buildWeeklyAllocations(weekRows.getOrDefault(resource.getId(), List.of()), firstMonday, totalWeeks)))
             .collect(Collectors.toList());
         
         // Build time window response
         TimeWindowResponse timeWindow = new TimeWindowResponse(
             startWeek.format(DATE_FORMATTER),
             endWeek.format(DATE_FORMATTER),
-            TOTAL_WEEKS
+            totalWeeks
         );
         
-        return new WeeklyAllocationMatrixResponse(resourceAllocations, currentWeekStart, timeWindow);
+        WeeklyAllocationMatrixResponse response = new WeeklyAllocationMatrixResponse(resourceAllocations, currentWeekStart, timeWindow);
+        if (resourcePage.getPageable().isPaged()) {
+            response.setPage(resourcePage.getNumber());
+            response.setSize(resourcePage.getSize());
+        }
+        response.setTotalResources(resourcePage.getTotalElements());
+        response.setTotalPages(resourcePage.getTotalPages());
+        return response;
     }
 
     @Override
@@ -80,14 +137,97 @@ public class WeeklyAllocationServiceImpl implements WeeklyAllocationService {
         log.info("Updating weekly allocation for resource {} on week {} to {} person days", 
                 resourceId, weekStart, personDays);
         
-        // This is a placeholder implementation
-        // In a real implementation, you would:
-        // 1. Find or create allocation records for the specific week
-        // 2. Update the allocation factor based on person days
-        // 3. Save the changes
-        
-        // For now, we'll just log the update
-        log.info("Weekly allocation update requested - implementation pending");
+        Long id;
+        LocalDate week;
+        try {
+            id = Long.parseLong(resourceId);
+            week = LocalDate.parse(weekStart, DATE_FORMATTER);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new ValidationException("Invalid resource ID or week start: " + resourceId + ", " + weekStart);
+        }
+        updateWeeklyAllocations(List.of(new WeeklyAllocationUpdateRequest(id, week, personDays, null)));
+    }
+
+    @Override
+    public List<WeeklyAllocationUpdateResponse> updateWeeklyAllocations(List<WeeklyAllocationUpdateRequest> updates) {
+        if (updates == null || updates.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<List<Object>> cells = new HashSet<>();
+        LocalDate firstWeek = null;
+        LocalDate lastWeek = null;
+        for (WeeklyAllocationUpdateRequest update : updates) {
+            if (update.getResourceId() == null || update.getWeekStart() == null) {
+                throw new ValidationException("Resource ID and week start are required");
+            }
+            if (update.getPersonDays() == null || update.getPersonDays() < 0) {
+                throw new ValidationException("Person days must not be negative");
+            }
+            LocalDate week = getMondayOfWeek(update.getWeekStart());
+            if (!cells.add(Arrays.asList(update.getResourceId(), week))) {
+                throw new ValidationException("Duplicate update for resource " + update.getResourceId() + " in week " + week);
+            }
+            firstWeek = firstWeek == null || week.isBefore(firstWeek) ? week : firstWeek;
+            lastWeek = lastWeek == null || week.isAfter(lastWeek) ? week : lastWeek;
+        }
+
+        // Load every allocation the batch can touch in one query
+        Set<Long> resourceIds = updates.stream().map(WeeklyAllocationUpdateRequest::getResourceId).collect(Collectors.toSet());
+        List<Allocation> allocations = allocationRepository.findByResourceIdsAndDateRange(resourceIds, firstWeek, lastWeek.plusDays(6));
+        WeeklyAllocationEditor editor = new WeeklyAllocationEditor(workingCalendar, allocations);
+
+        List<WeeklyAllocationUpdateResponse> results = new ArrayList<>(updates.size());
+        for (WeeklyAllocationUpdateRequest update : updates) {
+            Long resourceId = update.getResourceId();
+            LocalDate week = getMondayOfWeek(update.getWeekStart());
+            if (update.getExpectedPersonDays() != null) {
+                double current = editor.personDays(resourceId, week);
+                if (Math.abs(current - update.getExpectedPersonDays()) > EDIT_EPSILON) {
+                    throw new ConflictException("Allocation of resource " + resourceId + " in week " + week
+                        + " has changed: expected " + update.getExpectedPersonDays() + " person days, found " + current);
+                }
+            }
+            editor.setPersonDays(resourceId, week, update.getPersonDays());
+
+            List<Allocation> inWeek = editor.inWeek(resourceId, week);
+            results.add(new WeeklyAllocationUpdateResponse(resourceId.toString(), week.format(DATE_FORMATTER),
+                editor.personDays(resourceId, week), buildBreakdown(editor, inWeek, week)));
+        }
+
+        // Week rows of changed allocations are rewritten; removed allocations lose theirs
+        List<Long> staleIds = new ArrayList<>();
+        editor.getModified().forEach(a -> staleIds.add(a.getId()));
+        editor.getDeleted().forEach(a -> staleIds.add(a.getId()));
+        if (!staleIds.isEmpty()) {
+            allocationWeekRepository.deleteByAllocationIds(staleIds);
+        }
+        allocationRepository.deleteAll(editor.getDeleted());
+        allocationRepository.saveAll(editor.getCreated());
+        // Surface optimistic lock failures here rather than at commit
+        allocationRepository.flush();
+        List<Allocation> rewritten = new ArrayList<>(editor.getModified());
+        rewritten.addAll(editor.getCreated());
+        allocationWeekRepository.insertInBatch(weekExpander.expand(rewritten));
+        log.info("Applied {} weekly allocation updates: {} allocations created, {} deleted",
+                updates.size(), editor.getCreated().size(), editor.getDeleted().size());
+        return results;
+    }
+
+    private List<WeeklyAllocationBreakdownResponse> buildBreakdown(WeeklyAllocationEditor editor,
+                                                                   List<Allocation> inWeek,
+                                                                   LocalDate week) {
+        Map<List<Object>, WeeklyAllocationBreakdownResponse> byReleaseAndPhase = new LinkedHashMap<>();
+        for (Allocation a : inWeek) {
+            double personDays = editor.personDaysInWeek(a, week);
+            if (personDays <= 0.0) {
+                continue;
+            }
+            Release release = a.getRelease();
+            WeeklyAllocationBreakdownResponse entry = byReleaseAndPhase.computeIfAbsent(Arrays.asList(release.getId(), a.getPhase()),
+                k -> new WeeklyAllocationBreakdownResponse(release.getId().toString(), release.getName(), a.getPhase(), 0.0));
+            entry.setPersonDays(entry.getPersonDays() + personDays);
+        }
+        return new ArrayList<>(byReleaseAndPhase.values());
     }
 
     @Override
@@ -118,22 +258,17 @@ public class WeeklyAllocationServiceImpl implements WeeklyAllocationService {
         
         List<Allocation> allocations = allocationRepository.findByResourceIdAndDateRange(id, start, end);
         
-        return buildWeeklyAllocationsForResource(allocations, start, end);
+        if (end.isBefore(start)) {
+            return new ArrayList<>();
+        }
+        // One entry per week stepping from the start date up to the end date
+        int weeks = (int) (ChronoUnit.DAYS.between(start, end) / 7) + 1;
+        Map<Long, WeeklyAllocationGrid.ResourceWeeks> grid = allocationGrid.build(allocations, getMondayOfWeek(start), weeks);
+        return buildWeeklyAllocations(grid.get(id), getMondayOfWeek(start), weeks);
     }
 
-    private ResourceAllocationResponse buildResourceAllocationResponse(Resource resource, 
-                                                                     List<Allocation> allAllocations, 
-                                                                     LocalDate startWeek, 
-                                                                     LocalDate endWeek) {
-        // Filter allocations for this resource
-        List<Allocation> resourceAllocations = allAllocations.stream()
-            .filter(allocation -> allocation.getResource().getId().equals(resource.getId()))
-            .collect(Collectors.toList());
-        
-        // Build weekly allocations
-        List<WeeklyAllocationResponse> weeklyAllocations = buildWeeklyAllocationsForResource(
-            resourceAllocations, startWeek, endWeek);
-        
+    private ResourceAllocationResponse buildResourceAllocationResponse(Resource resource,
+                                                                     List<WeeklyAllocationResponse> weeklyAllocations) {
         return new ResourceAllocationResponse(
             resource.getId().toString(),
             resource.getName(),
@@ -145,52 +280,66 @@ public class WeeklyAllocationServiceImpl implements WeeklyAllocationService {
         );
     }
 
-    private List<WeeklyAllocationResponse> buildWeeklyAllocationsForResource(List<Allocation> allocations, 
-                                                                           LocalDate startWeek, 
-                                                                           LocalDate endWeek) {
-        List<WeeklyAllocationResponse> weeklyAllocations = new ArrayList<>();
-        
-        // Generate all weeks in the range
-        LocalDate currentWeek = startWeek;
-        while (!currentWeek.isAfter(endWeek)) {
-            LocalDate weekStart = getMondayOfWeek(currentWeek);
-            LocalDate weekEnd = weekStart.plusDays(6);
-            
-            // Calculate total person days for this week
-            double totalPersonDays = 0.0;
-            String projectName = null;
-            String projectId = null;
-            
-            for (Allocation allocation : allocations) {
-                if (isAllocationActiveInWeek(allocation, weekStart, weekEnd)) {
-                    // Calculate the overlap between allocation and week
-                    LocalDate overlapStart = allocation.getStartDate().isAfter(weekStart) ? 
-                        allocation.getStartDate() : weekStart;
-                    LocalDate overlapEnd = allocation.getEndDate().isBefore(weekEnd) ? 
-                        allocation.getEndDate() : weekEnd;
-                    
-                    int workingDays = countWorkingDays(overlapStart, overlapEnd);
-                    double weeklyAllocation = workingDays * allocation.getAllocationFactor();
-                    totalPersonDays += weeklyAllocation;
-                    
-                    // Use the first project name found (in a real implementation, you might want to aggregate)
-                    if (projectName == null && allocation.getRelease() != null) {
-                        projectName = allocation.getRelease().getName();
-                        projectId = allocation.getRelease().getId().toString();
+    /**
+     * Weekly cells from [resourceId, weekStart, releaseId, releaseName, phase, personDays] rows of one resource;
+     * the week's project is the release of its first row
+     */
+    private List<WeeklyAllocationResponse> buildWeeklyAllocations(List<Object[]> rows,
+                                                                  LocalDate firstWeekStart,
+                                                                  int weekCount) {
+        List<WeeklyAllocationResponse> weeklyAllocations = new ArrayList<>(weekCount);
+        for (int w = 0; w < weekCount; w++) {
+            weeklyAllocations.add(new WeeklyAllocationResponse(firstWeekStart.plusWeeks(w).format(DATE_FORMATTER),
+                0.0, null, null));
+        }
+        for (Object[] row : rows) {
+            int w = (int) (ChronoUnit.DAYS.between(firstWeekStart, (LocalDate) row[1]) / 7);
+            if (w < 0 || w >= weekCount) {
+                continue;
+            }
+            WeeklyAllocationResponse weekly = weeklyAllocations.get(w);
+            String releaseId = row[2].toString();
+            String releaseName = (String) row[3];
+            double personDays = ((Number) row[5]).doubleValue();
+            if (weekly.getProjectId() == null) {
+                weekly.setProjectId(releaseId);
+                weekly.setProjectName(releaseName);
+            }
+            weekly.setPersonDays(weekly.getPersonDays() + personDays);
+            weekly.getBreakdown().add(new WeeklyAllocationBreakdownResponse(releaseId, releaseName,
+                (PhaseTypeEnum) row[4], personDays));
+        }
+        return weeklyAllocations;
+    }
+
+    private List<WeeklyAllocationResponse> buildWeeklyAllocations(WeeklyAllocationGrid.ResourceWeeks weeks,
+                                                                  LocalDate firstWeekStart,
+                                                                  int weekCount) {
+        List<WeeklyAllocationResponse> weeklyAllocations = new ArrayList<>(weekCount);
+        for (int w = 0; w < weekCount; w++) {
+            Release release = weeks == null ? null : weeks.release(w);
+            WeeklyAllocationResponse weekly = new WeeklyAllocationResponse(
+                firstWeekStart.plusWeeks(w).format(DATE_FORMATTER),
+                weeks == null ? 0.0 : weeks.personDays(w),
+                release != null ? release.getName() : null,
+                release != null ? release.getId().toString() : null
+            );
+            if (weeks != null) {
+                for (WeeklyAllocationGrid.ReleasePhaseWeeks segment : weeks.breakdown()) {
+                    double personDays = segment.personDays(w);
+                    if (personDays > 0.0) {
+                        Release segmentRelease = segment.release();
+                        weekly.getBreakdown().add(new WeeklyAllocationBreakdownResponse(
+                            segmentRelease != null ? segmentRelease.getId().toString() : null,
+                            segmentRelease != null ? segmentRelease.getName() : null,
+                            segment.phase(),
+                            personDays
+                        ));
                     }
                 }
             }
-            
-            weeklyAllocations.add(new WeeklyAllocationResponse(
-                weekStart.format(DATE_FORMATTER),
-                totalPersonDays,
-                projectName,
-                projectId
-            ));
-            
-            currentWeek = currentWeek.plusWeeks(1);
+            weeklyAllocations.add(weekly);
         }
-        
         return weeklyAllocations;
     }
 
@@ -198,21 +347,4 @@ public class WeeklyAllocationServiceImpl implements WeeklyAllocationService {
         return date.with(DayOfWeek.MONDAY);
     }
 
-    private boolean isAllocationActiveInWeek(Allocation allocation, LocalDate weekStart, LocalDate weekEnd) {
-        return !allocation.getStartDate().isAfter(weekEnd) && 
-               !allocation.getEndDate().isBefore(weekStart);
-    }
-
-    private int countWorkingDays(LocalDate start, LocalDate end) {
-        int count = 0;
-        LocalDate d = start;
-        while (!d.isAfter(end)) {
-            DayOfWeek dow = d.getDayOfWeek();
-            if (dow != DayOfWeek.SATURDAY && dow != DayOfWeek.SUNDAY) {
-                count++;
-            }
-            d = d.plusDays(1);
-        }
-        return count;
-    }
 }
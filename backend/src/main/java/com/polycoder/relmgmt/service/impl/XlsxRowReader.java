@@ -0,0 +1,111 @@
+package com.polycoder.relmgmt.service.impl;
+
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JRuntimeException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Reads the first sheet of an .xlsx file row by row with POI's SAX event API, so memory stays bounded by
+ * the shared strings table rather than growing with the number of rows. Cell values are rendered the same
+ * way the workbook-based import reads them: dates as ISO dates and whole numbers without decimals.
+ */
+public class XlsxRowReader {
+
+    private final int columns;
+
+    public XlsxRowReader(int columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * @param file an .xlsx file
+     * @param handler called for every row after the header, with 1-based (spreadsheet) row numbers
+     * @throws IOException if the file cannot be read or is not a valid .xlsx package
+     */
+    public void read(File file, ImportRowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            XSSFSheetXMLHandler sheetHandler = new XSSFSheetXMLHandler(reader.getStylesTable(),
+                new ReadOnlySharedStringsTable(pkg), new RowCollector(handler), new ImportDataFormatter(), false);
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(sheetHandler);
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | OpenXML4JRuntimeException | POIXMLException | UnsupportedFileFormatException
+                 | SAXException | ParserConfigurationException e) {
+            throw new IOException("Invalid .xlsx file: " + e.getMessage(), e);
+        }
+    }
+
+    private class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final ImportRowHandler handler;
+        private final String[] cells = new String[columns];
+
+        RowCollector(ImportRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(cells, null);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            // Skip header row
+            if (rowNum > 0) {
+                handler.row(rowNum + 1, cells.clone());
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference == null) {
+                return;
+            }
+            int column = new CellReference(cellReference).getCol();
+            if (column < columns) {
+                cells[column] = formattedValue;
+            }
+        }
+    }
+
+    /**
+     * Renders numeric cells like the workbook-based import: dates as ISO dates, other numbers as whole numbers
+     */
+    private static class ImportDataFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toLocalDate().toString();
+            }
+            return String.valueOf((long) value);
+        }
+    }
+}
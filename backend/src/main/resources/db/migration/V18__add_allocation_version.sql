@@ -0,0 +1,2 @@
+-- Optimistic locking for week-level allocation edits
+ALTER TABLE allocations ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
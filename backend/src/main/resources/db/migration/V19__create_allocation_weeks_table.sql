@@ -0,0 +1,42 @@
+-- Week-granular person-days per allocation, maintained whenever allocations are written
+CREATE TABLE allocation_weeks (
+    id BIGSERIAL PRIMARY KEY,
+    allocation_id BIGINT NOT NULL,
+    resource_id BIGINT NOT NULL,
+    week_start DATE NOT NULL,
+    person_days DOUBLE PRECISION NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Add foreign key constraints
+ALTER TABLE allocation_weeks
+    ADD CONSTRAINT fk_allocation_weeks_allocation
+    FOREIGN KEY (allocation_id) REFERENCES allocations(id) ON DELETE CASCADE;
+
+ALTER TABLE allocation_weeks
+    ADD CONSTRAINT fk_allocation_weeks_resource
+    FOREIGN KEY (resource_id) REFERENCES resources(id) ON DELETE CASCADE;
+
+-- One row per allocation and week; the unique index also serves deletes by allocation
+ALTER TABLE allocation_weeks
+    ADD CONSTRAINT uk_allocation_weeks_allocation_week
+    UNIQUE (allocation_id, week_start);
+
+-- Matrix reads scan a resource's weeks, reports scan all resources for a week range
+CREATE INDEX idx_allocation_weeks_resource_week ON allocation_weeks(resource_id, week_start);
+CREATE INDEX idx_allocation_weeks_week ON allocation_weeks(week_start);
+
+-- Backfill from existing allocations (Monday-Friday working days)
+INSERT INTO allocation_weeks (allocation_id, resource_id, week_start, person_days, created_at, updated_at)
+SELECT a.id,
+       a.resource_id,
+       CAST(date_trunc('week', d) AS DATE),
+       SUM(a.allocation_factor),
+       CURRENT_TIMESTAMP,
+       CURRENT_TIMESTAMP
+FROM allocations a
+CROSS JOIN LATERAL generate_series(CAST(a.start_date AS TIMESTAMP), CAST(a.end_date AS TIMESTAMP), INTERVAL '1 day') AS d
+WHERE EXTRACT(ISODOW FROM d) < 6
+GROUP BY a.id, a.resource_id, CAST(date_trunc('week', d) AS DATE)
+HAVING SUM(a.allocation_factor) > 0;
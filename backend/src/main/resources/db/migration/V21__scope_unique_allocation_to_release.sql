@@ -0,0 +1,6 @@
+-- Week-level edits split allocations at week boundaries, so the same resource can hold identical
+-- phase/date slices on different releases; uniqueness only applies within a release
+DROP INDEX IF EXISTS idx_unique_allocation;
+
+CREATE UNIQUE INDEX idx_unique_allocation
+    ON allocations(resource_id, release_id, phase, start_date, end_date);
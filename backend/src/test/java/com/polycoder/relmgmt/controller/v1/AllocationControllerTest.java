@@ -2,7 +2,9 @@ package com.polycoder.relmgmt.controller.v1;
 
 import com.polycoder.relmgmt.dto.AllocationConflictResponse;
 import com.polycoder.relmgmt.dto.AllocationDto;
+import com.polycoder.relmgmt.dto.AllocationRegenerationResponse;
 import com.polycoder.relmgmt.dto.WeeklyAllocationMatrixResponse;
+import com.polycoder.relmgmt.dto.WeeklyAllocationUpdateResponse;
 import com.polycoder.relmgmt.dto.ResourceProfileResponse;
 import com.polycoder.relmgmt.entity.Allocation;
 import com.polycoder.relmgmt.entity.PhaseTypeEnum;
@@ -10,6 +12,8 @@ import com.polycoder.relmgmt.entity.Resource;
 import com.polycoder.relmgmt.entity.SkillFunctionEnum;
 import com.polycoder.relmgmt.entity.SkillSubFunctionEnum;
 import com.polycoder.relmgmt.entity.StatusEnum;
+import com.polycoder.relmgmt.exception.ConflictException;
+import com.polycoder.relmgmt.service.AllocationRegenerationService;
 import com.polycoder.relmgmt.service.AllocationService;
 import com.polycoder.relmgmt.service.WeeklyAllocationService;
 import org.junit.jupiter.api.Test;
@@ -24,6 +28,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -43,12 +48,16 @@ class AllocationControllerTest {
     @MockBean
     private WeeklyAllocationService weeklyAllocationService;
 
+    @MockBean
+    private AllocationRegenerationService allocationRegenerationService;
+
     // ObjectMapper is not needed for these endpoints
 
     @Test
     @WithMockUser
     void testGenerateAllocation() throws Exception {
         doNothing().when(allocationService).generateAllocation(1L);
+        runExclusiveInline();
 
         mockMvc.perform(post("/api/v1/releases/1/allocate"))
             .andExpect(status().isAccepted());
@@ -56,6 +65,46 @@ class AllocationControllerTest {
         verify(allocationService).generateAllocation(1L);
     }
 
+    @Test
+    @WithMockUser
+    void testRegenerateAllReleases() throws Exception {
+        AllocationRegenerationResponse.ReleaseResult result =
+            new AllocationRegenerationResponse.ReleaseResult(1L, "Alpha", true, 12L, null);
+        AllocationRegenerationResponse response = new AllocationRegenerationResponse(
+            "job-1", "RUNNING", 2, 1, 0, null, null, 15L, List.of(result));
+        when(allocationRegenerationService.startRegeneration(null)).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/allocations/regenerations"))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.jobId").value("job-1"))
+            .andExpect(jsonPath("$.totalReleases").value(2))
+            .andExpect(jsonPath("$.results[0].durationMs").value(12));
+
+        verify(allocationRegenerationService).startRegeneration(null);
+    }
+
+    @Test
+    @WithMockUser
+    void testRegenerateAllReleasesReturns503WhenQueueIsFull() throws Exception {
+        when(allocationRegenerationService.startRegeneration(null)).thenThrow(new RejectedExecutionException("full"));
+
+        mockMvc.perform(post("/api/v1/allocations/regenerations"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "30"));
+    }
+
+    @Test
+    @WithMockUser
+    void testGenerateAllocationConflictsWithRunningRegeneration() throws Exception {
+        doThrow(new ConflictException("Allocations of release 1 are already being regenerated"))
+            .when(allocationRegenerationService).runExclusive(eq(1L), any());
+
+        mockMvc.perform(post("/api/v1/releases/1/allocate"))
+            .andExpect(status().isConflict());
+
+        verify(allocationService, never()).generateAllocation(1L);
+    }
+
     @Test
     @WithMockUser
     void testGetAllocationsForRelease() throws Exception {
@@ -104,20 +153,51 @@ class AllocationControllerTest {
         verify(allocationService).getAllocationsForResource(5L);
     }
 
+    @Test
+    @WithMockUser
+    void testDeleteAllocationsForRelease() throws Exception {
+        runExclusiveInline();
+        mockMvc.perform(delete("/api/v1/releases/1/allocations"))
+            .andExpect(status().isOk());
+
+        verify(allocationService).deleteAllocationsForRelease(1L);
+    }
+
     @Test
     @WithMockUser
     void testGetAllocationConflicts() throws Exception {
         AllocationConflictResponse.WeeklyConflict w = new AllocationConflictResponse.WeeklyConflict(
             LocalDate.of(2025, 4, 7), 6.0, 4.5, 1.5);
         AllocationConflictResponse resp = new AllocationConflictResponse(100L, "Overloaded User", List.of(w));
-        when(allocationService.getAllocationConflicts()).thenReturn(List.of(resp));
+        when(allocationService.getAllocationConflicts(null, null, null)).thenReturn(List.of(resp));
 
         mockMvc.perform(get("/api/v1/allocations/conflicts").contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$[0].resourceId").value(100))
             .andExpect(jsonPath("$[0].weeklyConflicts[0].overAllocation").value(1.5));
 
-        verify(allocationService).getAllocationConflicts();
+        verify(allocationService).getAllocationConflicts(null, null, null);
+    }
+
+    @Test
+    @WithMockUser
+    void testGetAllocationConflicts_WithWindowAndResourceFilter() throws Exception {
+        LocalDate from = LocalDate.of(2025, 4, 1);
+        LocalDate to = LocalDate.of(2025, 6, 30);
+        when(allocationService.getAllocationConflicts(from, to, List.of(100L, 200L))).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/allocations/conflicts")
+                .param("from", "2025-04-01")
+                .param("to", "2025-06-30")
+                .param("resourceIds", "100", "200"))
+            .andExpect(status().isOk());
+
+        verify(allocationService).getAllocationConflicts(from, to, List.of(100L, 200L));
+
+        mockMvc.perform(get("/api/v1/allocations/conflicts")
+                .param("from", "2025-06-30")
+                .param("to", "2025-04-01"))
+            .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -126,7 +206,8 @@ class AllocationControllerTest {
         WeeklyAllocationMatrixResponse mockResponse = new WeeklyAllocationMatrixResponse();
         mockResponse.setCurrentWeekStart("2024-09-01");
         
-        when(weeklyAllocationService.getWeeklyAllocations("2024-09-01")).thenReturn(mockResponse);
+        when(weeklyAllocationService.getWeeklyAllocations("2024-09-01", 4, 24, null, null, false, null, null))
+            .thenReturn(mockResponse);
 
         mockMvc.perform(get("/api/v1/allocations/weekly")
                 .param("currentWeekStart", "2024-09-01")
@@ -134,7 +215,41 @@ class AllocationControllerTest {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.currentWeekStart").value("2024-09-01"));
 
-        verify(weeklyAllocationService).getWeeklyAllocations("2024-09-01");
+        verify(weeklyAllocationService).getWeeklyAllocations("2024-09-01", 4, 24, null, null, false, null, null);
+    }
+
+    @Test
+    @WithMockUser
+    void testGetWeeklyAllocations_WithWindowFiltersAndPaging() throws Exception {
+        WeeklyAllocationMatrixResponse mockResponse = new WeeklyAllocationMatrixResponse();
+        mockResponse.setPage(1);
+        mockResponse.setTotalResources(120L);
+
+        when(weeklyAllocationService.getWeeklyAllocations("2024-09-02", 2, 8, SkillFunctionEnum.BUILD,
+            SkillSubFunctionEnum.FORGEROCK_IDM, true, 1, 50)).thenReturn(mockResponse);
+
+        mockMvc.perform(get("/api/v1/allocations/weekly")
+                .param("currentWeekStart", "2024-09-02")
+                .param("weeksBefore", "2")
+                .param("weeksAfter", "8")
+                .param("skillFunction", "BUILD")
+                .param("skillSubFunction", "FORGEROCK_IDM")
+                .param("overAllocatedOnly", "true")
+                .param("page", "1")
+                .param("size", "50"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.page").value(1))
+            .andExpect(jsonPath("$.totalResources").value(120));
+
+        mockMvc.perform(get("/api/v1/allocations/weekly")
+                .param("currentWeekStart", "2024-09-02")
+                .param("size", "0"))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/allocations/weekly")
+                .param("currentWeekStart", "2024-09-02")
+                .param("weeksAfter", "500"))
+            .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -150,6 +265,41 @@ class AllocationControllerTest {
         verify(weeklyAllocationService).updateWeeklyAllocation("1", "2024-09-01", 4.5);
     }
 
+    @Test
+    @WithMockUser
+    void testUpdateWeeklyAllocations_Batch() throws Exception {
+        WeeklyAllocationUpdateResponse updated = new WeeklyAllocationUpdateResponse("1", "2024-09-02", 2.0, List.of());
+        when(weeklyAllocationService.updateWeeklyAllocations(argThat(updates -> updates.size() == 2
+                && updates.get(0).getResourceId() == 1L && updates.get(1).getExpectedPersonDays() == 4.5)))
+            .thenReturn(List.of(updated));
+
+        mockMvc.perform(put("/api/v1/allocations/weekly")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"updates\":[" +
+                    "{\"resourceId\":1,\"weekStart\":\"2024-09-02\",\"personDays\":2.0}," +
+                    "{\"resourceId\":2,\"weekStart\":\"2024-09-02\",\"personDays\":0,\"expectedPersonDays\":4.5}]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].resourceId").value("1"))
+            .andExpect(jsonPath("$[0].personDays").value(2.0));
+
+        mockMvc.perform(put("/api/v1/allocations/weekly")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"updates\":[{\"resourceId\":1,\"weekStart\":\"2024-09-02\",\"personDays\":-1}]}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void testUpdateWeeklyAllocations_StaleEditReturnsConflict() throws Exception {
+        when(weeklyAllocationService.updateWeeklyAllocations(anyList()))
+            .thenThrow(new ConflictException("Allocation of resource 1 in week 2024-09-02 has changed"));
+
+        mockMvc.perform(put("/api/v1/allocations/weekly")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"updates\":[{\"resourceId\":1,\"weekStart\":\"2024-09-02\",\"personDays\":2.0,\"expectedPersonDays\":4.5}]}"))
+            .andExpect(status().isConflict());
+    }
+
     @Test
     @WithMockUser
     void testGetResourceProfile() throws Exception {
@@ -183,6 +333,11 @@ class AllocationControllerTest {
         mockMvc.perform(get("/api/v1/allocations/conflicts"))
             .andExpect(status().isOk());
     }
-}
-
 
+    private void runExclusiveInline() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(allocationRegenerationService).runExclusive(any(), any());
+    }
+}
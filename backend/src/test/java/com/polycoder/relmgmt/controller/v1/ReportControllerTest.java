@@ -2,6 +2,11 @@ package com.polycoder.relmgmt.controller.v1;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.polycoder.relmgmt.dto.AllocationConflictResponse;
+import com.polycoder.relmgmt.dto.ReportFormat;
+import com.polycoder.relmgmt.dto.ReportJobResponse;
+import com.polycoder.relmgmt.exception.GlobalExceptionHandler;
+import com.polycoder.relmgmt.exception.ValidationException;
+import com.polycoder.relmgmt.service.ReportJobService;
 import com.polycoder.relmgmt.service.ReportService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,14 +16,21 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +39,9 @@ public class ReportControllerTest {
     @Mock
     private ReportService reportService;
 
+    @Mock
+    private ReportJobService reportJobService;
+
     @InjectMocks
     private ReportController reportController;
 
@@ -35,7 +50,9 @@ public class ReportControllerTest {
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(reportController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(reportController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
         objectMapper = new ObjectMapper();
         objectMapper.findAndRegisterModules();
     }
@@ -92,12 +109,17 @@ public class ReportControllerTest {
     @Test
     void testExportReport() throws Exception {
         byte[] bytes = new byte[]{1, 2, 3};
-        when(reportService.exportReport(eq("ALLOCATION_CONFLICTS"), any())).thenReturn(bytes);
+        stubExport("ALLOCATION_CONFLICTS", bytes);
 
-        mockMvc.perform(get("/api/v1/reports/export")
+        MvcResult result = mockMvc.perform(get("/api/v1/reports/export")
                         .param("type", "ALLOCATION_CONFLICTS")
                         .param("year", "2025"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes))
                 .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString("attachment")))
                 .andExpect(content().contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
     }
@@ -134,13 +156,18 @@ public class ReportControllerTest {
     @Test
     void testExportResourceUtilizationReport() throws Exception {
         byte[] bytes = new byte[]{4, 5, 6};
-        when(reportService.exportReport(eq("RESOURCE_UTILIZATION"), any())).thenReturn(bytes);
+        stubExport("RESOURCE_UTILIZATION", bytes);
 
-        mockMvc.perform(get("/api/v1/reports/export")
+        MvcResult result = mockMvc.perform(get("/api/v1/reports/export")
                         .param("type", "RESOURCE_UTILIZATION")
                         .param("from", "2025-01-01")
                         .param("to", "2025-01-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes))
                 .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString("attachment")))
                 .andExpect(content().contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
     }
@@ -148,14 +175,149 @@ public class ReportControllerTest {
     @Test
     void testExportReleaseTimelineReportPathVariant() throws Exception {
         byte[] bytes = new byte[]{7, 8, 9};
-        when(reportService.exportReport(eq("RELEASE_TIMELINE"), any())).thenReturn(bytes);
+        stubExport("RELEASE_TIMELINE", bytes);
 
-        mockMvc.perform(get("/api/v1/reports/RELEASE_TIMELINE/export")
+        MvcResult result = mockMvc.perform(get("/api/v1/reports/RELEASE_TIMELINE/export")
                         .param("year", "2025"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes))
                 .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString("attachment")))
                 .andExpect(content().contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
     }
-}
 
+    @Test
+    void testExportReport_CsvFormatParameter() throws Exception {
+        byte[] bytes = "resourceId,resourceName\r\n".getBytes();
+        stubExport("CAPACITY_FORECAST", ReportFormat.CSV, bytes);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/reports/export")
+                        .param("type", "CAPACITY_FORECAST")
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes))
+                .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString("report.csv")))
+                .andExpect(content().contentType("text/csv"));
+    }
+
+    @Test
+    void testExportReport_NdjsonFromAcceptHeader() throws Exception {
+        byte[] bytes = "{\"releaseId\":1}\n".getBytes();
+        stubExport("RELEASE_TIMELINE", ReportFormat.NDJSON, bytes);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/reports/RELEASE_TIMELINE/export")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes))
+                .andExpect(content().contentType("application/x-ndjson"));
+    }
+
+    @Test
+    void testExportReport_InvalidFilterIsRejectedBeforeStreaming() throws Exception {
+        when(reportService.prepareExport(eq("RESOURCE_UTILIZATION"), anyMap(), eq(ReportFormat.CSV)))
+                .thenThrow(new ValidationException("Parameter 'from' must be a date (yyyy-MM-dd): soon"));
+
+        mockMvc.perform(get("/api/v1/reports/export")
+                        .param("type", "RESOURCE_UTILIZATION")
+                        .param("format", "csv")
+                        .param("from", "soon"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Parameter 'from' must be a date (yyyy-MM-dd): soon"));
+    }
+
+    @Test
+    void testExportReport_UnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/v1/reports/export")
+                        .param("type", "RELEASE_TIMELINE")
+                        .param("format", "parquet"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testSubmitReportJob() throws Exception {
+        ReportJobResponse job = new ReportJobResponse("job-1", "SKILL_CAPACITY_FORECAST", ReportFormat.CSV, "QUEUED",
+                false, Instant.now(), null, null, 0L, null, null);
+        when(reportJobService.submitJob(eq("SKILL_CAPACITY_FORECAST"),
+                argThat(params -> "2025-01-01".equals(params.get("from")) && !params.containsKey("format")),
+                eq(ReportFormat.CSV))).thenReturn(job);
+
+        mockMvc.perform(post("/api/v1/reports/jobs")
+                        .param("type", "SKILL_CAPACITY_FORECAST")
+                        .param("from", "2025-01-01")
+                        .param("format", "csv"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void testSubmitReportJob_InvalidWindowIsRejectedBeforeQueueing() throws Exception {
+        when(reportService.prepareExport(eq("CAPACITY_FORECAST"), anyMap(), eq(ReportFormat.XLSX)))
+                .thenThrow(new ValidationException("Parameter 'to' must not be before 'from'"));
+
+        mockMvc.perform(post("/api/v1/reports/jobs")
+                        .param("type", "CAPACITY_FORECAST")
+                        .param("from", "2025-06-30")
+                        .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Parameter 'to' must not be before 'from'"));
+        verify(reportJobService, never()).submitJob(any(), any(), any());
+    }
+
+    @Test
+    void testSubmitReportJob_QueueFull() throws Exception {
+        when(reportJobService.submitJob(eq("RELEASE_TIMELINE"), any(), eq(ReportFormat.XLSX)))
+                .thenThrow(new RejectedExecutionException("queue full"));
+
+        mockMvc.perform(post("/api/v1/reports/jobs")
+                        .param("type", "RELEASE_TIMELINE"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    void testDownloadReportJob() throws Exception {
+        byte[] bytes = "releaseId\r\n".getBytes();
+        ReportJobResponse job = new ReportJobResponse("job-2", "RELEASE_TIMELINE", ReportFormat.CSV, "COMPLETED",
+                false, Instant.now(), Instant.now(), Instant.now().plusSeconds(900), 12L, (long) bytes.length, null);
+        when(reportJobService.getJob("job-2")).thenReturn(job);
+        when(reportJobService.getJobResult("job-2")).thenReturn(bytes);
+
+        mockMvc.perform(get("/api/v1/reports/jobs/job-2/download"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes))
+                .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString("report.csv")))
+                .andExpect(content().contentType("text/csv"));
+    }
+
+    @Test
+    void testDownloadReportJob_NotFinished() throws Exception {
+        ReportJobResponse job = new ReportJobResponse("job-3", "RELEASE_TIMELINE", ReportFormat.XLSX, "RUNNING",
+                false, Instant.now(), null, null, 5L, null, null);
+        when(reportJobService.getJob("job-3")).thenReturn(job);
+
+        mockMvc.perform(get("/api/v1/reports/jobs/job-3/download"))
+                .andExpect(status().isConflict());
+    }
 
+    private void stubExport(String type, byte[] bytes) {
+        stubExport(type, ReportFormat.XLSX, bytes);
+    }
+
+    private void stubExport(String type, ReportFormat format, byte[] bytes) {
+        when(reportService.prepareExport(eq(type), argThat(params -> !params.containsKey("format")), eq(format)))
+                .thenReturn(out -> out.write(bytes));
+    }
+}
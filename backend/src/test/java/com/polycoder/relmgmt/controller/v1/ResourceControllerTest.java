@@ -1,6 +1,7 @@
 package com.polycoder.relmgmt.controller.v1;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.polycoder.relmgmt.dto.ResourceImportResponse;
 import com.polycoder.relmgmt.dto.ResourceRequest;
 import com.polycoder.relmgmt.dto.ResourceResponse;
 import com.polycoder.relmgmt.entity.StatusEnum;
@@ -18,10 +19,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -327,4 +331,50 @@ class ResourceControllerTest {
 
         verify(resourceService).updateExpiredResourcesStatus();
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void testImportResourcesDispatchesCsvAndExcel() throws Exception {
+        // Arrange
+        ResourceImportResponse importResponse = new ResourceImportResponse(1, 1, 0, List.of());
+        when(resourceService.importResourcesFromCsv(any())).thenReturn(importResponse);
+        when(resourceService.importResourcesFromExcel(any())).thenReturn(importResponse);
+
+        // Act & Assert
+        mockMvc.perform(multipart("/api/v1/resources/import")
+                .file(new MockMultipartFile("file", "roster.CSV", "application/octet-stream", "Name\n".getBytes())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.successful").value(1));
+        mockMvc.perform(multipart("/api/v1/resources/import")
+                .file(new MockMultipartFile("file", "roster.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", new byte[] {1})))
+                .andExpect(status().isOk());
+
+        verify(resourceService).importResourcesFromCsv(any());
+        verify(resourceService).importResourcesFromExcel(any());
+    }
+
+    @Test
+    @WithMockUser
+    void testExportResourcesStreamsWorkbook() throws Exception {
+        // Arrange
+        byte[] bytes = new byte[] {1, 2, 3};
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write(bytes);
+            return null;
+        }).when(resourceService).exportResourcesToExcel(any(OutputStream.class));
+
+        // Act & Assert
+        MvcResult result = mockMvc.perform(get("/api/v1/resources/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=resources.xlsx"))
+                .andExpect(content().contentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
+
+        verify(resourceService, never()).exportResourcesToExcel();
+    }
+}
@@ -0,0 +1,68 @@
+package com.polycoder.relmgmt.repository;
+
+import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.entity.PhaseTypeEnum;
+import com.polycoder.relmgmt.entity.Release;
+import com.polycoder.relmgmt.entity.Resource;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Generated-key handling of the JDBC batch insert against a driver stub
+ */
+class AllocationRepositoryCustomImplTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertInBatch_failsWhenTheDriverReturnsFewerKeysThanRows() throws Exception {
+        ResultSet keys = mock(ResultSet.class);
+        when(keys.next()).thenReturn(true, false);
+        when(keys.getLong(1)).thenReturn(41L);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(ps.getGeneratedKeys()).thenReturn(keys);
+        Connection con = mock(Connection.class);
+        when(con.prepareStatement(anyString(), any(String[].class))).thenReturn(ps);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(inv -> ((ConnectionCallback<Integer>) inv.getArgument(0)).doInConnection(con));
+        AllocationRepositoryCustomImpl repository = new AllocationRepositoryCustomImpl(jdbcTemplate, 500);
+
+        Allocation first = allocation();
+        Allocation second = allocation();
+        DataRetrievalFailureException e = assertThrows(DataRetrievalFailureException.class,
+                () -> repository.insertInBatch(List.of(first, second)));
+
+        assertEquals("Database returned 1 generated ids for a batch of 2 allocations", e.getMessage());
+        assertEquals(41L, first.getId());
+        assertNull(second.getId());
+    }
+
+    private Allocation allocation() {
+        Release release = new Release();
+        release.setId(1L);
+        Resource resource = new Resource();
+        resource.setId(2L);
+        Allocation a = new Allocation();
+        a.setRelease(release);
+        a.setResource(resource);
+        a.setPhase(PhaseTypeEnum.BUILD);
+        a.setStartDate(LocalDate.of(2025, 1, 6));
+        a.setEndDate(LocalDate.of(2025, 1, 10));
+        a.setAllocationFactor(0.5);
+        a.setAllocationDays(2.5);
+        return a;
+    }
+}
@@ -0,0 +1,125 @@
+package com.polycoder.relmgmt.repository;
+
+import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.entity.EmployeeGradeEnum;
+import com.polycoder.relmgmt.entity.PhaseTypeEnum;
+import com.polycoder.relmgmt.entity.Release;
+import com.polycoder.relmgmt.entity.Resource;
+import com.polycoder.relmgmt.entity.SkillFunctionEnum;
+import com.polycoder.relmgmt.entity.StatusEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class AllocationRepositoryTest {
+
+    @Autowired
+    private AllocationRepository allocationRepository;
+
+    @Autowired
+    private ReleaseRepository releaseRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    private Release release;
+    private Release otherRelease;
+    private Resource resource;
+
+    @BeforeEach
+    void setUp() {
+        release = new Release();
+        release.setName("Release A");
+        release.setIdentifier("ALLOC-001");
+        release = releaseRepository.saveAndFlush(release);
+
+        otherRelease = new Release();
+        otherRelease.setName("Release B");
+        otherRelease.setIdentifier("ALLOC-002");
+        otherRelease = releaseRepository.saveAndFlush(otherRelease);
+
+        resource = new Resource("Jane Doe", "11223344", "jane.doe@example.com", StatusEnum.ACTIVE,
+                LocalDate.of(2025, 1, 1), EmployeeGradeEnum.LEVEL_8, SkillFunctionEnum.BUILD);
+        resource = resourceRepository.saveAndFlush(resource);
+    }
+
+    @Test
+    void insertInBatch_persistsAllRows() {
+        List<Allocation> allocations = new ArrayList<>();
+        LocalDate start = LocalDate.of(2025, 1, 6);
+        for (int i = 0; i < 25; i++) {
+            allocations.add(allocation(release, start.plusWeeks(i), 0.5));
+        }
+
+        int inserted = allocationRepository.insertInBatch(allocations);
+
+        assertEquals(25, inserted);
+        List<Allocation> stored = allocationRepository.findByReleaseId(release.getId());
+        assertEquals(25, stored.size());
+        assertTrue(stored.stream().allMatch(a -> a.getId() != null && a.getCreatedAt() != null));
+    }
+
+    @Test
+    void deleteByReleaseId_removesOnlyThatRelease() {
+        allocationRepository.insertInBatch(List.of(
+                allocation(release, LocalDate.of(2025, 1, 6), 0.5),
+                allocation(release, LocalDate.of(2025, 1, 13), 0.5),
+                allocation(otherRelease, LocalDate.of(2025, 1, 20), 0.5)));
+
+        int deleted = allocationRepository.deleteByReleaseId(release.getId());
+
+        assertEquals(2, deleted);
+        assertTrue(allocationRepository.findByReleaseId(release.getId()).isEmpty());
+        assertEquals(1, allocationRepository.findByReleaseId(otherRelease.getId()).size());
+    }
+
+    @Test
+    void findReleaseIdsWithAllocationsFrom_skipsAllocationsEndedBeforeTheDate() {
+        allocationRepository.insertInBatch(List.of(
+                allocation(release, LocalDate.of(2025, 1, 6), 0.5),
+                allocation(release, LocalDate.of(2025, 1, 13), 0.5),
+                allocation(otherRelease, LocalDate.of(2025, 1, 20), 0.5)));
+
+        assertEquals(List.of(otherRelease.getId()),
+                allocationRepository.findReleaseIdsWithAllocationsFrom(List.of(resource.getId()), LocalDate.of(2025, 1, 18)));
+        assertEquals(2, allocationRepository.findReleaseIdsWithAllocationsFrom(List.of(resource.getId()), LocalDate.of(2025, 1, 17)).size());
+        assertTrue(allocationRepository.findReleaseIdsWithAllocationsFrom(List.of(-1L), LocalDate.of(2025, 1, 1)).isEmpty());
+    }
+
+    @Test
+    void insertInBatch_allowsSameResourcePhaseAndPeriodOnDifferentReleases() {
+        // Splitting a week on both releases yields identical resource/phase/date slices
+        LocalDate week = LocalDate.of(2025, 1, 13);
+        allocationRepository.insertInBatch(List.of(
+                allocation(release, week, 0.5),
+                allocation(otherRelease, week, 0.5)));
+
+        assertEquals(1, allocationRepository.findByReleaseId(release.getId()).size());
+        assertEquals(1, allocationRepository.findByReleaseId(otherRelease.getId()).size());
+        assertThrows(DataIntegrityViolationException.class,
+                () -> allocationRepository.insertInBatch(List.of(allocation(release, week, 0.6))));
+    }
+
+    private Allocation allocation(Release r, LocalDate start, double factor) {
+        Allocation a = new Allocation();
+        a.setRelease(r);
+        a.setResource(resource);
+        a.setPhase(PhaseTypeEnum.BUILD);
+        a.setStartDate(start);
+        a.setEndDate(start.plusDays(4));
+        a.setAllocationFactor(factor);
+        a.setAllocationDays(factor * 5);
+        return a;
+    }
+}
@@ -0,0 +1,170 @@
+package com.polycoder.relmgmt.repository;
+
+import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.entity.EmployeeGradeEnum;
+import com.polycoder.relmgmt.entity.PhaseTypeEnum;
+import com.polycoder.relmgmt.entity.Release;
+import com.polycoder.relmgmt.entity.Resource;
+import com.polycoder.relmgmt.entity.SkillFunctionEnum;
+import com.polycoder.relmgmt.entity.StatusEnum;
+import com.polycoder.relmgmt.service.WorkingCalendar;
+import com.polycoder.relmgmt.service.impl.AllocationWeekExpander;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class AllocationWeekRepositoryTest {
+
+    private static final LocalDate WEEK_1 = LocalDate.of(2025, 1, 6);
+    private static final LocalDate WEEK_2 = LocalDate.of(2025, 1, 13);
+
+    @Autowired
+    private AllocationWeekRepository allocationWeekRepository;
+
+    @Autowired
+    private AllocationRepository allocationRepository;
+
+    @Autowired
+    private ReleaseRepository releaseRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    private final AllocationWeekExpander expander = new AllocationWeekExpander(WorkingCalendar.standard());
+
+    private Release releaseA;
+    private Release releaseB;
+    private Resource jane;
+    private Allocation spanning;
+    private Allocation sit;
+
+    @BeforeEach
+    void setUp() {
+        releaseA = releaseRepository.saveAndFlush(release("Release A", "WEEK-001"));
+        releaseB = releaseRepository.saveAndFlush(release("Release B", "WEEK-002"));
+        jane = resourceRepository.saveAndFlush(new Resource("Jane Doe", "11223344", "jane.doe@example.com", StatusEnum.ACTIVE,
+                LocalDate.of(2025, 1, 1), EmployeeGradeEnum.LEVEL_8, SkillFunctionEnum.BUILD));
+
+        // Wednesday of week 1 to Friday of week 2, plus two days of SIT in week 2
+        spanning = allocation(releaseA, PhaseTypeEnum.BUILD, WEEK_1.plusDays(2), WEEK_2.plusDays(4), 0.5);
+        sit = allocation(releaseB, PhaseTypeEnum.SYSTEM_INTEGRATION_TEST, WEEK_2, WEEK_2.plusDays(1), 1.0);
+        allocationRepository.insertInBatch(List.of(spanning, sit));
+        allocationWeekRepository.insertInBatch(expander.expand(List.of(spanning, sit)));
+    }
+
+    @Test
+    void insertInBatch_setsGeneratedAllocationIds() {
+        assertNotNull(spanning.getId());
+        assertNotNull(sit.getId());
+        assertEquals(3, allocationWeekRepository.count());
+    }
+
+    @Test
+    void sumByResourceWeekReleaseAndPhase_groupsWeeksInAllocationOrder() {
+        List<Object[]> rows = allocationWeekRepository.sumByResourceWeekReleaseAndPhase(List.of(jane.getId()), WEEK_1, WEEK_2);
+
+        assertEquals(3, rows.size());
+        assertEquals(WEEK_1, rows.get(0)[1]);
+        assertEquals(1.5, ((Number) rows.get(0)[5]).doubleValue(), 1e-9);
+        assertEquals(WEEK_2, rows.get(1)[1]);
+        assertEquals("Release A", rows.get(1)[3]);
+        assertEquals(2.5, ((Number) rows.get(1)[5]).doubleValue(), 1e-9);
+        assertEquals(PhaseTypeEnum.SYSTEM_INTEGRATION_TEST, rows.get(2)[4]);
+        assertEquals(2.0, ((Number) rows.get(2)[5]).doubleValue(), 1e-9);
+
+        assertEquals(1, allocationWeekRepository.sumByResourceWeekReleaseAndPhase(List.of(jane.getId()), WEEK_1, WEEK_1).size());
+    }
+
+    @Test
+    void findOverloadedWeeks_sumsAcrossReleasesAndPhases() {
+        // Week 1: 1.5 PD of Release A; week 2: 2.5 PD of Release A plus 2.0 PD of Release B
+        List<Object[]> rows = allocationWeekRepository.findOverloadedWeeks(4.0,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+
+        assertEquals(1, rows.size());
+        assertEquals(jane.getId(), rows.get(0)[0]);
+        assertEquals("Jane Doe", rows.get(0)[1]);
+        assertEquals(WEEK_2, rows.get(0)[2]);
+        assertEquals(4.5, ((Number) rows.get(0)[3]).doubleValue(), 1e-9);
+        assertTrue(allocationWeekRepository.findOverloadedWeeks(4.5,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)).isEmpty());
+    }
+
+    @Test
+    void findOverloadedWeeksForResources_appliesResourceAndWindowFilters() {
+        assertEquals(2, allocationWeekRepository.findOverloadedWeeksForResources(1.0, List.of(jane.getId()),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)).size());
+        assertEquals(1, allocationWeekRepository.findOverloadedWeeksForResources(1.0, List.of(jane.getId()),
+                WEEK_1, WEEK_1.plusDays(6)).size());
+        assertTrue(allocationWeekRepository.findOverloadedWeeksForResources(1.0, List.of(jane.getId() + 1),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)).isEmpty());
+    }
+
+    @Test
+    void findAllocatedInWindow_filtersBySkillAndOverAllocationAndPages() {
+        Resource john = resourceRepository.saveAndFlush(new Resource("John Roe", "55667788", "john.roe@example.com",
+                StatusEnum.ACTIVE, LocalDate.of(2025, 1, 1), EmployeeGradeEnum.LEVEL_8, SkillFunctionEnum.TEST));
+        Allocation fullWeek = allocation(releaseA, PhaseTypeEnum.BUILD, WEEK_1, WEEK_1.plusDays(4), 1.0);
+        fullWeek.setResource(john);
+        allocationRepository.insertInBatch(List.of(fullWeek));
+        allocationWeekRepository.insertInBatch(expander.expand(List.of(fullWeek)));
+        double threshold = 4.5 + 1e-9;
+
+        Page<Resource> all = resourceRepository.findAllocatedInWindow(WEEK_1, WEEK_2.plusDays(6), WEEK_1, WEEK_2,
+                null, null, false, threshold, PageRequest.of(0, 1));
+        assertEquals(2, all.getTotalElements());
+        assertEquals(List.of(jane.getId()), all.map(Resource::getId).getContent());
+
+        assertEquals(List.of(john.getId()), resourceRepository.findAllocatedInWindow(WEEK_1, WEEK_2.plusDays(6), WEEK_1, WEEK_2,
+                SkillFunctionEnum.TEST, null, false, threshold, Pageable.unpaged()).map(Resource::getId).getContent());
+
+        // John is at 5.0 in week 1; Jane peaks at exactly 4.5 in week 2
+        assertEquals(List.of(john.getId()), resourceRepository.findAllocatedInWindow(WEEK_1, WEEK_2.plusDays(6), WEEK_1, WEEK_2,
+                null, null, true, threshold, Pageable.unpaged()).map(Resource::getId).getContent());
+        assertTrue(resourceRepository.findAllocatedInWindow(WEEK_2, WEEK_2.plusDays(6), WEEK_2, WEEK_2,
+                null, null, true, threshold, Pageable.unpaged()).isEmpty());
+
+        assertTrue(resourceRepository.findAllocatedInWindow(WEEK_2.plusWeeks(1), WEEK_2.plusWeeks(2), WEEK_2.plusWeeks(1),
+                WEEK_2.plusWeeks(2), null, null, false, threshold, Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void deleteByReleaseIdAndAllocationIds_removeOnlyTheirWeeks() {
+        assertEquals(1, allocationWeekRepository.deleteByReleaseId(releaseB.getId()));
+        assertEquals(2, allocationWeekRepository.count());
+
+        assertEquals(2, allocationWeekRepository.deleteByAllocationIds(List.of(spanning.getId())));
+        assertEquals(0, allocationWeekRepository.count());
+    }
+
+    private Allocation allocation(Release release, PhaseTypeEnum phase, LocalDate start, LocalDate end, double factor) {
+        Allocation a = new Allocation();
+        a.setRelease(release);
+        a.setResource(jane);
+        a.setPhase(phase);
+        a.setStartDate(start);
+        a.setEndDate(end);
+        a.setAllocationFactor(factor);
+        a.setAllocationDays(factor * WorkingCalendar.standard().countWorkingDays(start, end));
+        return a;
+    }
+
+    private Release release(String name, String identifier) {
+        Release r = new Release();
+        r.setName(name);
+        r.setIdentifier(identifier);
+        return r;
+    }
+}
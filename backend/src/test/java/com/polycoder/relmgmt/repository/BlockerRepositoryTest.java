@@ -79,6 +79,15 @@ public class BlockerRepositoryTest {
         assertTrue(blockers.stream().anyMatch(b -> b.getStatus() == BlockerStatusEnum.IN_PROGRESS));
     }
 
+    @Test
+    void testFindByReleaseIdIn() {
+        List<Blocker> blockers = blockerRepository.findByReleaseIdIn(List.of(testRelease1.getId(), testRelease2.getId()));
+
+        assertEquals(4, blockers.size());
+        assertEquals(2, blockers.stream().filter(b -> b.getRelease().getId().equals(testRelease2.getId())).count());
+        assertTrue(blockerRepository.findByReleaseIdIn(List.of(-1L)).isEmpty());
+    }
+
     @Test
     void testFindByReleaseIdAndStatus() {
         List<Blocker> blockers = blockerRepository.findByReleaseIdAndStatus(
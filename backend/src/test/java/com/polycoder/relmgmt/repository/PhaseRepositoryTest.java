@@ -84,6 +84,15 @@ public class PhaseRepositoryTest {
         assertTrue(phases.stream().anyMatch(p -> p.getPhaseType() == PhaseTypeEnum.BUILD));
     }
 
+    @Test
+    void testFindByReleaseIdIn() {
+        List<Phase> phases = phaseRepository.findByReleaseIdIn(List.of(testRelease1.getId(), testRelease2.getId()));
+
+        assertEquals(4, phases.size());
+        assertEquals(3, phases.stream().filter(p -> p.getRelease().getId().equals(testRelease1.getId())).count());
+        assertEquals(1, phaseRepository.findByReleaseIdIn(List.of(testRelease2.getId())).size());
+    }
+
     @Test
     void testFindByReleaseIdAndPhaseType() {
         List<Phase> phases = phaseRepository.findByReleaseIdAndPhaseType(
@@ -326,4 +326,55 @@ class ResourceRepositoryTest {
         assertEquals("Expired Resource", expiredResources.get(0).getName());
         assertTrue(expiredResources.get(0).getProjectEndDate().isBefore(LocalDate.now()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testInsertInBatchAndFindAllEmployeeNumbersAndEmails() {
+        resourceRepository.save(testResource);
+        testResource2.setSkillSubFunction(null);
+        testResource2.setProjectEndDate(null);
+
+        assertEquals(1, resourceRepository.insertInBatch(List.of(testResource2)));
+
+        Resource inserted = resourceRepository.findByEmployeeNumber("87654321").orElseThrow();
+        assertEquals("Jane Smith", inserted.getName());
+        assertEquals(StatusEnum.INACTIVE, inserted.getStatus());
+        assertNull(inserted.getProjectEndDate());
+        assertNull(inserted.getSkillSubFunction());
+
+        List<Object[]> keys = resourceRepository.findAllEmployeeNumbersAndEmails();
+        assertEquals(2, keys.size());
+        assertTrue(keys.stream().anyMatch(k -> "87654321".equals(k[0]) && "jane.smith@example.com".equals(k[1])));
+    }
+
+    @Test
+    void testFindExportRowsAfter() {
+        Resource first = resourceRepository.save(testResource);
+        Resource second = resourceRepository.save(testResource2);
+        Pageable onePerPage = PageRequest.of(0, 1);
+
+        List<Object[]> page = resourceRepository.findExportRowsAfter(0L, onePerPage);
+        assertEquals(1, page.size());
+        assertEquals(first.getId(), page.get(0)[0]);
+        assertEquals(testResource.getEmail(), page.get(0)[3]);
+        assertEquals(StatusEnum.ACTIVE, page.get(0)[4]);
+
+        page = resourceRepository.findExportRowsAfter(first.getId(), onePerPage);
+        assertEquals(second.getId(), page.get(0)[0]);
+        assertTrue(resourceRepository.findExportRowsAfter(second.getId(), onePerPage).isEmpty());
+    }
+
+    @Test
+    void testDeactivateExpired() {
+        testResource.setProjectEndDate(LocalDate.now().minusDays(1));
+        testResource2.setStatus(StatusEnum.ACTIVE);
+        testResource2.setProjectEndDate(LocalDate.now());
+        Resource expired = resourceRepository.saveAndFlush(testResource);
+        resourceRepository.saveAndFlush(testResource2);
+
+        List<Long> ids = resourceRepository.deactivateExpired(LocalDate.now());
+
+        assertEquals(List.of(expired.getId()), ids);
+        assertEquals(1, resourceRepository.findByStatus(StatusEnum.INACTIVE).size());
+        assertTrue(resourceRepository.deactivateExpired(LocalDate.now()).isEmpty());
+    }
+}
@@ -0,0 +1,47 @@
+package com.polycoder.relmgmt.repository;
+
+import com.polycoder.relmgmt.entity.SchedulerLock;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class SchedulerLockRepositoryTest {
+
+    private static final String JOB = "resource-status-update";
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 6, 2, 0);
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Test
+    void acquireIfExpired_onlyTakesOverExpiredLeases() {
+        assertEquals(0, schedulerLockRepository.acquireIfExpired(JOB, "node-1", NOW, NOW.plusMinutes(30)));
+        assertEquals(1, schedulerLockRepository.insertLock(JOB, "node-1", NOW, NOW.plusMinutes(30)));
+
+        // Held by node-1 until 02:30
+        assertEquals(0, schedulerLockRepository.acquireIfExpired(JOB, "node-2", NOW.plusMinutes(1), NOW.plusMinutes(31)));
+        assertEquals(1, schedulerLockRepository.acquireIfExpired(JOB, "node-2", NOW.plusMinutes(30), NOW.plusMinutes(60)));
+
+        SchedulerLock lock = schedulerLockRepository.findById(JOB).orElseThrow();
+        assertEquals("node-2", lock.getLockedBy());
+        assertEquals(NOW.plusMinutes(60), lock.getLockedUntil());
+    }
+
+    @Test
+    void release_onlyAffectsTheOwnersLease() {
+        schedulerLockRepository.insertLock(JOB, "node-1", NOW, NOW.plusMinutes(30));
+
+        assertEquals(0, schedulerLockRepository.release(JOB, "node-2", NOW, NOW.plusMinutes(5)));
+        assertEquals(0, schedulerLockRepository.release(JOB, "node-1", NOW.minusDays(1), NOW.plusMinutes(5)));
+        assertEquals(1, schedulerLockRepository.release(JOB, "node-1", NOW, NOW.plusMinutes(5)));
+
+        assertEquals(1, schedulerLockRepository.acquireIfExpired(JOB, "node-2", NOW.plusMinutes(5), NOW.plusMinutes(35)));
+    }
+}
@@ -0,0 +1,120 @@
+package com.polycoder.relmgmt.service;
+
+import com.polycoder.relmgmt.dto.AllocationRegenerationResponse;
+import com.polycoder.relmgmt.exception.ConflictException;
+import com.polycoder.relmgmt.exception.ResourceNotFoundException;
+import com.polycoder.relmgmt.repository.ReleaseRepository;
+import com.polycoder.relmgmt.service.impl.AllocationRegenerationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class AllocationRegenerationServiceTest {
+
+    private AllocationService allocationService;
+    private ReleaseRepository releaseRepository;
+    private AllocationRegenerationService regenerationService;
+
+    @BeforeEach
+    void setup() {
+        allocationService = Mockito.mock(AllocationService.class);
+        releaseRepository = Mockito.mock(ReleaseRepository.class);
+        // Run workers inline so the job is complete when startRegeneration returns
+        regenerationService = new AllocationRegenerationServiceImpl(allocationService, releaseRepository, Runnable::run);
+    }
+
+    @Test
+    void startRegeneration_regeneratesEveryReleaseAndRecordsTimings() {
+        when(releaseRepository.findAllIdAndName()).thenReturn(List.of(
+            new Object[]{1L, "Alpha"}, new Object[]{2L, "Beta"}, new Object[]{3L, "Gamma"}));
+
+        AllocationRegenerationResponse response = regenerationService.startRegeneration(null);
+
+        verify(allocationService).generateAllocation(1L);
+        verify(allocationService).generateAllocation(2L);
+        verify(allocationService).generateAllocation(3L);
+        assertThat(response.getStatus()).isEqualTo("COMPLETED");
+        assertThat(response.getTotalReleases()).isEqualTo(3);
+        assertThat(response.getCompletedReleases()).isEqualTo(3);
+        assertThat(response.getFailedReleases()).isZero();
+        assertThat(response.getResults()).extracting(AllocationRegenerationResponse.ReleaseResult::getReleaseName)
+            .containsExactlyInAnyOrder("Alpha", "Beta", "Gamma");
+        assertThat(response.getResults()).allMatch(r -> r.isSuccess() && r.getDurationMs() >= 0);
+    }
+
+    @Test
+    void startRegeneration_isolatesFailingRelease() {
+        when(releaseRepository.findIdAndNameByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+            new Object[]{1L, "Alpha"}, new Object[]{2L, "Beta"}));
+        doThrow(new IllegalStateException("boom")).when(allocationService).generateAllocation(1L);
+
+        AllocationRegenerationResponse response = regenerationService.startRegeneration(List.of(1L, 2L));
+
+        verify(allocationService).generateAllocation(2L);
+        assertThat(response.getCompletedReleases()).isEqualTo(2);
+        assertThat(response.getFailedReleases()).isEqualTo(1);
+        AllocationRegenerationResponse.ReleaseResult failed = response.getResults().stream()
+            .filter(r -> !r.isSuccess()).findFirst().orElseThrow();
+        assertThat(failed.getReleaseId()).isEqualTo(1L);
+        assertThat(failed.getError()).isEqualTo("boom");
+    }
+
+    @Test
+    void startRegeneration_skipsReleasesAlreadyInFlight() {
+        List<Runnable> queued = new ArrayList<>();
+        AllocationRegenerationService queueing =
+            new AllocationRegenerationServiceImpl(allocationService, releaseRepository, queued::add);
+        when(releaseRepository.findIdAndNameByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+            new Object[]{1L, "Alpha"}, new Object[]{2L, "Beta"}));
+        when(releaseRepository.findIdAndNameByIdIn(List.of(2L, 3L))).thenReturn(List.of(
+            new Object[]{2L, "Beta"}, new Object[]{3L, "Gamma"}));
+
+        queueing.startRegeneration(List.of(1L, 2L));
+        AllocationRegenerationResponse overlapping = queueing.startRegeneration(List.of(2L, 3L));
+
+        assertThat(overlapping.getTotalReleases()).isEqualTo(1);
+        assertThat(overlapping.getSkippedReleaseIds()).containsExactly(2L);
+        assertThat(queued).hasSize(3);
+        assertThatThrownBy(() -> queueing.runExclusive(1L, () -> allocationService.deleteAllocationsForRelease(1L)))
+            .isInstanceOf(ConflictException.class);
+        verify(allocationService, never()).deleteAllocationsForRelease(1L);
+
+        // Once the queued work has run the releases can be regenerated again
+        queued.forEach(Runnable::run);
+        queueing.runExclusive(1L, () -> allocationService.deleteAllocationsForRelease(1L));
+        verify(allocationService).deleteAllocationsForRelease(1L);
+        assertThat(queueing.startRegeneration(List.of(2L, 3L)).getSkippedReleaseIds()).isEmpty();
+    }
+
+    @Test
+    void startRegeneration_rejectsWhenQueueIsFullAndReleasesClaims() {
+        AllocationRegenerationService rejecting = new AllocationRegenerationServiceImpl(allocationService,
+            releaseRepository, r -> { throw new RejectedExecutionException("full"); });
+        when(releaseRepository.findIdAndNameByIdIn(List.of(1L))).thenReturn(List.<Object[]>of(new Object[]{1L, "Alpha"}));
+
+        assertThatThrownBy(() -> rejecting.startRegeneration(List.of(1L)))
+            .isInstanceOf(RejectedExecutionException.class);
+        rejecting.runExclusive(1L, () -> allocationService.generateAllocation(1L));
+        verify(allocationService).generateAllocation(1L);
+    }
+
+    @Test
+    void getRegeneration_returnsJobByIdAndRejectsUnknownIds() {
+        when(releaseRepository.findAllIdAndName()).thenReturn(List.of());
+
+        AllocationRegenerationResponse started = regenerationService.startRegeneration(List.of());
+
+        assertThat(started.getStatus()).isEqualTo("COMPLETED");
+        assertThat(regenerationService.getRegeneration(started.getJobId()).getTotalReleases()).isZero();
+        assertThatThrownBy(() -> regenerationService.getRegeneration("missing"))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -2,6 +2,7 @@ package com.polycoder.relmgmt.service;
 
 import com.polycoder.relmgmt.dto.AllocationConflictResponse;
 import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.entity.AllocationWeek;
 import com.polycoder.relmgmt.entity.Component;
 import com.polycoder.relmgmt.entity.EffortEstimate;
 import com.polycoder.relmgmt.entity.Phase;
@@ -13,6 +14,7 @@ import com.polycoder.relmgmt.entity.SkillFunctionEnum;
 import com.polycoder.relmgmt.entity.SkillSubFunctionEnum;
 import com.polycoder.relmgmt.entity.StatusEnum;
 import com.polycoder.relmgmt.repository.AllocationRepository;
+import com.polycoder.relmgmt.repository.AllocationWeekRepository;
 import com.polycoder.relmgmt.repository.ComponentRepository;
 import com.polycoder.relmgmt.repository.EffortEstimateRepository;
 import com.polycoder.relmgmt.repository.PhaseRepository;
@@ -46,6 +48,7 @@ class AllocationServiceTest {
     private ScopeItemRepository scopeItemRepository;
     private ReleaseRepository releaseRepository;
     private ComponentRepository componentRepository;
+    private AllocationWeekRepository allocationWeekRepository;
     private AllocationService allocationService;
 
     @BeforeEach
@@ -57,6 +60,7 @@ class AllocationServiceTest {
         scopeItemRepository = Mockito.mock(ScopeItemRepository.class);
         releaseRepository = Mockito.mock(ReleaseRepository.class);
         componentRepository = Mockito.mock(ComponentRepository.class);
+        allocationWeekRepository = Mockito.mock(AllocationWeekRepository.class);
         allocationService = new AllocationServiceImpl(
             allocationRepository,
             effortEstimateRepository,
@@ -64,7 +68,9 @@ class AllocationServiceTest {
             phaseRepository,
             scopeItemRepository,
             releaseRepository,
-            componentRepository
+            componentRepository,
+            allocationWeekRepository,
+            WorkingCalendar.standard()
         );
     }
 
@@ -91,7 +97,7 @@ class AllocationServiceTest {
 
         allocationService.generateAllocation(releaseId);
 
-        verify(allocationRepository, never()).saveAll(anyList());
+        verify(allocationRepository, never()).insertInBatch(anyList());
     }
 
     @Test
@@ -120,23 +126,15 @@ class AllocationServiceTest {
         when(scopeItemRepository.findByReleaseId(releaseId)).thenReturn(List.of(scopeItem));
         
         // Mock components (empty for this test)
-        when(componentRepository.findByScopeItemId(1L)).thenReturn(Collections.emptyList());
+        when(componentRepository.findByReleaseId(releaseId)).thenReturn(Collections.emptyList());
 
         Resource r1 = createResource(1L, "FD-1", SkillFunctionEnum.FUNCTIONAL_DESIGN, null);
         Resource r2 = createResource(2L, "FD-2", SkillFunctionEnum.FUNCTIONAL_DESIGN, null);
-        when(resourceRepository.findBySkillFunctionAndStatus(SkillFunctionEnum.FUNCTIONAL_DESIGN, StatusEnum.ACTIVE))
-            .thenReturn(List.of(r1, r2));
-
-        // Mock other skill functions to return empty lists
-        for (SkillFunctionEnum fn : SkillFunctionEnum.values()) {
-            if (fn != SkillFunctionEnum.FUNCTIONAL_DESIGN) {
-                when(resourceRepository.findBySkillFunctionAndStatus(fn, StatusEnum.ACTIVE)).thenReturn(Collections.emptyList());
-            }
-        }
+        when(resourceRepository.findByStatus(StatusEnum.ACTIVE)).thenReturn(List.of(r1, r2));
 
         allocationService.generateAllocation(releaseId);
 
-        verify(allocationRepository).saveAll(argThat(allocations -> {
+        verify(allocationRepository).insertInBatch(argThat(allocations -> {
             List<Allocation> allocationList = (List<Allocation>) allocations;
             assertThat(allocationList).hasSize(2);
             Allocation a1 = allocationList.get(0);
@@ -150,6 +148,17 @@ class AllocationServiceTest {
             assertThat(a2.getAllocationFactor()).isCloseTo(0.5, within(0.1));
             return true;
         }));
+
+
+        // Week rows are rebuilt for the release alongside the allocations: two resources x two weeks at 0.5 PD/day
+        verify(allocationWeekRepository).deleteByReleaseId(releaseId);
+        verify(allocationWeekRepository).insertInBatch(argThat(weeks -> {
+            assertThat(weeks).hasSize(4);
+            assertThat(weeks).extracting(AllocationWeek::getWeekStart)
+                .containsExactly(start, start.plusWeeks(1), start, start.plusWeeks(1));
+            assertThat(weeks).allSatisfy(w -> assertThat(w.getPersonDays()).isCloseTo(2.5, within(1e-9)));
+            return true;
+        }));
     }
 
     @Test
@@ -181,23 +190,15 @@ class AllocationServiceTest {
         component.setName("Test Component");
         component.setTechnicalDesignDays(8.0);
         component.setScopeItem(scopeItem);
-        when(componentRepository.findByScopeItemId(1L)).thenReturn(List.of(component));
+        when(componentRepository.findByReleaseId(releaseId)).thenReturn(List.of(component));
 
         Resource r1 = createResource(1L, "TD-1", SkillFunctionEnum.TECHNICAL_DESIGN, SkillSubFunctionEnum.FORGEROCK_IDM);
         Resource r2 = createResource(2L, "TD-2", SkillFunctionEnum.TECHNICAL_DESIGN, SkillSubFunctionEnum.SAILPOINT);
-        when(resourceRepository.findBySkillFunctionAndStatus(SkillFunctionEnum.TECHNICAL_DESIGN, StatusEnum.ACTIVE))
-            .thenReturn(List.of(r1, r2));
-
-        // Mock other skill functions to return empty lists
-        for (SkillFunctionEnum fn : SkillFunctionEnum.values()) {
-            if (fn != SkillFunctionEnum.TECHNICAL_DESIGN) {
-                when(resourceRepository.findBySkillFunctionAndStatus(fn, StatusEnum.ACTIVE)).thenReturn(Collections.emptyList());
-            }
-        }
+        when(resourceRepository.findByStatus(StatusEnum.ACTIVE)).thenReturn(List.of(r1, r2));
 
         allocationService.generateAllocation(releaseId);
 
-        verify(allocationRepository).saveAll(argThat(allocations -> {
+        verify(allocationRepository).insertInBatch(argThat(allocations -> {
             List<Allocation> allocationList = (List<Allocation>) allocations;
             assertThat(allocationList).hasSize(1);
             Allocation a = allocationList.get(0);
@@ -237,19 +238,11 @@ class AllocationServiceTest {
         Resource r1 = createResource(1L, "TEST-1", SkillFunctionEnum.TEST, SkillSubFunctionEnum.MANUAL);
         Resource r2 = createResource(2L, "TEST-2", SkillFunctionEnum.TEST, SkillSubFunctionEnum.AUTOMATED);
         Resource r3 = createResource(3L, "TEST-3", SkillFunctionEnum.TEST, SkillSubFunctionEnum.MANUAL);
-        when(resourceRepository.findBySkillFunctionAndStatus(SkillFunctionEnum.TEST, StatusEnum.ACTIVE))
-            .thenReturn(List.of(r1, r2, r3));
-
-        // Mock other skill functions to return empty lists
-        for (SkillFunctionEnum fn : SkillFunctionEnum.values()) {
-            if (fn != SkillFunctionEnum.TEST) {
-                when(resourceRepository.findBySkillFunctionAndStatus(fn, StatusEnum.ACTIVE)).thenReturn(Collections.emptyList());
-            }
-        }
+        when(resourceRepository.findByStatus(StatusEnum.ACTIVE)).thenReturn(List.of(r1, r2, r3));
 
         allocationService.generateAllocation(releaseId);
 
-        verify(allocationRepository).saveAll(argThat(allocations -> {
+        verify(allocationRepository).insertInBatch(argThat(allocations -> {
             List<Allocation> allocationList = (List<Allocation>) allocations;
             assertThat(allocationList).hasSize(2); // Only Manual test resources
             Allocation a1 = allocationList.get(0);
@@ -294,19 +287,15 @@ class AllocationServiceTest {
         component.setName("Test Component");
         component.setBuildDays(9.0);
         component.setScopeItem(scopeItem);
-        when(componentRepository.findByScopeItemId(1L)).thenReturn(List.of(component));
+        when(componentRepository.findByReleaseId(releaseId)).thenReturn(List.of(component));
 
-        for (SkillFunctionEnum fn : SkillFunctionEnum.values()) {
-            when(resourceRepository.findBySkillFunctionAndStatus(fn, StatusEnum.ACTIVE)).thenReturn(Collections.emptyList());
-        }
         Resource r1 = createResource(1L, "B-1", SkillFunctionEnum.BUILD, SkillSubFunctionEnum.FORGEROCK_IDM);
         Resource r2 = createResource(2L, "B-2", SkillFunctionEnum.BUILD, SkillSubFunctionEnum.SAILPOINT);
-        when(resourceRepository.findBySkillFunctionAndStatus(SkillFunctionEnum.BUILD, StatusEnum.ACTIVE))
-            .thenReturn(List.of(r1, r2));
+        when(resourceRepository.findByStatus(StatusEnum.ACTIVE)).thenReturn(List.of(r1, r2));
 
         allocationService.generateAllocation(releaseId);
 
-        verify(allocationRepository).saveAll(argThat(allocations -> {
+        verify(allocationRepository).insertInBatch(argThat(allocations -> {
             List<Allocation> allocationList = (List<Allocation>) allocations;
             assertThat(allocationList).hasSize(1);
             Allocation a = allocationList.get(0);
@@ -348,22 +337,14 @@ class AllocationServiceTest {
         component.setName("Test Component");
         component.setBuildDays(5.0); // More effort than working days
         component.setScopeItem(scopeItem);
-        when(componentRepository.findByScopeItemId(1L)).thenReturn(List.of(component));
+        when(componentRepository.findByReleaseId(releaseId)).thenReturn(List.of(component));
 
         Resource r1 = createResource(1L, "B-1", SkillFunctionEnum.BUILD, SkillSubFunctionEnum.FORGEROCK_IDM);
-        when(resourceRepository.findBySkillFunctionAndStatus(SkillFunctionEnum.BUILD, StatusEnum.ACTIVE))
-            .thenReturn(List.of(r1));
-
-        // Mock other skill functions to return empty lists
-        for (SkillFunctionEnum fn : SkillFunctionEnum.values()) {
-            if (fn != SkillFunctionEnum.BUILD) {
-                when(resourceRepository.findBySkillFunctionAndStatus(fn, StatusEnum.ACTIVE)).thenReturn(Collections.emptyList());
-            }
-        }
+        when(resourceRepository.findByStatus(StatusEnum.ACTIVE)).thenReturn(List.of(r1));
 
         allocationService.generateAllocation(releaseId);
 
-        verify(allocationRepository).saveAll(argThat(allocations -> {
+        verify(allocationRepository).insertInBatch(argThat(allocations -> {
             List<Allocation> allocationList = (List<Allocation>) allocations;
             assertThat(allocationList).hasSize(1);
             Allocation a = allocationList.get(0);
@@ -408,26 +389,16 @@ class AllocationServiceTest {
         component.setBuildDays(10.0); // Build effort
         // SIT effort is set on ScopeItem, not Component
         component.setScopeItem(scopeItem);
-        when(componentRepository.findByScopeItemId(1L)).thenReturn(List.of(component));
+        when(componentRepository.findByReleaseId(releaseId)).thenReturn(List.of(component));
 
         Resource buildResource = createResource(1L, "B-1", SkillFunctionEnum.BUILD, SkillSubFunctionEnum.FORGEROCK_IDM);
         Resource testResource = createResource(2L, "T-1", SkillFunctionEnum.TEST, SkillSubFunctionEnum.MANUAL);
         
-        when(resourceRepository.findBySkillFunctionAndStatus(SkillFunctionEnum.BUILD, StatusEnum.ACTIVE))
-            .thenReturn(List.of(buildResource));
-        when(resourceRepository.findBySkillFunctionAndStatus(SkillFunctionEnum.TEST, StatusEnum.ACTIVE))
-            .thenReturn(List.of(testResource));
-
-        // Mock other skill functions to return empty lists
-        for (SkillFunctionEnum fn : SkillFunctionEnum.values()) {
-            if (fn != SkillFunctionEnum.BUILD && fn != SkillFunctionEnum.TEST) {
-                when(resourceRepository.findBySkillFunctionAndStatus(fn, StatusEnum.ACTIVE)).thenReturn(Collections.emptyList());
-            }
-        }
+        when(resourceRepository.findByStatus(StatusEnum.ACTIVE)).thenReturn(List.of(buildResource, testResource));
 
         allocationService.generateAllocation(releaseId);
 
-        verify(allocationRepository).saveAll(argThat(allocations -> {
+        verify(allocationRepository).insertInBatch(argThat(allocations -> {
             List<Allocation> allocationList = (List<Allocation>) allocations;
             assertThat(allocationList).hasSize(7); // BUILD + SIT + SIT build allocation + UAT (Build) + UAT (Test) + SMOKE (Build) + SMOKE (Test)
             
@@ -493,26 +464,16 @@ class AllocationServiceTest {
         component.setBuildDays(10.0); // Build effort
         // SIT effort is set on ScopeItem, not Component
         component.setScopeItem(scopeItem);
-        when(componentRepository.findByScopeItemId(1L)).thenReturn(List.of(component));
+        when(componentRepository.findByReleaseId(releaseId)).thenReturn(List.of(component));
 
         Resource buildResource = createResource(1L, "B-1", SkillFunctionEnum.BUILD, SkillSubFunctionEnum.FORGEROCK_IDM);
         Resource testResource = createResource(2L, "T-1", SkillFunctionEnum.TEST, SkillSubFunctionEnum.MANUAL);
         
-        when(resourceRepository.findBySkillFunctionAndStatus(SkillFunctionEnum.BUILD, StatusEnum.ACTIVE))
-            .thenReturn(List.of(buildResource));
-        when(resourceRepository.findBySkillFunctionAndStatus(SkillFunctionEnum.TEST, StatusEnum.ACTIVE))
-            .thenReturn(List.of(testResource));
-
-        // Mock other skill functions to return empty lists
-        for (SkillFunctionEnum fn : SkillFunctionEnum.values()) {
-            if (fn != SkillFunctionEnum.BUILD && fn != SkillFunctionEnum.TEST) {
-                when(resourceRepository.findBySkillFunctionAndStatus(fn, StatusEnum.ACTIVE)).thenReturn(Collections.emptyList());
-            }
-        }
+        when(resourceRepository.findByStatus(StatusEnum.ACTIVE)).thenReturn(List.of(buildResource, testResource));
 
         allocationService.generateAllocation(releaseId);
 
-        verify(allocationRepository).saveAll(argThat(allocations -> {
+        verify(allocationRepository).insertInBatch(argThat(allocations -> {
             List<Allocation> allocationList = (List<Allocation>) allocations;
             assertThat(allocationList).hasSize(7); // BUILD + SIT + SIT build allocation + UAT (Build) + UAT (Test) + SMOKE (Build) + SMOKE (Test)
             
@@ -542,32 +503,106 @@ class AllocationServiceTest {
     }
 
     @Test
-    void testGetAllocationConflicts_DetectsOverAllocation() {
-        Resource r1 = createResource(1L, "Overloaded", SkillFunctionEnum.BUILD, SkillSubFunctionEnum.FORGEROCK_IDM);
-        
-        Allocation a1 = new Allocation();
-        a1.setResource(r1);
-        a1.setPhase(PhaseTypeEnum.BUILD);
-        a1.setStartDate(LocalDate.of(2025, 1, 6));
-        a1.setEndDate(LocalDate.of(2025, 1, 10));
-        a1.setAllocationFactor(3.0); // Over-allocated
-        
-        Allocation a2 = new Allocation();
-        a2.setResource(r1);
-        a2.setPhase(PhaseTypeEnum.TECHNICAL_DESIGN);
-        a2.setStartDate(LocalDate.of(2025, 1, 6));
-        a2.setEndDate(LocalDate.of(2025, 1, 10));
-        a2.setAllocationFactor(2.0); // Also over-allocated
-        
-        when(allocationRepository.findAll()).thenReturn(List.of(a1, a2));
-        
+    void testGenerateAllocation_UsesFixedNumberOfQueriesAndBulkWrites() {
+        Long releaseId = 900L;
+        when(allocationRepository.findByReleaseId(releaseId)).thenReturn(Collections.emptyList());
+
+        Phase build = new Phase(PhaseTypeEnum.BUILD, LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 17));
+        Phase sit = new Phase(PhaseTypeEnum.SYSTEM_INTEGRATION_TEST, LocalDate.of(2025, 1, 20), LocalDate.of(2025, 1, 31));
+        Phase uat = new Phase(PhaseTypeEnum.USER_ACCEPTANCE_TEST, LocalDate.of(2025, 2, 3), LocalDate.of(2025, 2, 14));
+        when(phaseRepository.findByReleaseId(releaseId)).thenReturn(List.of(build, sit, uat));
+
+        Release release = new Release();
+        release.setId(releaseId);
+        when(releaseRepository.findById(releaseId)).thenReturn(Optional.of(release));
+
+        List<ScopeItem> scopeItems = new ArrayList<>();
+        List<Component> components = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            ScopeItem scopeItem = new ScopeItem();
+            scopeItem.setId(i);
+            scopeItem.setRelease(release);
+            scopeItem.setSitDays(1.0);
+            scopeItems.add(scopeItem);
+
+            Component component = new Component();
+            component.setId(i);
+            component.setBuildDays(2.0);
+            component.setScopeItem(scopeItem);
+            components.add(component);
+        }
+        when(scopeItemRepository.findByReleaseId(releaseId)).thenReturn(scopeItems);
+        when(componentRepository.findByReleaseId(releaseId)).thenReturn(components);
+
+        Resource buildResource = createResource(1L, "B-1", SkillFunctionEnum.BUILD, SkillSubFunctionEnum.FORGEROCK_IDM);
+        Resource testResource = createResource(2L, "T-1", SkillFunctionEnum.TEST, SkillSubFunctionEnum.MANUAL);
+        when(resourceRepository.findByStatus(StatusEnum.ACTIVE)).thenReturn(List.of(buildResource, testResource));
+
+        allocationService.generateAllocation(releaseId);
+
+        verify(allocationRepository).deleteByReleaseId(releaseId);
+        verify(allocationRepository, never()).findByReleaseId(releaseId);
+        verify(componentRepository, times(1)).findByReleaseId(releaseId);
+        verify(componentRepository, never()).findByScopeItemId(anyLong());
+        verify(resourceRepository, times(1)).findByStatus(StatusEnum.ACTIVE);
+        verify(resourceRepository, never()).findBySkillFunctionAndStatus(any(), any());
+        verify(allocationRepository).insertInBatch(argThat(allocations -> {
+            List<Allocation> allocationList = (List<Allocation>) allocations;
+            Allocation buildAllocation = allocationList.stream()
+                .filter(a -> a.getPhase() == PhaseTypeEnum.BUILD)
+                .findFirst().orElseThrow();
+            assertThat(buildAllocation.getAllocationDays()).isEqualTo(100.0); // 50 components * 2.0
+            return true;
+        }));
+    }
+
+    @Test
+    void testGetAllocationConflicts_ReadsOverloadedWeeksFromAllocationWeeks() {
+        LocalDate monday = LocalDate.of(2025, 1, 6);
+        when(allocationWeekRepository.findOverloadedWeeks(anyDouble(), any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of(
+            new Object[]{1L, "Overloaded", monday, 25.0},
+            new Object[]{1L, "Overloaded", monday.plusWeeks(1), 5.0},
+            new Object[]{4L, "Busy", monday, 5.5}));
+
         List<AllocationConflictResponse> conflicts = allocationService.getAllocationConflicts();
-        
-        assertThat(conflicts).hasSize(1);
+
+        assertThat(conflicts).hasSize(2);
         assertThat(conflicts.get(0).getResourceId()).isEqualTo(1L);
         assertThat(conflicts.get(0).getResourceName()).isEqualTo("Overloaded");
-        assertThat(conflicts.get(0).getWeeklyConflicts()).hasSize(1);
-        assertThat(conflicts.get(0).getWeeklyConflicts().get(0).getOverAllocation()).isGreaterThan(0);
+        assertThat(conflicts.get(0).getWeeklyConflicts()).hasSize(2);
+        assertThat(conflicts.get(0).getWeeklyConflicts().get(0).getWeekStarting()).isEqualTo(monday);
+        assertThat(conflicts.get(0).getWeeklyConflicts().get(0).getTotalAllocation()).isEqualTo(25.0);
+        assertThat(conflicts.get(0).getWeeklyConflicts().get(0).getOverAllocation()).isEqualTo(20.5);
+        assertThat(conflicts.get(1).getResourceId()).isEqualTo(4L);
+        assertThat(conflicts.get(1).getWeeklyConflicts().get(0).getOverAllocation()).isCloseTo(1.0, within(1e-9));
+        verify(allocationRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAllocationConflicts_AppliesWindowAndResourceFilter() {
+        LocalDate monday = LocalDate.of(2025, 5, 5);
+        when(allocationWeekRepository.findOverloadedWeeksForResources(anyDouble(), eq(List.of(3L)),
+                eq(monday.plusDays(7)), eq(monday.plusDays(13))))
+            .thenReturn(List.<Object[]>of(new Object[]{3L, "Windowed", monday.plusDays(7), 5.0}));
+
+        // Window is widened to whole weeks: Wednesday..Thursday -> Monday..Sunday
+        List<AllocationConflictResponse> conflicts =
+            allocationService.getAllocationConflicts(monday.plusDays(9), monday.plusDays(10), List.of(3L));
+
+        assertThat(conflicts).hasSize(1);
+        assertThat(conflicts.get(0).getWeeklyConflicts()).extracting(AllocationConflictResponse.WeeklyConflict::getWeekStarting)
+            .containsExactly(monday.plusDays(7));
+        verify(allocationWeekRepository, never()).findOverloadedWeeks(anyDouble(), any(), any());
+    }
+
+    @Test
+    void testDeleteAllocationsForRelease_ClearsAllocationWeeks() {
+        when(allocationRepository.deleteByReleaseId(9L)).thenReturn(3);
+
+        allocationService.deleteAllocationsForRelease(9L);
+
+        verify(allocationRepository).deleteByReleaseId(9L);
+        verify(allocationWeekRepository).deleteByReleaseId(9L);
     }
 
     private Resource createResource(Long id, String name, SkillFunctionEnum skillFunction, SkillSubFunctionEnum skillSubFunction) {
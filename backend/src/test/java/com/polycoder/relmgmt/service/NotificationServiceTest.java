@@ -11,6 +11,7 @@ import com.polycoder.relmgmt.service.impl.NotificationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -21,6 +22,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -140,6 +142,28 @@ class NotificationServiceTest {
         when(notificationRepository.existsById(7L)).thenReturn(false);
         assertThrows(ResourceNotFoundException.class, () -> notificationService.delete(7L));
     }
-}
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testNotifyAllUsers() {
+        User other = new User();
+        other.setId(2L);
+        when(userRepository.findAll()).thenReturn(Arrays.asList(user, other));
+
+        notificationService.notifyAllUsers(EventTypeEnum.RESOURCE_DEACTIVATED, "RESOURCE", Arrays.asList(10L, 11L), "Deactivated");
+
+        ArgumentCaptor<List<Notification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(captor.capture());
+        List<Notification> saved = captor.getValue();
+        assertEquals(4, saved.size());
+        assertTrue(saved.stream().allMatch(n -> n.getEventType() == EventTypeEnum.RESOURCE_DEACTIVATED
+            && "RESOURCE".equals(n.getEntityType()) && "Deactivated".equals(n.getMessage())));
+        assertEquals(2, saved.stream().filter(n -> n.getUser() == other).count());
+    }
 
+    @Test
+    void testNotifyAllUsers_NoEntities() {
+        notificationService.notifyAllUsers(EventTypeEnum.RESOURCE_DEACTIVATED, "RESOURCE", Arrays.asList(), "Deactivated");
+        verifyNoInteractions(notificationRepository, userRepository);
+    }
+}
@@ -0,0 +1,140 @@
+package com.polycoder.relmgmt.service;
+
+import com.polycoder.relmgmt.dto.PhaseResponse;
+import com.polycoder.relmgmt.dto.ReleaseResponse;
+import com.polycoder.relmgmt.service.impl.ReleaseReadCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReleaseReadCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-10T09:00:00Z"));
+    private final ReleaseReadCache cache = new ReleaseReadCache(meterRegistry, Duration.ofSeconds(30), clock);
+
+    @Test
+    void changeEvictsReleaseAndViewsAndCountsHitsAndMisses() {
+        long generation = cache.generation();
+        cache.put(generation, release(1L));
+        cache.put(generation, release(2L));
+        cache.putActiveIds(generation, TODAY, List.of(1L, 2L));
+        cache.putCompletedIds(generation, TODAY, List.of());
+
+        assertThat(cache.get(1L)).isNotNull();
+        assertThat(cache.getActiveIds(TODAY)).containsExactly(1L, 2L);
+        assertThat(cache.getCompletedIds(TODAY)).isEmpty();
+
+        cache.onReleaseChanged(new ReleaseChangedEvent(1L));
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isNotNull();
+        assertThat(cache.getActiveIds(TODAY)).isNull();
+        assertThat(cache.getCompletedIds(TODAY)).isNull();
+
+        assertThat(count("release", "hit")).isEqualTo(2);
+        assertThat(count("release", "miss")).isEqualTo(1);
+        assertThat(count("active", "miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("release.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void storeFromReadThatRacedAnInvalidationIsDropped() {
+        long generation = cache.generation();
+        cache.onReleaseChanged(new ReleaseChangedEvent(1L));
+
+        cache.put(generation, release(1L));
+        cache.putActiveIds(generation, TODAY, List.of(1L));
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.getActiveIds(TODAY)).isNull();
+    }
+
+    @Test
+    void viewsExpireWhenTheDayChanges() {
+        cache.putActiveIds(cache.generation(), TODAY, List.of(1L));
+
+        assertThat(cache.getActiveIds(TODAY.plusDays(1))).isNull();
+        assertThat(cache.getActiveIds(TODAY)).containsExactly(1L);
+    }
+
+    @Test
+    void entriesExpireAfterTtlSoChangesOnOtherReplicasAreSeen() {
+        long generation = cache.generation();
+        cache.put(generation, release(1L));
+        cache.putActiveIds(generation, TODAY, List.of(1L));
+
+        clock.advance(Duration.ofSeconds(29));
+        assertThat(cache.get(1L)).isNotNull();
+        assertThat(cache.getActiveIds(TODAY)).containsExactly(1L);
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.getActiveIds(TODAY)).isNull();
+        assertThat(meterRegistry.get("release.cache.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void getReturnsCopiesThatCannotAlterTheCachedRelease() {
+        ReleaseResponse stored = release(1L);
+        stored.setPhases(new ArrayList<>());
+        cache.put(cache.generation(), stored);
+        stored.setName("Changed after put");
+
+        ReleaseResponse first = cache.get(1L);
+        first.setName("Changed by caller");
+        assertThatThrownBy(() -> first.getPhases().add(new PhaseResponse()))
+            .isInstanceOf(UnsupportedOperationException.class);
+
+        assertThat(cache.get(1L)).isNotSameAs(first);
+        assertThat(cache.get(1L).getName()).isEqualTo("Release 1");
+    }
+
+    private double count(String view, String result) {
+        return meterRegistry.get("release.cache.requests").tag("view", view).tag("result", result).counter().count();
+    }
+
+    private ReleaseResponse release(Long id) {
+        return new ReleaseResponse(id, "Release " + id, "REL-00" + id, null, List.of(), List.of(), null, null);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
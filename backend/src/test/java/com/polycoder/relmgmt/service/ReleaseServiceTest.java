@@ -8,13 +8,17 @@ import com.polycoder.relmgmt.repository.ReleaseRepository;
 import com.polycoder.relmgmt.repository.PhaseRepository;
 import com.polycoder.relmgmt.repository.BlockerRepository;
 import com.polycoder.relmgmt.repository.AllocationRepository;
+import com.polycoder.relmgmt.service.impl.ReleaseReadCache;
 import com.polycoder.relmgmt.service.impl.ReleaseServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -44,6 +48,12 @@ public class ReleaseServiceTest {
     @Mock
     private AllocationRepository allocationRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ReleaseReadCache releaseReadCache = new ReleaseReadCache(new SimpleMeterRegistry(), 30);
+
     @InjectMocks
     private ReleaseServiceImpl releaseService;
 
@@ -101,13 +111,39 @@ public class ReleaseServiceTest {
         Page<Release> releasePage = new PageImpl<>(Arrays.asList(testRelease), pageable, 1);
         
         when(releaseRepository.findAll(pageable)).thenReturn(releasePage);
-        when(phaseRepository.findByReleaseId(anyLong())).thenReturn(Arrays.asList(testPhase));
-        when(blockerRepository.findByReleaseId(anyLong())).thenReturn(Arrays.asList(testBlocker));
+        when(phaseRepository.findByReleaseIdIn(List.of(1L))).thenReturn(Arrays.asList(testPhase));
+        when(blockerRepository.findByReleaseIdIn(List.of(1L))).thenReturn(Arrays.asList(testBlocker));
 
         Page<ReleaseResponse> result = releaseService.getAllReleases(null, null, pageable);
 
         assertEquals(1, result.getTotalElements());
         assertEquals("REL-001", result.getContent().get(0).getIdentifier());
+        assertEquals(1, result.getContent().get(0).getPhases().size());
+        assertEquals(1, result.getContent().get(0).getBlockers().size());
+        verify(phaseRepository, never()).findByReleaseId(anyLong());
+        verify(blockerRepository, never()).findByReleaseId(anyLong());
+    }
+
+    @Test
+    void testGetAllReleasesLoadsPhasesAndBlockersOncePerPage() {
+        Release other = new Release();
+        other.setId(2L);
+        other.setName("Other Release");
+        other.setIdentifier("REL-002");
+        Pageable pageable = PageRequest.of(0, 10);
+        when(releaseRepository.findAll(pageable)).thenReturn(new PageImpl<>(Arrays.asList(testRelease, other), pageable, 12));
+        when(phaseRepository.findByReleaseIdIn(List.of(1L, 2L))).thenReturn(Arrays.asList(testPhase));
+        when(blockerRepository.findByReleaseIdIn(List.of(1L, 2L))).thenReturn(Arrays.asList());
+
+        Page<ReleaseResponse> result = releaseService.getAllReleases(null, null, pageable);
+
+        assertEquals(12, result.getTotalElements());
+        assertEquals(pageable, result.getPageable());
+        assertEquals(1, result.getContent().get(0).getPhases().size());
+        assertTrue(result.getContent().get(1).getPhases().isEmpty());
+        assertTrue(result.getContent().get(1).getBlockers().isEmpty());
+        verify(phaseRepository, times(1)).findByReleaseIdIn(anyCollection());
+        verify(blockerRepository, times(1)).findByReleaseIdIn(anyCollection());
     }
 
     @Test
@@ -200,14 +236,61 @@ public class ReleaseServiceTest {
         });
 
         verify(releaseRepository).delete(testRelease);
+        verify(eventPublisher).publishEvent(argThat((ReleaseChangedEvent e) -> e.getReleaseId().equals(1L)));
+    }
+
+    @Test
+    void testGetActiveReleasesServedFromCacheUntilReleaseChanges() {
+        when(releaseRepository.findActiveReleases(any(LocalDate.class))).thenReturn(Arrays.asList(testRelease));
+        when(phaseRepository.findByReleaseIdIn(List.of(1L))).thenReturn(Arrays.asList(testPhase));
+        when(blockerRepository.findByReleaseIdIn(List.of(1L))).thenReturn(Arrays.asList(testBlocker));
+
+        List<ReleaseResponse> first = releaseService.getActiveReleases();
+        List<ReleaseResponse> second = releaseService.getActiveReleases();
+
+        assertEquals(1, second.size());
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(0), releaseService.getReleaseById(1L));
+        verify(releaseRepository, times(1)).findActiveReleases(any(LocalDate.class));
+        verify(releaseRepository, never()).findById(anyLong());
+
+        // A committed change evicts the release and the view
+        releaseReadCache.onReleaseChanged(new ReleaseChangedEvent(1L));
+        releaseService.getActiveReleases();
+
+        verify(releaseRepository, times(2)).findActiveReleases(any(LocalDate.class));
+    }
+
+    @Test
+    void testGetActiveReleasesReloadsOnlyEvictedReleases() {
+        Release other = new Release();
+        other.setId(2L);
+        other.setName("Other Release");
+        other.setIdentifier("REL-002");
+        when(releaseRepository.findActiveReleases(any(LocalDate.class))).thenReturn(Arrays.asList(testRelease, other));
+        when(phaseRepository.findByReleaseIdIn(anyCollection())).thenReturn(Arrays.asList());
+        when(blockerRepository.findByReleaseIdIn(anyCollection())).thenReturn(Arrays.asList());
+        releaseService.getActiveReleases();
+
+        // Only release 2 is evicted; keep the view list to check the per-release path
+        List<Long> ids = releaseReadCache.getActiveIds(LocalDate.now());
+        releaseReadCache.onReleaseChanged(new ReleaseChangedEvent(2L));
+        releaseReadCache.putActiveIds(releaseReadCache.generation(), LocalDate.now(), ids);
+        when(releaseRepository.findAllById(List.of(2L))).thenReturn(Arrays.asList(other));
+
+        List<ReleaseResponse> result = releaseService.getActiveReleases();
+
+        assertEquals(List.of(1L, 2L), result.stream().map(ReleaseResponse::getId).toList());
+        verify(releaseRepository, times(1)).findActiveReleases(any(LocalDate.class));
+        verify(releaseRepository).findAllById(List.of(2L));
     }
 
     @Test
     void testGetActiveReleases() {
         when(releaseRepository.findActiveReleases(any(LocalDate.class)))
                 .thenReturn(Arrays.asList(testRelease));
-        when(phaseRepository.findByReleaseId(anyLong())).thenReturn(Arrays.asList(testPhase));
-        when(blockerRepository.findByReleaseId(anyLong())).thenReturn(Arrays.asList(testBlocker));
+        when(phaseRepository.findByReleaseIdIn(List.of(1L))).thenReturn(Arrays.asList(testPhase));
+        when(blockerRepository.findByReleaseIdIn(List.of(1L))).thenReturn(Arrays.asList(testBlocker));
 
         List<ReleaseResponse> result = releaseService.getActiveReleases();
 
@@ -219,8 +302,8 @@ public class ReleaseServiceTest {
     void testGetCompletedReleases() {
         when(releaseRepository.findCompletedReleases(any(LocalDate.class)))
                 .thenReturn(Arrays.asList(testRelease));
-        when(phaseRepository.findByReleaseId(anyLong())).thenReturn(Arrays.asList(testPhase));
-        when(blockerRepository.findByReleaseId(anyLong())).thenReturn(Arrays.asList(testBlocker));
+        when(phaseRepository.findByReleaseIdIn(List.of(1L))).thenReturn(Arrays.asList(testPhase));
+        when(blockerRepository.findByReleaseIdIn(List.of(1L))).thenReturn(Arrays.asList(testBlocker));
 
         List<ReleaseResponse> result = releaseService.getCompletedReleases();
 
@@ -239,6 +322,7 @@ public class ReleaseServiceTest {
 
         assertEquals("FUNCTIONAL_DESIGN", result.getPhaseType());
         verify(phaseRepository).save(any(Phase.class));
+        verify(eventPublisher).publishEvent(any(ReleaseChangedEvent.class));
     }
 
     @Test
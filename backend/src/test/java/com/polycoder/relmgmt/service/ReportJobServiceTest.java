@@ -0,0 +1,135 @@
+package com.polycoder.relmgmt.service;
+
+import com.polycoder.relmgmt.dto.ReportFormat;
+import com.polycoder.relmgmt.dto.ReportJobResponse;
+import com.polycoder.relmgmt.exception.ResourceNotFoundException;
+import com.polycoder.relmgmt.exception.ValidationException;
+import com.polycoder.relmgmt.service.impl.ReportJobServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReportJobServiceTest {
+
+    private ReportService reportService;
+    private final List<Runnable> queued = new ArrayList<>();
+    private final Executor queueingExecutor = queued::add;
+    private final Clock clock = Clock.fixed(Instant.parse("2025-03-03T09:00:00Z"), ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        reportService = mock(ReportService.class);
+        doAnswer(invocation -> {
+            String type = invocation.getArgument(0);
+            invocation.<OutputStream>getArgument(3).write(type.getBytes());
+            return null;
+        }).when(reportService).exportReport(any(), anyMap(), any(ReportFormat.class), any(OutputStream.class));
+    }
+
+    @Test
+    void submitJob_runsExportAndServesResult() {
+        ReportJobServiceImpl service = new ReportJobServiceImpl(reportService, TransactionOperations.withoutTransaction(), queueingExecutor, Duration.ofMinutes(15), 1024, clock);
+
+        ReportJobResponse submitted = service.submitJob("release_timeline", Map.of("year", "2025"), ReportFormat.CSV);
+        assertThat(submitted.getStatus()).isEqualTo("QUEUED");
+        assertThatThrownBy(() -> service.getJobResult(submitted.getJobId())).isInstanceOf(ValidationException.class);
+
+        runQueued();
+
+        ReportJobResponse done = service.getJob(submitted.getJobId());
+        assertThat(done.getStatus()).isEqualTo("COMPLETED");
+        assertThat(done.getSizeBytes()).isEqualTo(16L);
+        assertThat(done.getExpiresAt()).isEqualTo(clock.instant().plus(Duration.ofMinutes(15)));
+        assertThat(new String(service.getJobResult(submitted.getJobId()))).isEqualTo("RELEASE_TIMELINE");
+    }
+
+    @Test
+    void submitJob_deduplicatesInFlightAndCachedRequests() throws IOException {
+        ReportJobServiceImpl service = new ReportJobServiceImpl(reportService, TransactionOperations.withoutTransaction(), queueingExecutor, Duration.ofMinutes(15), 1024, clock);
+
+        ReportJobResponse first = service.submitJob("CAPACITY_FORECAST", Map.of("from", "2025-01-01", "to", "2025-12-31"), ReportFormat.XLSX);
+        // Same parameters in a different order, plus the type/format request params, map to the same job
+        ReportJobResponse inFlight = service.submitJob("capacity_forecast",
+                Map.of("to", "2025-12-31", "type", "capacity_forecast", "from", "2025-01-01"), ReportFormat.XLSX);
+        assertThat(queued).hasSize(1);
+        assertThat(inFlight.getJobId()).isEqualTo(first.getJobId());
+        assertThat(inFlight.isDeduplicated()).isTrue();
+
+        runQueued();
+        ReportJobResponse cached = service.submitJob("CAPACITY_FORECAST", Map.of("from", "2025-01-01", "to", "2025-12-31"), ReportFormat.XLSX);
+        assertThat(cached.getJobId()).isEqualTo(first.getJobId());
+        assertThat(cached.getStatus()).isEqualTo("COMPLETED");
+        assertThat(queued).isEmpty();
+
+        // A different format is a different artifact
+        service.submitJob("CAPACITY_FORECAST", Map.of("from", "2025-01-01", "to", "2025-12-31"), ReportFormat.CSV);
+        assertThat(queued).hasSize(1);
+        verify(reportService, times(1)).exportReport(eq("CAPACITY_FORECAST"), anyMap(), eq(ReportFormat.XLSX), any(OutputStream.class));
+    }
+
+    @Test
+    void submitJob_expiredResultsAreDroppedAndRecomputed() {
+        ReportJobServiceImpl service = new ReportJobServiceImpl(reportService, TransactionOperations.withoutTransaction(), Runnable::run, Duration.ZERO, 1024, clock);
+
+        ReportJobResponse first = service.submitJob("RELEASE_TIMELINE", Map.of(), ReportFormat.XLSX);
+        assertThat(first.getStatus()).isEqualTo("COMPLETED");
+
+        assertThatThrownBy(() -> service.getJob(first.getJobId())).isInstanceOf(ResourceNotFoundException.class);
+        ReportJobResponse second = service.submitJob("RELEASE_TIMELINE", Map.of(), ReportFormat.XLSX);
+        assertThat(second.getJobId()).isNotEqualTo(first.getJobId());
+        assertThat(second.isDeduplicated()).isFalse();
+    }
+
+    @Test
+    void submitJob_evictsLeastRecentlyUsedResultsOverByteBudget() {
+        // Each result is the type name (16, 17 and 20 bytes); the budget fits two of them
+        ReportJobServiceImpl service = new ReportJobServiceImpl(reportService, TransactionOperations.withoutTransaction(), Runnable::run, Duration.ofMinutes(15), 40, clock);
+
+        ReportJobResponse timeline = service.submitJob("RELEASE_TIMELINE", Map.of(), ReportFormat.XLSX);
+        ReportJobResponse capacity = service.submitJob("CAPACITY_FORECAST", Map.of(), ReportFormat.XLSX);
+        service.submitJob("RELEASE_TIMELINE", Map.of(), ReportFormat.XLSX); // touch, so capacity is now eldest
+        ReportJobResponse conflicts = service.submitJob("ALLOCATION_CONFLICTS", Map.of(), ReportFormat.XLSX);
+
+        assertThat(service.getJob(timeline.getJobId()).getStatus()).isEqualTo("COMPLETED");
+        assertThat(service.getJob(conflicts.getJobId()).getStatus()).isEqualTo("COMPLETED");
+        assertThatThrownBy(() -> service.getJob(capacity.getJobId())).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void submitJob_failedJobReportsErrorAndAllowsRetry() throws IOException {
+        doThrow(new IllegalStateException("boom"))
+                .when(reportService).exportReport(eq("SKILL_CAPACITY_FORECAST"), anyMap(), any(ReportFormat.class), any(OutputStream.class));
+        ReportJobServiceImpl service = new ReportJobServiceImpl(reportService, TransactionOperations.withoutTransaction(), Runnable::run, Duration.ofMinutes(15), 1024, clock);
+
+        ReportJobResponse failed = service.submitJob("SKILL_CAPACITY_FORECAST", Map.of(), ReportFormat.XLSX);
+        assertThat(service.getJob(failed.getJobId()).getStatus()).isEqualTo("FAILED");
+        assertThat(service.getJob(failed.getJobId()).getError()).isEqualTo("boom");
+
+        ReportJobResponse retry = service.submitJob("SKILL_CAPACITY_FORECAST", Map.of(), ReportFormat.XLSX);
+        assertThat(retry.getJobId()).isNotEqualTo(failed.getJobId());
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
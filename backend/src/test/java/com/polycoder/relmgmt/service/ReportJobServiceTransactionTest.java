@@ -0,0 +1,98 @@
+package com.polycoder.relmgmt.service;
+
+import com.polycoder.relmgmt.dto.ReportFormat;
+import com.polycoder.relmgmt.dto.ReportJobResponse;
+import com.polycoder.relmgmt.entity.Phase;
+import com.polycoder.relmgmt.entity.PhaseTypeEnum;
+import com.polycoder.relmgmt.entity.Release;
+import com.polycoder.relmgmt.repository.AllocationRepository;
+import com.polycoder.relmgmt.repository.PhaseRepository;
+import com.polycoder.relmgmt.repository.ReleaseRepository;
+import com.polycoder.relmgmt.repository.ResourceRepository;
+import com.polycoder.relmgmt.service.impl.ReportJobServiceImpl;
+import com.polycoder.relmgmt.service.impl.ReportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs report jobs on a real worker thread against the JPA repositories, outside any test transaction, so
+ * lazy associations are resolved the same way as in production.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReportJobServiceTransactionTest {
+
+    @Autowired
+    private PhaseRepository phaseRepository;
+
+    @Autowired
+    private ReleaseRepository releaseRepository;
+
+    @Autowired
+    private AllocationRepository allocationRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        phaseRepository.deleteAll();
+        releaseRepository.deleteAll();
+    }
+
+    @Test
+    void submitJob_releaseTimelineResolvesLazyReleaseOnWorkerThread() throws InterruptedException {
+        Release release = new Release();
+        release.setName("Timeline Release");
+        release.setIdentifier("JOB-001");
+        release = releaseRepository.save(release);
+
+        Phase build = new Phase();
+        build.setPhaseType(PhaseTypeEnum.BUILD);
+        build.setStartDate(LocalDate.of(2025, 3, 3));
+        build.setEndDate(LocalDate.of(2025, 3, 28));
+        build.setRelease(release);
+        phaseRepository.save(build);
+
+        ReportService reportService = new ReportServiceImpl(mock(AllocationService.class), allocationRepository,
+            phaseRepository, resourceRepository, WorkingCalendar.standard());
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        ReportJobServiceImpl service = new ReportJobServiceImpl(reportService, readOnly, worker,
+            Duration.ofMinutes(15), 1024 * 1024, Clock.systemUTC());
+
+        ReportJobResponse submitted = service.submitJob("release_timeline", Map.of(), ReportFormat.CSV);
+        worker.shutdown();
+        assertThat(worker.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        ReportJobResponse done = service.getJob(submitted.getJobId());
+        assertThat(done.getError()).isNull();
+        assertThat(done.getStatus()).isEqualTo("COMPLETED");
+        assertThat(new String(service.getJobResult(submitted.getJobId()), StandardCharsets.UTF_8))
+            .contains("Timeline Release");
+    }
+}
@@ -1,24 +1,37 @@
 package com.polycoder.relmgmt.service;
 
 import com.polycoder.relmgmt.dto.AllocationConflictResponse;
+import com.polycoder.relmgmt.dto.ReportFormat;
 import com.polycoder.relmgmt.entity.*;
+import com.polycoder.relmgmt.exception.ValidationException;
 import com.polycoder.relmgmt.repository.AllocationRepository;
 import com.polycoder.relmgmt.repository.PhaseRepository;
 import com.polycoder.relmgmt.repository.ReleaseRepository;
+import com.polycoder.relmgmt.repository.ResourceRepository;
 import com.polycoder.relmgmt.service.impl.ReportServiceImpl;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.ArgumentMatchers.any;
 
@@ -37,6 +50,12 @@ class ReportServiceTest {
     @Mock
     private PhaseRepository phaseRepository;
 
+    @Mock
+    private ResourceRepository resourceRepository;
+
+    @Spy
+    private WorkingCalendar workingCalendar = WorkingCalendar.standard();
+
     @InjectMocks
     private ReportServiceImpl reportService;
 
@@ -158,6 +177,71 @@ class ReportServiceTest {
         assertThat(bytes.length).isGreaterThan(0);
     }
 
+    @Test
+    void exportReport_streamsUtilizationRowsIntoDataSheet() throws Exception {
+        LocalDate mon = LocalDate.of(2025, 1, 6);
+        Allocation a1 = new Allocation();
+        a1.setResource(resource);
+        a1.setStartDate(mon);
+        a1.setEndDate(mon.plusDays(4));
+        a1.setAllocationFactor(1.0);
+        a1.setAllocationDays(5.0);
+        when(allocationRepository.findOverlapping(any(), any())).thenReturn(List.of(a1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reportService.exportReport("RESOURCE_UTILIZATION", Map.of("from", "2025-01-06", "to", "2025-01-10"), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(workbook.getSheet("Summary").getRow(0).getCell(1).getStringCellValue()).isEqualTo("RESOURCE_UTILIZATION");
+            Sheet data = workbook.getSheet("Data");
+            assertThat(data.getRow(0).getCell(5).getStringCellValue()).isEqualTo("utilizationPercent");
+            assertThat(data.getLastRowNum()).isEqualTo(1);
+            assertThat(data.getRow(1).getCell(0).getNumericCellValue()).isEqualTo(7.0);
+            assertThat(data.getRow(1).getCell(1).getStringCellValue()).isEqualTo("John Doe");
+            assertThat(data.getRow(1).getCell(2).getStringCellValue()).isEqualTo("2025-01-06");
+            assertThat(data.getRow(1).getCell(3).getNumericCellValue()).isEqualTo(5.0);
+        }
+    }
+
+    @Test
+    void exportReport_writesCsvAndNdjsonRows() throws Exception {
+        Release release = new Release();
+        release.setId(3L);
+        release.setName("Alpha, \"Q1\"");
+        Phase phase = new Phase();
+        phase.setPhaseType(PhaseTypeEnum.BUILD);
+        phase.setStartDate(LocalDate.of(2025, 2, 3));
+        phase.setEndDate(LocalDate.of(2025, 2, 28));
+        phase.setRelease(release);
+        when(phaseRepository.findAll()).thenReturn(List.of(phase));
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        reportService.exportReport("RELEASE_TIMELINE", Map.of(), ReportFormat.CSV, csv);
+        assertThat(csv.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "releaseId,name,startDate,endDate\r\n3,\"Alpha, \"\"Q1\"\"\",2025-02-03,2025-02-28\r\n");
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        reportService.exportReport("RELEASE_TIMELINE", Map.of(), ReportFormat.NDJSON, ndjson);
+        assertThat(ndjson.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"releaseId\":3,\"name\":\"Alpha, \\\"Q1\\\"\",\"startDate\":\"2025-02-03\",\"endDate\":\"2025-02-28\"}\n");
+    }
+
+    @Test
+    void prepareExport_rejectsInvalidFiltersBeforeQuerying() {
+        assertThatThrownBy(() -> reportService.prepareExport("RESOURCE_UTILIZATION", Map.of("from", "2025-13-01"), ReportFormat.CSV))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("'from'");
+        assertThatThrownBy(() -> reportService.prepareExport("CAPACITY_FORECAST",
+                Map.of("from", "2025-02-01", "to", "2025-01-31"), ReportFormat.XLSX))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> reportService.prepareExport("RELEASE_TIMELINE", Map.of("year", "next"), ReportFormat.CSV))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> reportService.prepareExport("UNKNOWN", Map.of(), ReportFormat.CSV))
+                .isInstanceOf(ValidationException.class);
+        verify(phaseRepository, never()).findAll();
+        verify(allocationRepository, never()).findOverlapping(any(), any());
+    }
+
     @Test
     void generateCapacityForecastReport_returnsAvailableDays() {
         LocalDate mon = LocalDate.of(2025, 1, 6);
@@ -177,6 +261,69 @@ class ReportServiceTest {
         assertThat(rows.get(0).getAvailableDays()).isEqualTo(0.0);
     }
 
-}
+    @Test
+    void generateSkillCapacityForecastReport_groupsBySkillAndOrdersRows() {
+        LocalDate mon = LocalDate.of(2025, 1, 6);
+        resource.setSkillFunction(SkillFunctionEnum.TEST);
+        resource.setSkillSubFunction(SkillSubFunctionEnum.MANUAL);
+        Resource builder = new Resource();
+        builder.setId(8L);
+        builder.setName("Jane Roe");
+        builder.setSkillFunction(SkillFunctionEnum.BUILD);
+
+        Allocation test = new Allocation();
+        test.setResource(resource);
+        test.setStartDate(mon);
+        test.setEndDate(mon.plusDays(9));
+        test.setAllocationFactor(0.5);
+        Allocation build = new Allocation();
+        build.setResource(builder);
+        build.setStartDate(mon);
+        build.setEndDate(mon.plusDays(4));
+        build.setAllocationFactor(0.9);
+        when(allocationRepository.findOverlapping(any(), any())).thenReturn(List.of(test, build));
+        // Second tester only joins the project in week two
+        when(resourceRepository.countBySkillAndProjectDates(StatusEnum.ACTIVE)).thenReturn(List.of(
+                new Object[]{SkillFunctionEnum.TEST, SkillSubFunctionEnum.MANUAL, LocalDate.of(2024, 1, 1), null, 1L},
+                new Object[]{SkillFunctionEnum.TEST, null, mon.plusWeeks(1).plusDays(2), null, 1L},
+                new Object[]{SkillFunctionEnum.BUILD, null, LocalDate.of(2024, 1, 1), mon.plusDays(4), 1L}));
+
+        var rows = reportService.generateSkillCapacityForecastReport(null, null, null, null);
+
+        assertThat(rows).extracting(r -> r.getWeekStarting() + "/" + r.getSkillFunction())
+                .containsExactly(mon + "/BUILD", mon + "/TEST", mon.plusWeeks(1) + "/TEST");
+        assertThat(rows.get(1).getSkillSubFunction()).isEqualTo(SkillSubFunctionEnum.MANUAL);
+        assertThat(rows.get(1).getAllocatedDays()).isCloseTo(2.5, within(1e-9));
+        assertThat(rows.get(0).getCapacity()).isEqualTo(4.5);
+        assertThat(rows.get(1).getCapacity()).isEqualTo(4.5);
+        assertThat(rows.get(2).getAllocatedDays()).isCloseTo(1.5, within(1e-9));
+        assertThat(rows.get(2).getCapacity()).isEqualTo(9.0);
+        assertThat(rows.get(2).getAvailableDays()).isEqualTo(7.5);
+        verify(resourceRepository, times(1)).countBySkillAndProjectDates(StatusEnum.ACTIVE);
+        verify(resourceRepository, never()).findBySkillFunctionAndStatus(any(), any());
+    }
 
+    @Test
+    void generateResourceUtilizationReport_usesDatabaseAggregationWhenSupported() {
+        LocalDate mon = LocalDate.of(2025, 1, 6);
+        Resource other = new Resource();
+        other.setId(9L);
+        other.setName("Filtered Out");
+        when(allocationRepository.supportsNativeWeeklyAggregation()).thenReturn(true);
+        when(allocationRepository.aggregateWeeklyAllocatedDays(mon, mon.plusDays(13))).thenReturn(List.of(
+                new Object[]{7L, java.sql.Date.valueOf(mon), 4.5},
+                new Object[]{9L, java.sql.Date.valueOf(mon), 2.0},
+                new Object[]{7L, java.sql.Date.valueOf(mon.plusWeeks(1)), 2.25}));
+        when(resourceRepository.findAllById(any())).thenReturn(List.of(resource, other));
+
+        var rows = reportService.generateResourceUtilizationReport(mon.plusDays(2), mon.plusDays(8), List.of(7L));
 
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getWeekStarting()).isEqualTo(mon);
+        assertThat(rows.get(0).getResourceName()).isEqualTo("John Doe");
+        assertThat(rows.get(0).getUtilizationPercent()).isEqualTo(100.0);
+        assertThat(rows.get(1).getWeekStarting()).isEqualTo(mon.plusWeeks(1));
+        assertThat(rows.get(1).getAllocatedDays()).isEqualTo(2.25);
+        verify(allocationRepository, never()).findOverlapping(any(), any());
+    }
+}
@@ -6,6 +6,7 @@ import com.polycoder.relmgmt.entity.StatusEnum;
 import com.polycoder.relmgmt.entity.EmployeeGradeEnum;
 import com.polycoder.relmgmt.entity.SkillFunctionEnum;
 import com.polycoder.relmgmt.entity.SkillSubFunctionEnum;
+import com.polycoder.relmgmt.exception.ValidationException;
 import com.polycoder.relmgmt.repository.ResourceRepository;
 import com.polycoder.relmgmt.service.impl.ResourceServiceImpl;
 import org.apache.poi.ss.usermodel.*;
@@ -13,16 +14,19 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.mock.web.MockMultipartFile;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -71,8 +75,8 @@ class ResourceExcelServiceTest {
     @Test
     void testExportResourcesToExcel() throws IOException {
         // Arrange
-        List<Resource> resources = Arrays.asList(testResource1, testResource2);
-        when(resourceRepository.findAll()).thenReturn(resources);
+        when(resourceRepository.findExportRowsAfter(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(exportRow(testResource1), exportRow(testResource2)));
 
         // Act
         byte[] excelData = resourceService.exportResourcesToExcel();
@@ -130,9 +134,7 @@ class ResourceExcelServiceTest {
         MockMultipartFile file = new MockMultipartFile("file", "resources.xlsx", 
             "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", excelData);
 
-        when(resourceRepository.existsByEmployeeNumber(anyString())).thenReturn(false);
-        when(resourceRepository.existsByEmail(anyString())).thenReturn(false);
-        when(resourceRepository.save(any(Resource.class))).thenReturn(testResource1);
+        when(resourceRepository.findAllEmployeeNumbersAndEmails()).thenReturn(List.of());
 
         // Act
         ResourceImportResponse response = resourceService.importResourcesFromExcel(file);
@@ -144,7 +146,9 @@ class ResourceExcelServiceTest {
         assertEquals(0, response.getFailed());
         assertTrue(response.getErrors().isEmpty());
 
-        verify(resourceRepository, times(2)).save(any(Resource.class));
+        verify(resourceRepository).insertInBatch(argThat(resources -> resources.size() == 2));
+        verify(resourceRepository, never()).existsByEmployeeNumber(anyString());
+        verify(resourceRepository, never()).save(any(Resource.class));
     }
 
     @Test
@@ -164,7 +168,7 @@ class ResourceExcelServiceTest {
         assertEquals(2, response.getFailed());
         assertEquals(2, response.getErrors().size());
 
-        verify(resourceRepository, never()).save(any(Resource.class));
+        verify(resourceRepository, never()).insertInBatch(anyList());
     }
 
     @Test
@@ -174,10 +178,8 @@ class ResourceExcelServiceTest {
         MockMultipartFile file = new MockMultipartFile("file", "resources.xlsx", 
             "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", excelData);
 
-        when(resourceRepository.existsByEmployeeNumber("12345678")).thenReturn(true);
-        when(resourceRepository.existsByEmployeeNumber("87654321")).thenReturn(false);
-        when(resourceRepository.existsByEmail(anyString())).thenReturn(false);
-        when(resourceRepository.save(any(Resource.class))).thenReturn(testResource2);
+        when(resourceRepository.findAllEmployeeNumbersAndEmails())
+            .thenReturn(List.<Object[]>of(new Object[]{"12345678", "someone.else@example.com"}));
 
         // Act
         ResourceImportResponse response = resourceService.importResourcesFromExcel(file);
@@ -190,7 +192,123 @@ class ResourceExcelServiceTest {
         assertEquals(1, response.getErrors().size());
         assertEquals("Employee number already exists", response.getErrors().get(0).getMessage());
 
-        verify(resourceRepository, times(1)).save(any(Resource.class));
+        verify(resourceRepository).insertInBatch(argThat(resources -> resources.size() == 1
+            && resources.get(0).getEmployeeNumber().equals("87654321")));
+    }
+
+    @Test
+    void testImportResourcesFromExcelWithDuplicatesInFile() throws IOException {
+        // Arrange - the second row reuses the first row's email
+        byte[] excelData = createValidExcelFile();
+        try (Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(excelData));
+             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            workbook.getSheetAt(0).getRow(2).getCell(2).setCellValue("john.doe@example.com");
+            workbook.write(baos);
+            excelData = baos.toByteArray();
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "resources.xlsx",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", excelData);
+        when(resourceRepository.findAllEmployeeNumbersAndEmails()).thenReturn(List.of());
+
+        // Act
+        ResourceImportResponse response = resourceService.importResourcesFromExcel(file);
+
+        // Assert
+        assertEquals(1, response.getSuccessful());
+        assertEquals(1, response.getFailed());
+        assertEquals(3, response.getErrors().get(0).getRow());
+        assertEquals("Duplicate email in file (row 2)", response.getErrors().get(0).getMessage());
+        verify(resourceRepository).findAllEmployeeNumbersAndEmails();
+        verify(resourceRepository).insertInBatch(argThat(resources -> resources.size() == 1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportResourcesStreamsLargeFileInChunks() throws IOException {
+        // Arrange - numeric employee numbers and date-formatted start dates, as exported by spreadsheets
+        byte[] excelData;
+        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Resources");
+            sheet.createRow(0).createCell(0).setCellValue("Name");
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat((short) 14);
+            for (int i = 1; i <= 1201; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("Resource " + i);
+                row.createCell(1).setCellValue(10000000 + i);
+                row.createCell(2).setCellValue("resource" + i + "@example.com");
+                row.createCell(3).setCellValue("Active");
+                Cell startDate = row.createCell(4);
+                startDate.setCellValue(LocalDate.of(2024, 1, 15));
+                startDate.setCellStyle(dateStyle);
+                row.createCell(6).setCellValue("Level 8");
+                row.createCell(7).setCellValue("Build");
+            }
+            workbook.write(baos);
+            excelData = baos.toByteArray();
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "resources.xlsx",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", excelData);
+        when(resourceRepository.findAllEmployeeNumbersAndEmails()).thenReturn(List.of());
+
+        // Act
+        ResourceImportResponse response = resourceService.importResourcesFromExcel(file);
+
+        // Assert
+        assertEquals(1201, response.getTotalProcessed());
+        assertEquals(1201, response.getSuccessful());
+        assertTrue(response.getErrors().isEmpty());
+
+        ArgumentCaptor<List<Resource>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(resourceRepository, times(3)).insertInBatch(chunks.capture());
+        assertEquals(List.of(500, 500, 201), chunks.getAllValues().stream().map(List::size).toList());
+        Resource first = chunks.getAllValues().get(0).get(0);
+        assertEquals("10000001", first.getEmployeeNumber());
+        assertEquals(LocalDate.of(2024, 1, 15), first.getProjectStartDate());
+        assertNull(first.getProjectEndDate());
+        assertEquals("10001201", chunks.getAllValues().get(2).get(200).getEmployeeNumber());
+    }
+
+    @Test
+    void testImportResourcesFromCsv() {
+        // Arrange - quoted fields, a doubled quote, a blank line, an invalid row and an in-file duplicate
+        String csv = "Name,Employee Number,Email,Status,Project Start Date,Project End Date,Employee Grade,Skill Function,Skill Sub-function\r\n"
+            + "\"Doe, John\",12345678,john.doe@example.com,Active,2024-01-15,2024-12-31,Level 8,Build,ForgeRock IDM\r\n"
+            + "\r\n"
+            + "\"Jane \"\"JJ\"\" Smith\",87654321,jane.smith@example.com,Active,02/01/2024,,Level 9,Test,\r\n"
+            + "Bad Row,123,not-an-email,Active,2024-01-15,,Level 8,Build,\r\n"
+            + "John Again,12345678,john.again@example.com,Active,2024-01-15,,Level 8,Build,\r\n";
+        MockMultipartFile file = new MockMultipartFile("file", "resources.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+        when(resourceRepository.findAllEmployeeNumbersAndEmails()).thenReturn(List.of());
+
+        // Act
+        ResourceImportResponse response = resourceService.importResourcesFromCsv(file);
+
+        // Assert
+        assertEquals(4, response.getTotalProcessed());
+        assertEquals(2, response.getSuccessful());
+        assertEquals(2, response.getFailed());
+        assertEquals(5, response.getErrors().get(0).getRow());
+        assertEquals("Row 5: Employee number must be exactly 8 characters", response.getErrors().get(0).getMessage());
+        assertEquals(6, response.getErrors().get(1).getRow());
+        assertEquals("Duplicate employee number in file (row 2)", response.getErrors().get(1).getMessage());
+
+        verify(resourceRepository).insertInBatch(argThat(resources -> resources.size() == 2
+            && resources.get(0).getName().equals("Doe, John")
+            && resources.get(1).getName().equals("Jane \"JJ\" Smith")
+            && resources.get(1).getProjectStartDate().equals(LocalDate.of(2024, 2, 1))
+            && resources.get(1).getProjectEndDate() == null
+            && resources.get(1).getSkillSubFunction() == null));
+    }
+
+    @Test
+    void testImportResourcesFromCsvWithUnterminatedQuote() {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "resources.csv", "text/csv",
+            "Name,Employee Number\n\"John,12345678\n".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> resourceService.importResourcesFromCsv(file));
     }
 
     @Test
@@ -200,7 +318,20 @@ class ResourceExcelServiceTest {
             "text/plain", "invalid content".getBytes());
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> resourceService.importResourcesFromExcel(file));
+        assertThrows(ValidationException.class, () -> resourceService.importResourcesFromExcel(file));
+    }
+
+    @Test
+    void testImportResourcesFromCorruptXlsxFile() {
+        // Arrange - a zip signature selects the streaming .xlsx reader, but there is no package behind it
+        byte[] content = "PK\u0003\u0004not a workbook".getBytes(StandardCharsets.ISO_8859_1);
+        MockMultipartFile file = new MockMultipartFile("file", "resources.xlsx",
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", content);
+
+        // Act & Assert
+        ValidationException e = assertThrows(ValidationException.class, () -> resourceService.importResourcesFromExcel(file));
+        assertTrue(e.getMessage().startsWith("Failed to process Excel file"));
+        verify(resourceRepository, never()).insertInBatch(anyList());
     }
 
     @Test
@@ -210,13 +341,13 @@ class ResourceExcelServiceTest {
             "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", new byte[0]);
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> resourceService.importResourcesFromExcel(file));
+        assertThrows(ValidationException.class, () -> resourceService.importResourcesFromExcel(file));
     }
 
     @Test
     void testExportResourcesWhenNoResources() {
         // Arrange
-        when(resourceRepository.findAll()).thenReturn(Arrays.asList());
+        when(resourceRepository.findExportRowsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of());
 
         // Act
         byte[] excelData = resourceService.exportResourcesToExcel();
@@ -225,10 +356,42 @@ class ResourceExcelServiceTest {
         assertNotNull(excelData);
         assertTrue(excelData.length > 0);
 
-        verify(resourceRepository).findAll();
+        verify(resourceRepository).findExportRowsAfter(eq(0L), any(Pageable.class));
+        verify(resourceRepository, never()).findAll();
+    }
+
+    @Test
+    void testExportResourcesPagesByLastId() throws IOException {
+        // Arrange - one full page followed by a partial one
+        List<Object[]> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            testResource1.setId(id);
+            firstPage.add(exportRow(testResource1));
+        }
+        when(resourceRepository.findExportRowsAfter(eq(0L), any(Pageable.class))).thenReturn(firstPage);
+        when(resourceRepository.findExportRowsAfter(eq(500L), any(Pageable.class)))
+            .thenReturn(List.<Object[]>of(exportRow(testResource2)));
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        resourceService.exportResourcesToExcel(out);
+
+        // Assert
+        try (Workbook workbook = WorkbookFactory.create(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(501, sheet.getLastRowNum());
+            assertEquals("Jane Smith", sheet.getRow(501).getCell(0).getStringCellValue());
+            assertEquals(32 * 256, sheet.getColumnWidth(2));
+        }
+        verify(resourceRepository, times(2)).findExportRowsAfter(anyLong(), any(Pageable.class));
     }
 
     // Helper methods
+    private Object[] exportRow(Resource r) {
+        return new Object[] {r.getId(), r.getName(), r.getEmployeeNumber(), r.getEmail(), r.getStatus(),
+            r.getProjectStartDate(), r.getProjectEndDate(), r.getEmployeeGrade(), r.getSkillFunction(), r.getSkillSubFunction()};
+    }
+
     private byte[] createValidExcelFile() throws IOException {
         try (Workbook workbook = new XSSFWorkbook()) {
             Sheet sheet = workbook.createSheet("Resources");
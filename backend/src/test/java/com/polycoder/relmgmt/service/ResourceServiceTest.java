@@ -4,6 +4,7 @@ import com.polycoder.relmgmt.dto.ResourceRequest;
 import com.polycoder.relmgmt.dto.ResourceResponse;
 import com.polycoder.relmgmt.entity.Resource;
 import com.polycoder.relmgmt.entity.StatusEnum;
+import com.polycoder.relmgmt.entity.EventTypeEnum;
 import com.polycoder.relmgmt.entity.EmployeeGradeEnum;
 import com.polycoder.relmgmt.entity.SkillFunctionEnum;
 import com.polycoder.relmgmt.entity.SkillSubFunctionEnum;
@@ -28,6 +29,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -42,6 +44,12 @@ class ResourceServiceTest {
     @Mock
     private AllocationRepository allocationRepository;
 
+    @Mock
+    private AllocationRegenerationService allocationRegenerationService;
+
+    @Mock
+    private NotificationService notificationService;
+
     @InjectMocks
     private ResourceServiceImpl resourceService;
 
@@ -336,54 +344,58 @@ class ResourceServiceTest {
 
     @Test
     void testUpdateExpiredResourcesStatus() {
-        // Create test resources with past end dates
-        Resource expiredResource1 = new Resource();
-        expiredResource1.setId(2L);
-        expiredResource1.setName("Expired Resource 1");
-        expiredResource1.setEmployeeNumber("11111111");
-        expiredResource1.setEmail("expired1@example.com");
-        expiredResource1.setStatus(StatusEnum.ACTIVE);
-        expiredResource1.setProjectStartDate(LocalDate.of(2024, 1, 1));
-        expiredResource1.setProjectEndDate(LocalDate.now().minusDays(1));
-        expiredResource1.setEmployeeGrade(EmployeeGradeEnum.LEVEL_8);
-        expiredResource1.setSkillFunction(SkillFunctionEnum.BUILD);
-
-        Resource expiredResource2 = new Resource();
-        expiredResource2.setId(3L);
-        expiredResource2.setName("Expired Resource 2");
-        expiredResource2.setEmployeeNumber("22222222");
-        expiredResource2.setEmail("expired2@example.com");
-        expiredResource2.setStatus(StatusEnum.ACTIVE);
-        expiredResource2.setProjectStartDate(LocalDate.of(2024, 1, 1));
-        expiredResource2.setProjectEndDate(LocalDate.now().minusDays(5));
-        expiredResource2.setEmployeeGrade(EmployeeGradeEnum.LEVEL_8);
-        expiredResource2.setSkillFunction(SkillFunctionEnum.BUILD);
-
-        when(resourceRepository.findActiveResourcesWithPastEndDates(StatusEnum.ACTIVE, LocalDate.now()))
-            .thenReturn(Arrays.asList(expiredResource1, expiredResource2));
-        when(resourceRepository.save(any(Resource.class)))
-            .thenAnswer(invocation -> invocation.getArgument(0));
+        LocalDate today = LocalDate.now();
+        List<Long> deactivatedIds = List.of(2L, 3L);
+        when(resourceRepository.deactivateExpired(today)).thenReturn(deactivatedIds);
+        when(allocationRepository.findReleaseIdsWithAllocationsFrom(deactivatedIds, today)).thenReturn(List.of(10L));
 
         int updatedCount = resourceService.updateExpiredResourcesStatus();
 
         assertEquals(2, updatedCount);
-        verify(resourceRepository).findActiveResourcesWithPastEndDates(StatusEnum.ACTIVE, LocalDate.now());
-        verify(resourceRepository, times(2)).save(any(Resource.class));
-        
-        // Verify that the resources were updated to inactive
-        assertEquals(StatusEnum.INACTIVE, expiredResource1.getStatus());
-        assertEquals(StatusEnum.INACTIVE, expiredResource2.getStatus());
+        verify(notificationService).notifyAllUsers(eq(EventTypeEnum.RESOURCE_DEACTIVATED), eq("RESOURCE"),
+            eq(deactivatedIds), anyString());
+        verify(allocationRegenerationService).startRegeneration(List.of(10L));
+        // Regeneration replaces weekly overrides on the release, so that is announced per release
+        verify(notificationService).notifyAllUsers(eq(EventTypeEnum.RESOURCE_DEACTIVATED), eq("RELEASE"),
+            eq(List.of(10L)), contains("manual weekly allocation overrides"));
+        // Set-based update; no entities are loaded or saved one by one
+        verify(resourceRepository, never()).findActiveResourcesWithPastEndDates(any(), any());
+        verify(resourceRepository, never()).save(any(Resource.class));
+    }
+
+    @Test
+    void testUpdateExpiredResourcesStatus_NoAffectedReleases() {
+        when(resourceRepository.deactivateExpired(LocalDate.now())).thenReturn(List.of(2L));
+        when(allocationRepository.findReleaseIdsWithAllocationsFrom(List.of(2L), LocalDate.now())).thenReturn(List.of());
+
+        assertEquals(1, resourceService.updateExpiredResourcesStatus());
+
+        verify(notificationService).notifyAllUsers(eq(EventTypeEnum.RESOURCE_DEACTIVATED), eq("RESOURCE"),
+            eq(List.of(2L)), anyString());
+        // An empty list would mean "all releases" to the regeneration service
+        verifyNoInteractions(allocationRegenerationService);
+        verify(notificationService, never()).notifyAllUsers(any(), eq("RELEASE"), any(), anyString());
+    }
+
+    @Test
+    void testUpdateExpiredResourcesStatus_RegenerationQueueFull() {
+        when(resourceRepository.deactivateExpired(LocalDate.now())).thenReturn(List.of(2L));
+        when(allocationRepository.findReleaseIdsWithAllocationsFrom(List.of(2L), LocalDate.now())).thenReturn(List.of(10L));
+        when(allocationRegenerationService.startRegeneration(List.of(10L))).thenThrow(new RejectedExecutionException("full"));
+
+        // The deactivation has already committed, so a full queue must not fail the run
+        assertEquals(1, resourceService.updateExpiredResourcesStatus());
+        verify(notificationService, never()).notifyAllUsers(any(), eq("RELEASE"), any(), anyString());
     }
 
     @Test
     void testUpdateExpiredResourcesStatus_NoExpiredResources() {
-        when(resourceRepository.findActiveResourcesWithPastEndDates(StatusEnum.ACTIVE, LocalDate.now()))
-            .thenReturn(Arrays.asList());
+        when(resourceRepository.deactivateExpired(LocalDate.now())).thenReturn(List.of());
 
         int updatedCount = resourceService.updateExpiredResourcesStatus();
 
         assertEquals(0, updatedCount);
-        verify(resourceRepository).findActiveResourcesWithPastEndDates(StatusEnum.ACTIVE, LocalDate.now());
-        verify(resourceRepository, never()).save(any(Resource.class));
+        verify(resourceRepository).deactivateExpired(LocalDate.now());
+        verifyNoInteractions(notificationService, allocationRegenerationService, allocationRepository);
     }
-}
\ No newline at end of file
+}
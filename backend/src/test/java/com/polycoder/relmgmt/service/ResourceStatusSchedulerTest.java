@@ -8,6 +8,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -16,6 +20,9 @@ class ResourceStatusSchedulerTest {
     @Mock
     private ResourceService resourceService;
 
+    @Mock
+    private SchedulerLockService schedulerLockService;
+
     @Mock
     private Logger logger;
 
@@ -31,9 +38,18 @@ class ResourceStatusSchedulerTest {
             java.lang.reflect.Field serviceField = ResourceStatusScheduler.class.getDeclaredField("resourceService");
             serviceField.setAccessible(true);
             serviceField.set(resourceStatusScheduler, resourceService);
+            java.lang.reflect.Field lockField = ResourceStatusScheduler.class.getDeclaredField("schedulerLockService");
+            lockField.setAccessible(true);
+            lockField.set(resourceStatusScheduler, schedulerLockService);
         } catch (Exception e) {
             throw new RuntimeException("Failed to inject mocked service", e);
         }
+        // This node wins the lock unless a test says otherwise
+        lenient().when(schedulerLockService.runLocked(eq("resource-status-update"), any(Duration.class), any(Duration.class), any(Runnable.class)))
+            .thenAnswer(invocation -> {
+                invocation.getArgument(3, Runnable.class).run();
+                return true;
+            });
     }
 
     @Test
@@ -72,4 +88,17 @@ class ResourceStatusSchedulerTest {
         // Assert
         verify(resourceService, times(1)).updateExpiredResourcesStatus();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void updateExpiredResourcesStatus_ShouldSkipWhenLockHeldElsewhere() {
+        // Arrange
+        when(schedulerLockService.runLocked(eq("resource-status-update"), any(Duration.class), any(Duration.class), any(Runnable.class)))
+            .thenReturn(false);
+
+        // Act
+        resourceStatusScheduler.updateExpiredResourcesStatus();
+
+        // Assert
+        verify(resourceService, never()).updateExpiredResourcesStatus();
+    }
+}
@@ -0,0 +1,94 @@
+package com.polycoder.relmgmt.service;
+
+import com.polycoder.relmgmt.repository.SchedulerLockRepository;
+import com.polycoder.relmgmt.service.impl.SchedulerLockServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLockServiceTest {
+
+    private static final String JOB = "resource-status-update";
+    private static final Duration AT_MOST = Duration.ofMinutes(30);
+    private static final Duration AT_LEAST = Duration.ofMinutes(5);
+
+    @Mock
+    private SchedulerLockRepository schedulerLockRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SchedulerLockServiceImpl schedulerLockService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        schedulerLockService = new SchedulerLockServiceImpl(schedulerLockRepository, meterRegistry, "node-1");
+    }
+
+    @Test
+    void runLocked_runsJobAndKeepsLockForMinimumLease() {
+        when(schedulerLockRepository.acquireIfExpired(eq(JOB), eq("node-1"), any(), any())).thenReturn(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(schedulerLockService.runLocked(JOB, AT_MOST, AT_LEAST, runs::incrementAndGet));
+
+        assertEquals(1, runs.get());
+        ArgumentCaptor<LocalDateTime> lockedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> lockedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(schedulerLockRepository).release(eq(JOB), eq("node-1"), lockedAt.capture(), lockedUntil.capture());
+        assertEquals(lockedAt.getValue().plus(AT_LEAST), lockedUntil.getValue());
+        assertEquals(1, meterRegistry.get("scheduler.lock.acquire").tag("job", JOB).tag("result", "acquired").timer().count());
+        assertEquals(1, meterRegistry.get("scheduler.job.duration").tag("job", JOB).tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void runLocked_createsMissingLockRow() {
+        when(schedulerLockRepository.acquireIfExpired(eq(JOB), eq("node-1"), any(), any())).thenReturn(0);
+        when(schedulerLockRepository.existsById(JOB)).thenReturn(false);
+        when(schedulerLockRepository.insertLock(eq(JOB), eq("node-1"), any(), any())).thenReturn(1);
+
+        assertTrue(schedulerLockService.runLocked(JOB, AT_MOST, AT_LEAST, () -> { }));
+    }
+
+    @Test
+    void runLocked_skipsJobWhenLockHeldElsewhere() {
+        when(schedulerLockRepository.acquireIfExpired(eq(JOB), eq("node-1"), any(), any())).thenReturn(0);
+        when(schedulerLockRepository.existsById(JOB)).thenReturn(false);
+        when(schedulerLockRepository.insertLock(eq(JOB), eq("node-1"), any(), any()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        Runnable job = mock(Runnable.class);
+
+        assertFalse(schedulerLockService.runLocked(JOB, AT_MOST, AT_LEAST, job));
+
+        verifyNoInteractions(job);
+        verify(schedulerLockRepository, never()).release(any(), any(), any(), any());
+        assertEquals(1, meterRegistry.get("scheduler.lock.acquire").tag("result", "held_elsewhere").timer().count());
+        assertNull(meterRegistry.find("scheduler.job.duration").timer());
+    }
+
+    @Test
+    void runLocked_releasesLockAndRethrowsWhenJobFails() {
+        when(schedulerLockRepository.acquireIfExpired(eq(JOB), eq("node-1"), any(), any())).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> schedulerLockService.runLocked(JOB, AT_MOST, AT_LEAST, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        verify(schedulerLockRepository).release(eq(JOB), eq("node-1"), any(), any());
+        assertEquals(1, meterRegistry.get("scheduler.job.duration").tag("outcome", "failure").timer().count());
+    }
+}
@@ -0,0 +1,40 @@
+package com.polycoder.relmgmt.service;
+
+import com.polycoder.relmgmt.entity.SkillFunctionEnum;
+import com.polycoder.relmgmt.entity.SkillSubFunctionEnum;
+import com.polycoder.relmgmt.service.impl.SkillHeadcountSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillHeadcountSnapshotTest {
+
+    private static final LocalDate WEEK = LocalDate.of(2025, 3, 3);
+
+    private final SkillHeadcountSnapshot snapshot = new SkillHeadcountSnapshot(List.of(
+            new Object[]{SkillFunctionEnum.BUILD, null, LocalDate.of(2024, 1, 1), null, 3L},
+            // joins on the Sunday of the week: still counted for that week
+            new Object[]{SkillFunctionEnum.BUILD, null, WEEK.plusDays(6), null, 1L},
+            // leaves on the Monday of the week: counted, gone the week after
+            new Object[]{SkillFunctionEnum.BUILD, null, LocalDate.of(2024, 1, 1), WEEK, 2L},
+            new Object[]{SkillFunctionEnum.TEST, SkillSubFunctionEnum.MANUAL, LocalDate.of(2024, 6, 1), null, 4L},
+            new Object[]{SkillFunctionEnum.TEST, SkillSubFunctionEnum.AUTOMATED, WEEK.plusWeeks(1), null, 2L}));
+
+    @Test
+    void headcount_followsProjectTenureWeekByWeek() {
+        assertThat(snapshot.headcount(SkillFunctionEnum.BUILD, WEEK.minusWeeks(1))).isEqualTo(5);
+        assertThat(snapshot.headcount(SkillFunctionEnum.BUILD, WEEK)).isEqualTo(6);
+        assertThat(snapshot.headcount(SkillFunctionEnum.BUILD, WEEK.plusWeeks(1))).isEqualTo(4);
+        assertThat(snapshot.headcount(SkillFunctionEnum.BUILD, LocalDate.of(2023, 1, 2))).isZero();
+    }
+
+    @Test
+    void headcount_sumsSubFunctionsIntoTheirFunction() {
+        assertThat(snapshot.headcount(SkillFunctionEnum.TEST, WEEK)).isEqualTo(4);
+        assertThat(snapshot.headcount(SkillFunctionEnum.TEST, WEEK.plusWeeks(1))).isEqualTo(6);
+        assertThat(snapshot.headcount(SkillFunctionEnum.FUNCTIONAL_DESIGN, WEEK)).isZero();
+    }
+}
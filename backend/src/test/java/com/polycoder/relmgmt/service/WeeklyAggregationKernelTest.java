@@ -0,0 +1,80 @@
+package com.polycoder.relmgmt.service;
+
+import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.entity.Resource;
+import com.polycoder.relmgmt.service.impl.WeeklyAggregationKernel;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WeeklyAggregationKernelTest {
+
+    private final WeeklyAggregationKernel kernel = new WeeklyAggregationKernel(WorkingCalendar.standard());
+
+    @Test
+    void aggregate_spreadsWorkingDaysIntoWeekByGroupCells() {
+        LocalDate monday = LocalDate.of(2025, 1, 6);
+        List<Allocation> allocations = List.of(
+                allocation(2L, monday.plusDays(3), monday.plusDays(8), 0.5),  // Thu..Tue: 2 + 2 days
+                allocation(1L, monday, monday.plusDays(4), 0.9),
+                allocation(2L, monday.plusDays(7), monday.plusDays(7), 0.6));
+
+        WeeklyAggregationKernel.WeeklyMatrix<Long> matrix =
+                kernel.aggregate(allocations, null, null, a -> a.getResource().getId());
+
+        assertThat(matrix.weekCount()).isEqualTo(2);
+        assertThat(matrix.weekStart(0)).isEqualTo(monday);
+        assertThat(matrix.weekStart(1)).isEqualTo(monday.plusWeeks(1));
+        int[] order = matrix.groupOrder(Comparator.naturalOrder());
+        assertThat(matrix.groups().get(order[0])).isEqualTo(1L);
+        assertThat(matrix.value(0, order[0])).isCloseTo(4.5, within(1e-9));
+        assertThat(matrix.value(1, order[0])).isZero();
+        assertThat(matrix.value(0, order[1])).isCloseTo(1.0, within(1e-9));
+        assertThat(matrix.value(1, order[1])).isCloseTo(1.6, within(1e-9));
+    }
+
+    @Test
+    void aggregate_keepsWholeWeeksInsideWindowAndSkipsNullGroups() {
+        LocalDate monday = LocalDate.of(2025, 3, 3);
+        List<Allocation> allocations = List.of(
+                allocation(1L, monday, monday.plusDays(25), 1.0),
+                allocation(2L, monday, monday.plusDays(25), 1.0));
+
+        // Window Wednesday of week 2 .. Tuesday of week 3 covers both weeks entirely
+        WeeklyAggregationKernel.WeeklyMatrix<Long> matrix = kernel.aggregate(allocations,
+                monday.plusDays(9), monday.plusDays(15), a -> a.getResource().getId() == 2L ? null : 1L);
+
+        assertThat(matrix.groups()).containsExactly(1L);
+        assertThat(matrix.weekCount()).isEqualTo(2);
+        assertThat(matrix.weekStart(0)).isEqualTo(monday.plusWeeks(1));
+        assertThat(matrix.value(0, 0)).isEqualTo(5.0);
+        assertThat(matrix.value(1, 0)).isEqualTo(5.0);
+    }
+
+    @Test
+    void aggregate_returnsEmptyMatrixWhenNothingMatches() {
+        LocalDate monday = LocalDate.of(2025, 3, 3);
+        WeeklyAggregationKernel.WeeklyMatrix<Long> matrix = kernel.aggregate(
+                List.of(allocation(1L, monday, monday.plusDays(4), 1.0)),
+                monday.plusWeeks(2), monday.plusWeeks(3), a -> 1L);
+
+        assertThat(matrix.weekCount()).isZero();
+        assertThat(matrix.groups()).isEmpty();
+    }
+
+    private Allocation allocation(Long resourceId, LocalDate start, LocalDate end, double factor) {
+        Resource resource = new Resource();
+        resource.setId(resourceId);
+        Allocation a = new Allocation();
+        a.setResource(resource);
+        a.setStartDate(start);
+        a.setEndDate(end);
+        a.setAllocationFactor(factor);
+        return a;
+    }
+}
@@ -0,0 +1,128 @@
+package com.polycoder.relmgmt.service;
+
+import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.entity.PhaseTypeEnum;
+import com.polycoder.relmgmt.entity.Release;
+import com.polycoder.relmgmt.entity.Resource;
+import com.polycoder.relmgmt.exception.ValidationException;
+import com.polycoder.relmgmt.service.impl.WeeklyAllocationEditor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class WeeklyAllocationEditorTest {
+
+    private static final LocalDate WEEK = LocalDate.of(2025, 1, 13); // Monday
+
+    private final WorkingCalendar calendar = WorkingCalendar.standard();
+    private final Resource resource = resource(1L);
+    private final Release alpha = release(1L);
+    private final Release beta = release(2L);
+
+    @Test
+    void setPersonDays_splitsSpanningAllocationAndScalesTheWeek() {
+        // Three weeks at 0.8, plus a second release inside the edited week
+        Allocation spanning = allocation(alpha, WEEK.minusDays(7), WEEK.plusDays(11), 0.8);
+        Allocation inside = allocation(beta, WEEK, WEEK.plusDays(4), 0.6);
+        WeeklyAllocationEditor editor = new WeeklyAllocationEditor(calendar, new ArrayList<>(List.of(spanning, inside)));
+        assertThat(editor.personDays(1L, WEEK)).isCloseTo(7.0, within(1e-9));
+
+        editor.setPersonDays(1L, WEEK, 6.3);
+
+        assertThat(editor.personDays(1L, WEEK)).isCloseTo(6.3, within(1e-9));
+        assertThat(spanning.getStartDate()).isEqualTo(WEEK);
+        assertThat(spanning.getEndDate()).isEqualTo(WEEK.plusDays(6));
+        assertThat(spanning.getAllocationFactor()).isCloseTo(0.72, within(1e-9));
+        assertThat(inside.getAllocationFactor()).isCloseTo(0.54, within(1e-9));
+
+        // The weeks before and after keep their load as new rows
+        assertThat(editor.getCreated()).hasSize(2);
+        assertThat(editor.personDays(1L, WEEK.minusDays(7))).isCloseTo(4.0, within(1e-9));
+        assertThat(editor.personDays(1L, WEEK.plusDays(7))).isCloseTo(4.0, within(1e-9));
+        assertThat(editor.getCreated()).allSatisfy(a -> {
+            assertThat(a.getRelease()).isSameAs(alpha);
+            assertThat(a.getPhase()).isEqualTo(PhaseTypeEnum.BUILD);
+            assertThat(a.getAllocationDays()).isCloseTo(4.0, within(1e-9));
+        });
+        assertThat(editor.getDeleted()).isEmpty();
+        assertThat(editor.getModified()).containsExactly(spanning, inside);
+    }
+
+    @Test
+    void setPersonDays_rejectsTargetsNeedingFactorOutsideBoundsBeforeSplitting() {
+        Allocation spanning = allocation(alpha, WEEK.minusDays(7), WEEK.plusDays(11), 0.8);
+        Allocation inside = allocation(beta, WEEK, WEEK.plusDays(4), 0.6);
+        WeeklyAllocationEditor editor = new WeeklyAllocationEditor(calendar, new ArrayList<>(List.of(spanning, inside)));
+
+        // 0.6 cannot go below 0.5 and 0.8 cannot go above 1.0, so the week spans 5.83 to 8.75 PD
+        assertThatThrownBy(() -> editor.setPersonDays(1L, WEEK, 5.0))
+            .isInstanceOf(ValidationException.class)
+            .hasMessageContaining("between 5.83 and 8.75 person-days");
+        assertThatThrownBy(() -> editor.setPersonDays(1L, WEEK, 9.0))
+            .isInstanceOf(ValidationException.class);
+
+        assertThat(editor.getCreated()).isEmpty();
+        assertThat(editor.getModified()).isEmpty();
+        assertThat(spanning.getStartDate()).isEqualTo(WEEK.minusDays(7));
+        assertThat(spanning.getAllocationFactor()).isEqualTo(0.8);
+    }
+
+    @Test
+    void setPersonDays_zeroRemovesTheWeekAndDropsRowsCreatedEarlier() {
+        Allocation spanning = allocation(alpha, WEEK.minusDays(7), WEEK.plusDays(11), 0.9);
+        WeeklyAllocationEditor editor = new WeeklyAllocationEditor(calendar, new ArrayList<>(List.of(spanning)));
+
+        editor.setPersonDays(1L, WEEK, 0.0);
+        // The week after was split off as a new row; clearing it again must not delete anything stored
+        editor.setPersonDays(1L, WEEK.plusDays(7), 0.0);
+
+        assertThat(editor.personDays(1L, WEEK)).isZero();
+        assertThat(editor.personDays(1L, WEEK.plusDays(7))).isZero();
+        assertThat(editor.getDeleted()).containsExactly(spanning);
+        assertThat(editor.getModified()).isEmpty();
+        assertThat(editor.getCreated()).hasSize(1);
+        assertThat(editor.getCreated().iterator().next().getEndDate()).isEqualTo(WEEK.minusDays(1));
+    }
+
+    @Test
+    void setPersonDays_rejectsWeekWithoutAllocations() {
+        WeeklyAllocationEditor editor = new WeeklyAllocationEditor(calendar,
+            new ArrayList<>(List.of(allocation(alpha, WEEK, WEEK.plusDays(4), 0.9))));
+
+        assertThatThrownBy(() -> editor.setPersonDays(1L, WEEK.plusDays(7), 2.0))
+            .isInstanceOf(ValidationException.class);
+        // Unchanged values are a no-op
+        editor.setPersonDays(1L, WEEK, 4.5);
+        assertThat(editor.getCreated()).isEmpty();
+    }
+
+    private Allocation allocation(Release release, LocalDate start, LocalDate end, double factor) {
+        Allocation a = new Allocation();
+        a.setResource(resource);
+        a.setRelease(release);
+        a.setPhase(PhaseTypeEnum.BUILD);
+        a.setStartDate(start);
+        a.setEndDate(end);
+        a.setAllocationFactor(factor);
+        a.setAllocationDays(factor * calendar.countWorkingDays(start, end));
+        return a;
+    }
+
+    private Resource resource(Long id) {
+        Resource r = new Resource();
+        r.setId(id);
+        return r;
+    }
+
+    private Release release(Long id) {
+        Release r = new Release();
+        r.setId(id);
+        return r;
+    }
+}
@@ -0,0 +1,142 @@
+package com.polycoder.relmgmt.service;
+
+import com.polycoder.relmgmt.entity.Allocation;
+import com.polycoder.relmgmt.entity.PhaseTypeEnum;
+import com.polycoder.relmgmt.entity.Release;
+import com.polycoder.relmgmt.entity.Resource;
+import com.polycoder.relmgmt.service.impl.WeeklyAllocationGrid;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WeeklyAllocationGridTest {
+
+    private static final LocalDate FIRST_WEEK = LocalDate.of(2025, 1, 6); // Monday
+    private static final int WEEKS = 29;
+
+    private final WorkingCalendar calendar = new WorkingCalendar(
+            java.util.EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), List.of(LocalDate.of(2025, 4, 18)));
+    private final WeeklyAllocationGrid grid = new WeeklyAllocationGrid(calendar);
+
+    @Test
+    void build_splitsAllocationAcrossWeeksAndClampsToWindow() {
+        Release release = release(1L, "Alpha");
+        // Wednesday of week 0 to Tuesday of week 3, plus one starting before the window
+        Allocation spanning = allocation(resource(1L), release, FIRST_WEEK.plusDays(2), FIRST_WEEK.plusDays(22), 0.5);
+        Allocation early = allocation(resource(1L), null, FIRST_WEEK.minusDays(10), FIRST_WEEK.plusDays(1), 1.0);
+
+        Map<Long, WeeklyAllocationGrid.ResourceWeeks> result = grid.build(List.of(early, spanning), FIRST_WEEK, WEEKS);
+
+        WeeklyAllocationGrid.ResourceWeeks weeks = result.get(1L);
+        assertThat(weeks.personDays(0)).isEqualTo(2.0 + 1.5);
+        assertThat(weeks.personDays(1)).isEqualTo(2.5);
+        assertThat(weeks.personDays(2)).isEqualTo(2.5);
+        assertThat(weeks.personDays(3)).isEqualTo(1.0);
+        assertThat(weeks.personDays(4)).isZero();
+        assertThat(weeks.release(0)).isSameAs(release);
+        assertThat(weeks.release(3)).isSameAs(release);
+        assertThat(weeks.release(4)).isNull();
+    }
+
+    @Test
+    void build_breaksWeeksDownByReleaseAndPhase() {
+        Release alpha = release(1L, "Alpha");
+        Release beta = release(2L, "Beta");
+        Allocation alphaBuild = allocation(resource(1L), alpha, FIRST_WEEK, FIRST_WEEK.plusDays(11), 0.5);
+        alphaBuild.setPhase(PhaseTypeEnum.BUILD);
+        Allocation alphaBuildAgain = allocation(resource(1L), alpha, FIRST_WEEK.plusDays(7), FIRST_WEEK.plusDays(8), 0.5);
+        alphaBuildAgain.setPhase(PhaseTypeEnum.BUILD);
+        Allocation betaSit = allocation(resource(1L), beta, FIRST_WEEK.plusDays(7), FIRST_WEEK.plusDays(11), 0.4);
+        betaSit.setPhase(PhaseTypeEnum.SYSTEM_INTEGRATION_TEST);
+
+        WeeklyAllocationGrid.ResourceWeeks weeks = grid.build(List.of(alphaBuild, alphaBuildAgain, betaSit), FIRST_WEEK, WEEKS).get(1L);
+
+        List<WeeklyAllocationGrid.ReleasePhaseWeeks> breakdown = new ArrayList<>(weeks.breakdown());
+        assertThat(breakdown).hasSize(2);
+        assertThat(breakdown.get(0).release()).isSameAs(alpha);
+        assertThat(breakdown.get(0).phase()).isEqualTo(PhaseTypeEnum.BUILD);
+        assertThat(breakdown.get(0).personDays(0)).isEqualTo(2.5);
+        assertThat(breakdown.get(0).personDays(1)).isEqualTo(3.5);
+        assertThat(breakdown.get(1).release()).isSameAs(beta);
+        assertThat(breakdown.get(1).personDays(0)).isZero();
+        assertThat(breakdown.get(1).personDays(1)).isCloseTo(2.0, within(1e-9));
+        assertThat(weeks.personDays(1)).isCloseTo(5.5, within(1e-9));
+    }
+
+    @Test
+    void build_matchesPerWeekScanOnRandomAllocations() {
+        Random random = new Random(42);
+        List<Release> releases = List.of(release(1L, "A"), release(2L, "B"), release(3L, "C"));
+        List<Allocation> allocations = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            LocalDate start = FIRST_WEEK.plusDays(random.nextInt(260) - 40);
+            LocalDate end = start.plusDays(random.nextInt(120));
+            Release release = random.nextInt(4) == 0 ? null : releases.get(random.nextInt(releases.size()));
+            allocations.add(allocation(resource((long) random.nextInt(12)), release, start, end, 0.5 + random.nextInt(5) * 0.1));
+        }
+
+        Map<Long, WeeklyAllocationGrid.ResourceWeeks> result = grid.build(allocations, FIRST_WEEK, WEEKS);
+
+        for (long resourceId = 0; resourceId < 12; resourceId++) {
+            for (int w = 0; w < WEEKS; w++) {
+                int week = w;
+                LocalDate weekStart = FIRST_WEEK.plusWeeks(w);
+                LocalDate weekEnd = weekStart.plusDays(6);
+                double expected = 0.0;
+                Release expectedRelease = null;
+                boolean active = false;
+                for (Allocation a : allocations) {
+                    if (a.getResource().getId() != resourceId || a.getStartDate().isAfter(weekEnd) || a.getEndDate().isBefore(weekStart)) {
+                        continue;
+                    }
+                    active = true;
+                    LocalDate from = a.getStartDate().isAfter(weekStart) ? a.getStartDate() : weekStart;
+                    LocalDate to = a.getEndDate().isBefore(weekEnd) ? a.getEndDate() : weekEnd;
+                    expected += calendar.countWorkingDays(from, to) * a.getAllocationFactor();
+                    if (expectedRelease == null && a.getRelease() != null) {
+                        expectedRelease = a.getRelease();
+                    }
+                }
+                WeeklyAllocationGrid.ResourceWeeks weeks = result.get(resourceId);
+                if (!active && weeks == null) {
+                    continue;
+                }
+                assertThat(weeks.personDays(w)).isCloseTo(expected, within(1e-9));
+                assertThat(weeks.release(w)).isSameAs(expectedRelease);
+                assertThat(weeks.breakdown().stream().mapToDouble(segment -> segment.personDays(week)).sum())
+                        .isCloseTo(expected, within(1e-9));
+            }
+        }
+    }
+
+    private Resource resource(Long id) {
+        Resource r = new Resource();
+        r.setId(id);
+        return r;
+    }
+
+    private Release release(Long id, String name) {
+        Release r = new Release();
+        r.setId(id);
+        r.setName(name);
+        return r;
+    }
+
+    private Allocation allocation(Resource resource, Release release, LocalDate start, LocalDate end, double factor) {
+        Allocation a = new Allocation();
+        a.setResource(resource);
+        a.setRelease(release);
+        a.setStartDate(start);
+        a.setEndDate(end);
+        a.setAllocationFactor(factor);
+        return a;
+    }
+}
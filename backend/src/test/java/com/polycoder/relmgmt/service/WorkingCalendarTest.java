@@ -0,0 +1,69 @@
+package com.polycoder.relmgmt.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkingCalendarTest {
+
+    private final WorkingCalendar calendar = WorkingCalendar.standard();
+
+    @Test
+    void countWorkingDays_fullWeekExcludesWeekend() {
+        LocalDate monday = LocalDate.of(2025, 1, 6);
+        assertThat(calendar.countWorkingDays(monday, monday.plusDays(6))).isEqualTo(5);
+        assertThat(calendar.countWorkingDays(monday, monday.plusDays(13))).isEqualTo(10);
+    }
+
+    @Test
+    void countWorkingDays_singleDayAndReversedRange() {
+        LocalDate saturday = LocalDate.of(2025, 1, 11);
+        LocalDate friday = LocalDate.of(2025, 1, 10);
+        assertThat(calendar.countWorkingDays(friday, friday)).isEqualTo(1);
+        assertThat(calendar.countWorkingDays(saturday, saturday)).isZero();
+        assertThat(calendar.countWorkingDays(saturday, friday)).isZero();
+    }
+
+    @Test
+    void countWorkingDays_matchesDayByDayWalkAcrossYears() {
+        LocalDate start = LocalDate.of(2023, 11, 29);
+        LocalDate end = LocalDate.of(2026, 2, 3);
+        int expected = 0;
+        for (LocalDate d = start; !d.isAfter(end); d = d.plusDays(1)) {
+            if (d.getDayOfWeek() != DayOfWeek.SATURDAY && d.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                expected++;
+            }
+        }
+        assertThat(calendar.countWorkingDays(start, end)).isEqualTo(expected);
+    }
+
+    @Test
+    void countWorkingDays_excludesConfiguredHolidays() {
+        LocalDate christmas = LocalDate.of(2025, 12, 25); // Thursday
+        WorkingCalendar withHolidays = new WorkingCalendar(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY),
+                List.of(christmas, LocalDate.of(2025, 12, 27))); // Saturday holiday has no effect
+        LocalDate monday = LocalDate.of(2025, 12, 22);
+        assertThat(withHolidays.countWorkingDays(monday, monday.plusDays(6))).isEqualTo(4);
+        assertThat(withHolidays.isWorkingDay(christmas)).isFalse();
+    }
+
+    @Test
+    void countWorkingDays_supportsCustomWeekend() {
+        WorkingCalendar fridaySaturday = new WorkingCalendar(EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY), List.of());
+        LocalDate sunday = LocalDate.of(2025, 1, 5);
+        assertThat(fridaySaturday.countWorkingDays(sunday, sunday.plusDays(4))).isEqualTo(5);
+        assertThat(fridaySaturday.getWorkingDaysPerWeek()).isEqualTo(5);
+    }
+
+    @Test
+    void countWorkingDays_outsideIndexedRangeFallsBackToArithmetic() {
+        LocalDate start = LocalDate.of(2100, 12, 27); // Monday
+        LocalDate end = LocalDate.of(2101, 1, 9);     // Sunday two weeks later
+        assertThat(calendar.countWorkingDays(start, end)).isEqualTo(10);
+    }
+}
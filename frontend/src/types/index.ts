@@ -574,7 +574,8 @@ export const EventType = {
   OVER_ALLOCATION: 'Over Allocation',
   DEADLINE_APPROACHING: 'Deadline Approaching',
   BLOCKER_ADDED: 'Blocker Added',
-  BLOCKER_RESOLVED: 'Blocker Resolved'
+  BLOCKER_RESOLVED: 'Blocker Resolved',
+  RESOURCE_DEACTIVATED: 'Resource Deactivated'
 } as const;
 
 export type EventTypeEnum = typeof EventType[keyof typeof EventType];
@@ -591,6 +592,8 @@ export const getEventTypeEnumName = (displayName: string): string => {
       return 'BLOCKER_ADDED';
     case EventType.BLOCKER_RESOLVED:
       return 'BLOCKER_RESOLVED';
+    case EventType.RESOURCE_DEACTIVATED:
+      return 'RESOURCE_DEACTIVATED';
     default:
       return displayName;
   }